@@ -1,5 +1,7 @@
 package com.tennismatch.backend.cache;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
@@ -7,6 +9,8 @@ import org.springframework.stereotype.Service;
 @Service
 public class CacheVersionService {
 
+    private static final Logger log = LoggerFactory.getLogger(CacheVersionService.class);
+
     private static final String INBOX_PREFIX = "cache:inbox:version:";
     private static final String DECK_PREFIX = "cache:deck:version:";
     private static final java.time.Duration VERSION_TTL = java.time.Duration.ofDays(1);
@@ -36,21 +40,28 @@ public class CacheVersionService {
     private long getVersion(String key) {
         StringRedisTemplate redis = redisProvider.getIfAvailable();
         if (redis == null) return 0L;
-        String value = redis.opsForValue().get(key);
-        if (value == null) return 0L;
         try {
-            return Long.parseLong(value);
+            String value = redis.opsForValue().get(key);
+            return value == null ? 0L : Long.parseLong(value);
         } catch (NumberFormatException ignored) {
             return 0L;
+        } catch (RuntimeException ex) {
+            log.warn("Cache version read failed key={} message={}", key, ex.getMessage());
+            return 0L;
         }
     }
 
     private void increment(String key) {
         StringRedisTemplate redis = redisProvider.getIfAvailable();
         if (redis == null) return;
-        Long value = redis.opsForValue().increment(key);
-        if (value != null && value == 1L) {
-            redis.expire(key, VERSION_TTL);
+        // Best-effort: a write that already committed must not fail because Redis is unavailable.
+        try {
+            Long value = redis.opsForValue().increment(key);
+            if (value != null && value == 1L) {
+                redis.expire(key, VERSION_TTL);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Cache version bump failed key={} message={}", key, ex.getMessage());
         }
     }
 }
@@ -0,0 +1,103 @@
+package com.tennismatch.backend.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Single-owner lease in Redis ({@code lock:{name}} = random token, SET NX PX). Release and extend are
+ * compare-and-act Lua scripts so a node never touches a lease that already expired and was taken by another node.
+ * <p>
+ * When Redis is not configured or unreachable the lock degrades to an unguarded local lease
+ * ({@link Lease#distributed()} = false); callers must only use it for idempotent work.
+ */
+@Service
+public class DistributedLock {
+
+    private static final Logger log = LoggerFactory.getLogger(DistributedLock.class);
+    private static final String PREFIX = "lock:";
+
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private static final DefaultRedisScript<Long> EXTEND_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    private final ObjectProvider<StringRedisTemplate> redisProvider;
+
+    public DistributedLock(ObjectProvider<StringRedisTemplate> redisProvider) {
+        this.redisProvider = redisProvider;
+    }
+
+    /** Empty when another node holds the lease. */
+    public Optional<Lease> tryAcquire(String name, Duration ttl) {
+        String key = PREFIX + name;
+        String token = UUID.randomUUID().toString();
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis == null) {
+            return Optional.of(new Lease(key, token, false));
+        }
+        try {
+            Boolean acquired = redis.opsForValue().setIfAbsent(key, token, ttl);
+            return Boolean.TRUE.equals(acquired) ? Optional.of(new Lease(key, token, true)) : Optional.empty();
+        } catch (RuntimeException ex) {
+            log.warn("Distributed lock unavailable, running unguarded name={} message={}", name, ex.getMessage());
+            return Optional.of(new Lease(key, token, false));
+        }
+    }
+
+    public final class Lease implements AutoCloseable {
+        private final String key;
+        private final String token;
+        private final boolean distributed;
+
+        private Lease(String key, String token, boolean distributed) {
+            this.key = key;
+            this.token = token;
+            this.distributed = distributed;
+        }
+
+        public boolean distributed() {
+            return distributed;
+        }
+
+        /** Renews the lease; false means it was lost (expired and possibly taken over). */
+        public boolean extend(Duration ttl) {
+            if (!distributed) return true;
+            try {
+                Long ok = redisProvider.getObject().execute(EXTEND_SCRIPT, List.of(key), token, Long.toString(ttl.toMillis()));
+                return ok != null && ok == 1L;
+            } catch (RuntimeException ex) {
+                log.warn("Distributed lock extend failed key={} message={}", key, ex.getMessage());
+                return false;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!distributed) return;
+            try {
+                redisProvider.getObject().execute(RELEASE_SCRIPT, List.of(key), token);
+            } catch (RuntimeException ex) {
+                // Lease expires on its own TTL.
+                log.warn("Distributed lock release failed key={} message={}", key, ex.getMessage());
+            }
+        }
+    }
+}
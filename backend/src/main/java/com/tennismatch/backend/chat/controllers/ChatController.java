@@ -4,9 +4,8 @@ import com.tennismatch.backend.chat.domain.dto.MessageDto;
 import com.tennismatch.backend.chat.domain.dto.requests.SendMessageRequest;
 import com.tennismatch.backend.chat.domain.dto.responses.HistoryResponse;
 import com.tennismatch.backend.chat.domain.entries.Conversation;
-import com.tennismatch.backend.chat.repositories.ConversationParticipantRepository;
 import com.tennismatch.backend.chat.services.ChatService;
-import com.tennismatch.backend.cache.CacheVersionService;
+import com.tennismatch.backend.chat.services.ReadMarkerService;
 import com.tennismatch.backend.utils.AuthUserIdResolver;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -14,8 +13,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.Instant;
-
 @RestController
 @RequestMapping("/api/conversations")
 @RequiredArgsConstructor
@@ -23,8 +20,7 @@ public class ChatController {
 
     private final ChatService chatService;
     private final AuthUserIdResolver idResolver;
-    private final ConversationParticipantRepository participantRepo;
-    private final CacheVersionService cacheVersionService;
+    private final ReadMarkerService readMarkerService;
 
     /** Create chat by match (called from match flow) */
     @PostMapping("/by-match/{matchId}")
@@ -52,8 +48,7 @@ public class ChatController {
                                                    Authentication auth) {
         if (beforeId == null && auth != null) {
             long userId = idResolver.resolveUserId(auth);
-            participantRepo.touchLastReadAt(conversationId, userId, Instant.now());
-            cacheVersionService.bumpInboxVersion(userId);
+            readMarkerService.markRead(conversationId, userId);
         }
         var dto = chatService.getMessages(conversationId, beforeId, limit);
         return ResponseEntity.ok(dto);
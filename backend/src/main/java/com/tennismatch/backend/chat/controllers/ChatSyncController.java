@@ -0,0 +1,64 @@
+package com.tennismatch.backend.chat.controllers;
+
+import com.tennismatch.backend.chat.domain.dto.responses.SyncResponse;
+import com.tennismatch.backend.chat.services.ChatSyncService;
+import com.tennismatch.backend.utils.AuthUserIdResolver;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Instant;
+
+/** Reconnect sync: one call instead of N history requests plus an inbox refresh. */
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+public class ChatSyncController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ChatSyncService chatSyncService;
+    private final AuthUserIdResolver idResolver;
+
+    @GetMapping
+    public SyncResponse sync(@RequestParam(name = "after_id", defaultValue = "0") long afterId,
+                             @RequestParam(required = false)
+                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant since,
+                             @RequestParam(name = "since_conversation_id", required = false) Long sinceConversationId,
+                             @RequestParam(name = "since_read_conversation_id", required = false) Long sinceReadConversationId,
+                             @RequestParam(name = "since_read_user_id", required = false) Long sinceReadUserId,
+                             @RequestParam(required = false) Integer limit,
+                             Authentication auth) {
+        long me = idResolver.resolveUserId(auth);
+        return chatSyncService.sync(me, afterId,
+                cursor(since, sinceConversationId, sinceReadConversationId, sinceReadUserId), limit);
+    }
+
+    /** Same delta as NDJSON lines; use for large backlogs. */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> stream(@RequestParam(name = "after_id", defaultValue = "0") long afterId,
+                                                        @RequestParam(required = false)
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant since,
+                                                        @RequestParam(name = "since_conversation_id", required = false) Long sinceConversationId,
+                                                        @RequestParam(name = "since_read_conversation_id", required = false) Long sinceReadConversationId,
+                                                        @RequestParam(name = "since_read_user_id", required = false) Long sinceReadUserId,
+                                                        Authentication auth) {
+        long me = idResolver.resolveUserId(auth);
+        ChatSyncService.StateCursor from = cursor(since, sinceConversationId, sinceReadConversationId, sinceReadUserId);
+        StreamingResponseBody body = out -> chatSyncService.stream(me, afterId, from, out);
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    private static ChatSyncService.StateCursor cursor(Instant since, Long conversationId,
+                                                      Long readConversationId, Long readUserId) {
+        return new ChatSyncService.StateCursor(since != null ? since : Instant.EPOCH,
+                conversationId, readConversationId, readUserId);
+    }
+}
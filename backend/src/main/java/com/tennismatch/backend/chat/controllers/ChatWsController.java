@@ -1,7 +1,7 @@
 package com.tennismatch.backend.chat.controllers;
 
-import com.tennismatch.backend.chat.repositories.ConversationParticipantRepository;
 import com.tennismatch.backend.chat.services.ChatService;
+import com.tennismatch.backend.chat.services.ReadMarkerService;
 import com.tennismatch.backend.chat.utils.ChatEvent;
 import com.tennismatch.backend.chat.utils.ChatSendPayload;
 import com.tennismatch.backend.chat.utils.ReadPayload;
@@ -13,7 +13,6 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.security.Principal;
-import java.time.Instant;
 
 @RestController
 @RequiredArgsConstructor
@@ -22,7 +21,7 @@ public class ChatWsController {
 
     private final ChatService chatService;
     private final SimpMessagingTemplate ws;
-    private final ConversationParticipantRepository participantRepo;
+    private final ReadMarkerService readMarkerService;
 
     @MessageMapping("/chat.{conversationId}.send")
     public void send(@DestinationVariable long conversationId,
@@ -47,7 +46,7 @@ public class ChatWsController {
                      Principal principal) {
         long userId = Long.parseLong(principal.getName());
         // (optional) update message statuses in DB
-        participantRepo.touchLastReadAt(conversationId, userId, Instant.now());
+        readMarkerService.markRead(conversationId, userId);
         ws.convertAndSend("/topic/conversations." + conversationId, ChatEvent.read(userId, payload.getLastSeenId()));
     }
 }
@@ -2,9 +2,9 @@ package com.tennismatch.backend.chat.controllers;
 
 import com.tennismatch.backend.chat.domain.dto.ConversationDetailsDto;
 import com.tennismatch.backend.chat.domain.dto.ConversationListDto;
-import com.tennismatch.backend.chat.repositories.ConversationParticipantRepository;
 import com.tennismatch.backend.chat.services.ConversationMetaService;
 import com.tennismatch.backend.chat.services.ConversationQueryService;
+import com.tennismatch.backend.chat.services.ReadMarkerService;
 import com.tennismatch.backend.utils.AuthUserIdResolver;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
@@ -13,7 +13,6 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.time.Instant;
 import java.util.List;
 
 @RestController
@@ -24,7 +23,7 @@ public class ConversationQueryController {
     private final ConversationQueryService conversationQueryService;
     private final AuthUserIdResolver idResolver;
     private final ConversationMetaService metaService;
-    private final ConversationParticipantRepository participantRepo;
+    private final ReadMarkerService readMarkerService;
 
     @GetMapping("/conversations")
     public List<ConversationListDto> myConversations(Authentication auth) {
@@ -36,7 +35,7 @@ public class ConversationQueryController {
     public ConversationDetailsDto conversationById(@PathVariable("id") Long conversationId,
                                                    Authentication auth) {
         long me = idResolver.resolveUserId(auth);
-        participantRepo.touchLastReadAt(conversationId, me, Instant.now());
+        readMarkerService.markRead(conversationId, me);
         return metaService.loadForUser(me, conversationId);
     }
 }
@@ -0,0 +1,16 @@
+package com.tennismatch.backend.chat.domain.dto;
+
+import com.tennismatch.backend.chat.domain.enums.ConversationStatus;
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ConversationStateDto {
+    private Long conversationId;
+    private ConversationStatus status;
+    private Instant lastMessageAt;
+    private Instant expiresAt;
+    private Instant archivedAt;
+    private Instant updatedAt;
+}
@@ -8,6 +8,7 @@ import java.time.Instant;
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class MessageDto {
     private Long id;
+    private Long conversationId;
     private Long senderId;
     private String body;
     private Instant createdAt;
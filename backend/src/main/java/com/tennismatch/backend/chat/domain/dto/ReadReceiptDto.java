@@ -0,0 +1,12 @@
+package com.tennismatch.backend.chat.domain.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ReadReceiptDto {
+    private Long conversationId;
+    private Long userId;
+    private Instant lastReadAt;
+}
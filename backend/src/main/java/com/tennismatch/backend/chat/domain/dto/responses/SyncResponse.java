@@ -0,0 +1,33 @@
+package com.tennismatch.backend.chat.domain.dto.responses;
+
+import com.tennismatch.backend.chat.domain.dto.ConversationStateDto;
+import com.tennismatch.backend.chat.domain.dto.MessageDto;
+import com.tennismatch.backend.chat.domain.dto.ReadReceiptDto;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Delta since the client's cursor. Pass {@code nextAfterId} / {@code nextSince} back as
+ * {@code after_id} / {@code since}, and the {@code nextSince*Id} keys (when set) as
+ * {@code since_conversation_id} / {@code since_read_conversation_id} / {@code since_read_user_id};
+ * repeat while {@code hasMore}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncResponse {
+    private List<MessageDto> messages;
+    private List<ReadReceiptDto> reads;
+    private List<ConversationStateDto> conversations;
+    private long nextAfterId;
+    private Instant nextSince;
+    // Set only when a capped read/conversation list stopped mid-timestamp; resume after (nextSince, key).
+    private Long nextSinceConversationId;
+    private Long nextSinceReadConversationId;
+    private Long nextSinceReadUserId;
+    private boolean hasMore;
+}
@@ -32,4 +32,7 @@ public class Conversation {
 
     @Column(name = "archived_at")
     private Instant archivedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
 }
@@ -1,11 +1,10 @@
 package com.tennismatch.backend.chat.repositories;
 
 import com.tennismatch.backend.chat.domain.entries.ConversationParticipant;
-import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 
@@ -19,15 +18,41 @@ public interface ConversationParticipantRepository extends JpaRepository<Convers
     """)
     java.util.List<Long> findUserIdsByConversationId(@Param("conversationId") Long conversationId);
 
-    @Modifying
-    @Transactional
+    interface ParticipantRow {
+        Long getConversationId();
+        Long getUserId();
+    }
+
     @Query("""
-        update ConversationParticipant p
-           set p.lastReadAt = :now
-         where p.conversationId = :conversationId
-           and p.userId = :userId
+        select p.conversationId as conversationId,
+               p.userId as userId
+          from ConversationParticipant p
+         where p.conversationId in :conversationIds
+    """)
+    java.util.List<ParticipantRow> findByConversationIds(@Param("conversationIds") java.util.Collection<Long> conversationIds);
+
+    // ---- delta sync: read markers (own and partner's) in the user's conversations,
+    //      keyset on (lastReadAt, conversationId, userId) ----
+    interface ReadReceiptRow {
+        Long getConversationId();
+        Long getUserId();
+        Instant getLastReadAt();
+    }
+
+    @Query("""
+        select p.conversationId as conversationId,
+               p.userId as userId,
+               p.lastReadAt as lastReadAt
+          from ConversationParticipant p
+         where (p.lastReadAt > :since
+                or (p.lastReadAt = :since
+                    and (p.conversationId > :afterConversationId
+                         or (p.conversationId = :afterConversationId and p.userId > :afterUserId))))
+           and p.conversationId in (select p1.conversationId from ConversationParticipant p1 where p1.userId = :me)
+         order by p.lastReadAt asc, p.conversationId asc, p.userId asc
     """)
-    int touchLastReadAt(@Param("conversationId") Long conversationId,
-                        @Param("userId") Long userId,
-                        @Param("now") Instant now);
+    java.util.List<ReadReceiptRow> findReadReceiptsForUserSince(@Param("me") Long me, @Param("since") Instant since,
+                                                                @Param("afterConversationId") long afterConversationId,
+                                                                @Param("afterUserId") long afterUserId,
+                                                                Pageable pageable);
 }
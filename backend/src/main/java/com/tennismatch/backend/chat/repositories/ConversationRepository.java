@@ -3,8 +3,10 @@ package com.tennismatch.backend.chat.repositories;
 
 import com.tennismatch.backend.chat.domain.entries.Conversation;
 import com.tennismatch.backend.chat.domain.enums.ConversationStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
@@ -77,33 +79,92 @@ public interface ConversationRepository extends JpaRepository<Conversation, Long
         """, nativeQuery = true)
     List<ConversationListView> findAllForUserWithMeta(@Param("me") Long me, @Param("epoch") Instant epoch);
 
-    // ---- bulk updates (variant 2 — enum params) ----
+    // ---- chunked lifecycle transitions (ChatMaintenanceScheduler) ----
+    // SKIP LOCKED: rows being extended by sendMessage right now are left for the next run instead of waited on.
+    @Query(value = """
+        select c.id
+          from conversation c
+         where c.status = :fromStatus
+           and c.expires_at < :threshold
+           and c.id > :afterId
+         order by c.id
+         limit :limit
+           for update skip locked
+        """, nativeQuery = true)
+    List<Long> lockTransitionChunk(@Param("fromStatus") String fromStatus,
+                                   @Param("threshold") Instant threshold,
+                                   @Param("afterId") long afterId,
+                                   @Param("limit") int limit);
+
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("""
       update Conversation c
-         set c.status = :toStatus
-       where c.status = :fromStatus
-         and c.expiresAt < :now
+         set c.status = :toStatus,
+             c.updatedAt = :now
+       where c.id in :ids
     """)
-    int expireOverdue(Instant now, ConversationStatus fromStatus, ConversationStatus toStatus);
+    int expireByIds(@Param("ids") List<Long> ids, @Param("toStatus") ConversationStatus toStatus, @Param("now") Instant now);
 
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("""
       update Conversation c
          set c.status = :toStatus,
-             c.archivedAt = :now
-       where c.status = :fromStatus
-         and c.expiresAt < :threshold
+             c.archivedAt = :now,
+             c.updatedAt = :now
+       where c.id in :ids
     """)
-    int archiveExpired(Instant threshold, Instant now, ConversationStatus fromStatus, ConversationStatus toStatus);
+    int archiveByIds(@Param("ids") List<Long> ids, @Param("toStatus") ConversationStatus toStatus, @Param("now") Instant now);
 
+    // ---- event-driven expiry (ConversationExpiryEngine): guarded by the row's current expiry ----
     @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Transactional
     @Query("""
-      delete from Conversation c
+      update Conversation c
+         set c.status = :toStatus,
+             c.updatedAt = :now
+       where c.id = :id
+         and c.status = :fromStatus
+         and c.expiresAt <= :now
+    """)
+    int expireIfDue(@Param("id") Long id,
+                    @Param("now") Instant now,
+                    @Param("fromStatus") ConversationStatus fromStatus,
+                    @Param("toStatus") ConversationStatus toStatus);
+
+    interface ExpiryRow {
+        Long getId();
+        Instant getExpiresAt();
+    }
+
+    @Query("""
+      select c.id as id, c.expiresAt as expiresAt
+        from Conversation c
        where c.status = :status
-         and c.archivedAt < :threshold
+         and c.id > :afterId
+       order by c.id asc
     """)
-    int purgeArchived(Instant threshold, ConversationStatus status);
+    List<ExpiryRow> findExpiryChunk(@Param("status") ConversationStatus status,
+                                    @Param("afterId") long afterId,
+                                    Pageable pageable);
+
+    // ---- archive purge (batched; messages are deleted first by ChatArchivePurger) ----
+    @Query(value = """
+        select c.id
+          from conversation c
+         where c.status = 'ARCHIVED'
+           and c.archived_at < :threshold
+         order by c.id
+         limit :limit
+        """, nativeQuery = true)
+    List<Long> findPurgeableIds(@Param("threshold") Instant threshold, @Param("limit") int limit);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = """
+        delete from conversation c
+         where c.id = any(:ids)
+           and c.status = 'ARCHIVED'
+        """, nativeQuery = true)
+    int deleteArchivedByIds(@Param("ids") Long[] ids);
 
 
     interface ConversationOneRow {
@@ -127,4 +188,15 @@ public interface ConversationRepository extends JpaRepository<Conversation, Long
     """)
     Optional<ConversationOneRow> findOneForUser(@Param("me") Long me, @Param("cid") Long conversationId);
 
+    // ---- delta sync: conversations of the user changed after (:since, :afterId), keyset on (updatedAt, id) ----
+    @Query("""
+      select c
+        from Conversation c
+       where (c.updatedAt > :since or (c.updatedAt = :since and c.id > :afterId))
+         and c.id in (select p.conversationId from ConversationParticipant p where p.userId = :me)
+       order by c.updatedAt asc, c.id asc
+    """)
+    List<Conversation> findChangedForUserSince(@Param("me") Long me, @Param("since") Instant since,
+                                               @Param("afterId") long afterId, Pageable pageable);
+
 }
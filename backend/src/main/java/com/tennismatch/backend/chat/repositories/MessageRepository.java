@@ -3,6 +3,7 @@ package com.tennismatch.backend.chat.repositories;
 import com.tennismatch.backend.chat.domain.entries.Message;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -14,6 +15,66 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     List<Message> findByConversationIdAndIdLessThanOrderByIdDesc(Long conversationId, Long beforeId, Pageable pageable);
     List<Message> findByConversationIdOrderByIdDesc(Long conversationId, Pageable pageable);
     Optional<Message> findByConversationIdAndClientId(Long conversationId, String clientId);
+
+    // ---- delta sync: keyset over every conversation of the user ----
+    @Query("""
+        select m
+          from Message m
+         where m.id > :afterId
+           and m.conversationId in (select p.conversationId from ConversationParticipant p where p.userId = :me)
+         order by m.id asc
+    """)
+    List<Message> findForUserAfterId(@Param("me") Long me, @Param("afterId") long afterId, Pageable pageable);
+
+    // ---- archive purge: (conversation_id, id) order matches the partitioned PK ----
+    @Query(value = """
+        select m.*
+          from message m
+         where m.conversation_id = any(:ids)
+         order by m.conversation_id, m.id
+         limit :limit
+        """, nativeQuery = true)
+    List<Message> findPurgeChunk(@Param("ids") Long[] ids, @Param("limit") int limit);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = """
+        delete from message m
+         where m.conversation_id = any(:ids)
+           and (m.conversation_id, m.id) <= (:lastConversationId, :lastId)
+        """, nativeQuery = true)
+    int deletePurgeChunkUpTo(@Param("ids") Long[] ids,
+                             @Param("lastConversationId") long lastConversationId,
+                             @Param("lastId") long lastId);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = """
+        delete from message m
+         where (m.conversation_id, m.id) in (
+               select x.conversation_id, x.id
+                 from message x
+                where x.conversation_id = any(:ids)
+                order by x.conversation_id, x.id
+                limit :limit)
+        """, nativeQuery = true)
+    int deletePurgeChunk(@Param("ids") Long[] ids, @Param("limit") int limit);
+
+    // ---- partition maintenance (Postgres catalog) ----
+    interface PartitionStatsRow {
+        String getPartitionName();
+        Long getTotalBytes();
+        Long getEstimatedRows();
+    }
+
+    @Query(value = """
+        select c.relname                    as partitionName,
+               pg_total_relation_size(c.oid) as totalBytes,
+               cast(c.reltuples as bigint)  as estimatedRows
+          from pg_inherits i
+          join pg_class c on c.oid = i.inhrelid
+         where i.inhparent = cast('message' as regclass)
+         order by c.relname
+        """, nativeQuery = true)
+    List<PartitionStatsRow> findPartitionStats();
     long countByConversationId(Long conversationId);
 
     interface UnreadCountRow {
@@ -59,54 +120,46 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     """)
     long countUnreadSendersForUser(@Param("userId") Long userId, @Param("epoch") Instant epoch);
 
-    @Query("""
-        select count(m)
-          from Message m
-          join ConversationParticipant p
-            on p.conversationId = m.conversationId
-           and p.userId = :userId
-         where m.senderId <> :userId
-           and m.createdAt > (case
-                                when p.lastReadAt is null or p.lastReadAt < :since
-                                  then :since
-                                else p.lastReadAt
-                              end)
-    """)
-    long countUnreadForUserSince(@Param("userId") Long userId,
-                                 @Param("since") Instant since);
-
-    @Query("""
-        select count(distinct m.senderId)
-          from Message m
-          join ConversationParticipant p
-            on p.conversationId = m.conversationId
-           and p.userId = :userId
-         where m.senderId <> :userId
-           and m.createdAt > (case
-                                when p.lastReadAt is null or p.lastReadAt < :since
-                                  then :since
-                                else p.lastReadAt
-                              end)
-    """)
-    long countUnreadSendersForUserSince(@Param("userId") Long userId,
-                                        @Param("since") Instant since);
+    // ---- digest: unread aggregates for a chunk of users, each with its own watermark (last digest window end) ----
+    interface UnreadDigestRow {
+        Long getUserId();
+        long getUnreadCount();
+        long getSenderCount();
+        /** Up to three sender names, most recent sender first, separated by U+001F. */
+        String getTopSenderNames();
+    }
 
-    @Query("""
-        select distinct m.senderId
-          from Message m
-          join ConversationParticipant p
-            on p.conversationId = m.conversationId
-           and p.userId = :userId
-         where m.senderId <> :userId
-           and m.createdAt > (case
-                                when p.lastReadAt is null or p.lastReadAt < :since
-                                  then :since
-                                else p.lastReadAt
-                              end)
-    """)
-    List<Long> findUnreadSenderIdsForUserSince(@Param("userId") Long userId,
-                                               @Param("since") Instant since,
-                                               Pageable pageable);
+    @Query(value = """
+        with w as (
+            select t.user_id, to_timestamp(t.since_ms / 1000.0) as since
+              from unnest(:userIds, :sinceMs) as t(user_id, since_ms)
+        ), per_sender as (
+            select w.user_id,
+                   m.sender_id,
+                   count(*)          as cnt,
+                   max(m.created_at) as last_at
+              from w
+              join conversation_participant p on p.user_id = w.user_id
+              join message m                  on m.conversation_id = p.conversation_id
+             where m.sender_id <> w.user_id
+               and m.created_at > greatest(w.since, coalesce(p.last_read_at, w.since))
+             group by w.user_id, m.sender_id
+        ), ranked as (
+            select ps.*,
+                   row_number() over (partition by ps.user_id order by ps.last_at desc, ps.sender_id) as rn
+              from per_sender ps
+        )
+        select r.user_id                     as userId,
+               cast(sum(r.cnt) as bigint)    as unreadCount,
+               count(*)                      as senderCount,
+               string_agg(coalesce(nullif(u.name, ''), 'Player ' || r.sender_id), chr(31) order by r.rn)
+                   filter (where r.rn <= 3)  as topSenderNames
+          from ranked r
+          left join user_profile u on u.id = r.sender_id
+         group by r.user_id
+        """, nativeQuery = true)
+    List<UnreadDigestRow> aggregateUnreadForDigest(@Param("userIds") Long[] userIds,
+                                                   @Param("sinceMs") Long[] sinceMs);
 
     @Query("""
         select count(m)
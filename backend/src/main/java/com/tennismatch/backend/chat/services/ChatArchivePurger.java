@@ -0,0 +1,154 @@
+package com.tennismatch.backend.chat.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tennismatch.backend.chat.domain.dto.MessageDto;
+import com.tennismatch.backend.chat.domain.entries.Message;
+import com.tennismatch.backend.chat.repositories.ConversationRepository;
+import com.tennismatch.backend.chat.repositories.MessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Purges ARCHIVED conversations in bounded batches: messages first (chunked deletes, one short transaction
+ * each), then the conversation rows, so the FK cascade never has to remove a large history in one statement.
+ * <p>
+ * With {@code app.chat.archive.export.dir} set, each message chunk is appended to
+ * {@code chat-archive-<run>.ndjson.gz} as its own gzip member before it is deleted (members concatenate into a
+ * valid gzip file, and a crash loses at most the chunk that was not yet deleted).
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatArchivePurger {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatArchivePurger.class);
+    private static final DateTimeFormatter RUN_ID = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss").withZone(ZoneOffset.UTC);
+
+    private final ConversationRepository conversationRepo;
+    private final MessageRepository messageRepo;
+    private final MessageTailCache tailCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    @Value("${app.chat.archive.retention:P30D}")
+    private Duration retention;
+
+    @Value("${app.chat.archive.conversation-batch:100}")
+    private int conversationBatch;
+
+    @Value("${app.chat.archive.message-batch:2000}")
+    private int messageBatch;
+
+    @Value("${app.chat.archive.pause:PT0.2S}")
+    private Duration pause;
+
+    @Value("${app.chat.archive.export.dir:}")
+    private String exportDir;
+
+    public record Result(int conversations, long messages, Path exportFile) {}
+
+    public Result purgeArchived() {
+        Instant now = Instant.now(clock);
+        Instant threshold = now.minus(retention);
+        Path exportFile = exportFile(now);
+
+        int conversations = 0;
+        long messages = 0;
+        while (true) {
+            List<Long> ids = transactionTemplate.execute(s -> conversationRepo.findPurgeableIds(threshold, conversationBatch));
+            if (ids == null || ids.isEmpty()) break;
+            Long[] batch = ids.toArray(Long[]::new);
+
+            messages += purgeMessages(batch, exportFile);
+            Integer deleted = transactionTemplate.execute(s -> conversationRepo.deleteArchivedByIds(batch));
+            conversations += deleted != null ? deleted : 0;
+            // Otherwise the first history page would keep serving purged messages until the tail's TTL.
+            tailCache.evictAll(ids);
+            if (ids.size() < conversationBatch) break;
+            pause();
+        }
+
+        log.info("Chat archive purge conversations={} messages={} exportFile={}", conversations, messages, exportFile);
+        return new Result(conversations, messages, exportFile);
+    }
+
+    private long purgeMessages(Long[] conversationIds, Path exportFile) {
+        long total = 0;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(s -> exportFile != null
+                    ? exportAndDeleteChunk(conversationIds, exportFile)
+                    : messageRepo.deletePurgeChunk(conversationIds, messageBatch));
+            int n = deleted != null ? deleted : 0;
+            total += n;
+            if (n < messageBatch) return total;
+            pause();
+        }
+    }
+
+    private int exportAndDeleteChunk(Long[] conversationIds, Path exportFile) {
+        List<Message> chunk = messageRepo.findPurgeChunk(conversationIds, messageBatch);
+        if (chunk.isEmpty()) return 0;
+        // Export before delete: an export failure rolls the chunk back and aborts the run.
+        appendGzipMember(exportFile, chunk);
+        Message last = chunk.get(chunk.size() - 1);
+        return messageRepo.deletePurgeChunkUpTo(conversationIds, last.getConversationId(), last.getId());
+    }
+
+    private void appendGzipMember(Path file, List<Message> chunk) {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+            for (Message m : chunk) {
+                out.write(objectMapper.writeValueAsBytes(MessageDto.builder()
+                        .id(m.getId())
+                        .conversationId(m.getConversationId())
+                        .senderId(m.getSenderId())
+                        .body(m.getBody())
+                        .createdAt(m.getCreatedAt())
+                        .status(m.getStatus())
+                        .clientId(m.getClientId())
+                        .build()));
+                out.write('\n');
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Chat archive export failed: " + file, ex);
+        }
+    }
+
+    private Path exportFile(Instant now) {
+        if (exportDir == null || exportDir.isBlank()) return null;
+        try {
+            Path dir = Files.createDirectories(Path.of(exportDir));
+            return dir.resolve("chat-archive-" + RUN_ID.format(now) + ".ndjson.gz");
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Chat archive export dir unavailable: " + exportDir, ex);
+        }
+    }
+
+    private void pause() {
+        if (pause.isZero() || pause.isNegative()) return;
+        try {
+            Thread.sleep(pause.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Chat archive purge interrupted", ex);
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.tennismatch.backend.chat.services;
 
+import com.tennismatch.backend.cache.DistributedLock;
 import com.tennismatch.backend.chat.domain.enums.ConversationStatus;
-import com.tennismatch.backend.chat.repositories.ConversationRepository;
+import com.tennismatch.backend.chat.repositories.MessageRepository;
 import jakarta.annotation.PostConstruct;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,8 +14,11 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.function.Function;
 
 @RequiredArgsConstructor
 @Component
@@ -21,7 +26,11 @@ public class ChatMaintenanceScheduler {
 
     private static final Logger log = LoggerFactory.getLogger(ChatMaintenanceScheduler.class);
 
-    private final ConversationRepository conversationRepo;
+    private final MessageRepository messageRepo;
+    private final ConversationTransitionProcessor transitionProcessor;
+    private final ChatArchivePurger archivePurger;
+    private final DistributedLock distributedLock;
+    private final MeterRegistry meterRegistry;
     private final Clock clock;
 
     @Value("${app.chat.maintenance.enabled:true}")
@@ -36,47 +45,71 @@ public class ChatMaintenanceScheduler {
     @Value("${app.chat.maintenance.purge.enabled:false}")
     private boolean purgeEnabled;
 
+    // Renewed after every chunk; a node that stalls longer than this loses the lease.
+    @Value("${app.chat.maintenance.lock-ttl:PT5M}")
+    private Duration lockTtl;
+
     @PostConstruct
     void logConfig() {
         log.info("Chat maintenance enabled: global={}, expire={}, archive={}, purge={}",
                 maintenanceEnabled, expireEnabled, archiveEnabled, purgeEnabled);
     }
 
-    @Transactional
-    @Scheduled(fixedDelayString = "PT15M")
+    /** Reconciliation sweep; the timely path is {@link ConversationExpiryEngine}. */
+    @Scheduled(fixedDelayString = "${app.chat.maintenance.expire.interval:PT1H}")
     public void expire() {
         if (!maintenanceEnabled || !expireEnabled) return;
         Instant now = Instant.now(clock);
-        conversationRepo.expireOverdue(
-                now,
-                ConversationStatus.ACTIVE,
-                ConversationStatus.EXPIRED
-        );
+        withLock("expire", lease -> transitionProcessor.run("expire",
+                ConversationStatus.ACTIVE, ConversationStatus.EXPIRED, now, now, () -> lease.extend(lockTtl)));
     }
 
-    @Transactional
     @Scheduled(cron = "0 7 3 * * *")
     public void archive() {
         if (!maintenanceEnabled || !archiveEnabled) return;
         Instant now = Instant.now(clock);
         Instant threshold = now.minus(7, ChronoUnit.DAYS);
-        conversationRepo.archiveExpired(
-                threshold,
-                now,
-                ConversationStatus.EXPIRED,
-                ConversationStatus.ARCHIVED
-        );
+        withLock("archive", lease -> transitionProcessor.run("archive",
+                ConversationStatus.EXPIRED, ConversationStatus.ARCHIVED, threshold, now, () -> lease.extend(lockTtl)));
     }
 
-    @Transactional
+    // Batched purge (messages first, then conversations); no outer transaction on purpose.
     @Scheduled(cron = "0 17 3 * * *")
     public void purge() {
         if (!maintenanceEnabled || !purgeEnabled) return;
-        Instant threshold = Instant.now(clock).minus(30, ChronoUnit.DAYS);
-        int deleted = conversationRepo.purgeArchived(
-                threshold,
-                ConversationStatus.ARCHIVED
-        );
-        log.info("Chat maintenance purge deleted={}", deleted);
+        withLock("purge", lease -> archivePurger.purgeArchived());
+    }
+
+    /** Runs the job on one node only; other nodes skip while the lease is held. */
+    private void withLock(String job, Function<DistributedLock.Lease, Object> body) {
+        Optional<DistributedLock.Lease> acquired = distributedLock.tryAcquire("chat:maintenance:" + job, lockTtl);
+        if (acquired.isEmpty()) {
+            log.info("Chat maintenance {} skipped: lock held by another node", job);
+            return;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try (DistributedLock.Lease lease = acquired.get()) {
+            Object result = body.apply(lease);
+            log.info("Chat maintenance {} done result={} distributedLock={}", job, result, lease.distributed());
+        } catch (RuntimeException ex) {
+            log.warn("Chat maintenance {} failed: {}", job, ex.getMessage());
+        } finally {
+            sample.stop(Timer.builder("chat.maintenance.run.duration").tag("job", job)
+                    .description("Duration of a maintenance run").register(meterRegistry));
+        }
+    }
+
+    // Weekly partition report: per-partition size/rows show hash skew and index bloat on message.
+    @Scheduled(cron = "${app.chat.maintenance.partitions.cron:0 37 3 * * SUN}")
+    public void reportPartitions() {
+        if (!maintenanceEnabled) return;
+        try {
+            for (var p : messageRepo.findPartitionStats()) {
+                log.info("Chat message partition name={} totalBytes={} estimatedRows={}",
+                        p.getPartitionName(), p.getTotalBytes(), p.getEstimatedRows());
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Chat message partition report failed: {}", ex.getMessage());
+        }
     }
 }
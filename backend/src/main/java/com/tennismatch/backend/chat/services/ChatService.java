@@ -12,6 +12,5 @@ public interface ChatService {
     @Transactional
     MessageDto sendMessage(long userId, long conversationId, String body, String clientId);
 
-    @Transactional(readOnly = true)
     HistoryResponse getMessages(long conversationId, Long beforeId, int limit);
 }
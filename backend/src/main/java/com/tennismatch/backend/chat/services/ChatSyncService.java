@@ -0,0 +1,249 @@
+package com.tennismatch.backend.chat.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tennismatch.backend.chat.domain.dto.ConversationStateDto;
+import com.tennismatch.backend.chat.domain.dto.MessageDto;
+import com.tennismatch.backend.chat.domain.dto.ReadReceiptDto;
+import com.tennismatch.backend.chat.domain.dto.responses.SyncResponse;
+import com.tennismatch.backend.chat.domain.entries.Conversation;
+import com.tennismatch.backend.chat.domain.entries.Message;
+import com.tennismatch.backend.chat.repositories.ConversationParticipantRepository;
+import com.tennismatch.backend.chat.repositories.ConversationRepository;
+import com.tennismatch.backend.chat.repositories.MessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reconnect sync: everything that changed in the user's conversations after a cursor
+ * ({@code afterId} for messages, {@code since} for read markers and conversation state).
+ * <p>
+ * Message ids are allocated before commit, so a slower transaction can commit a lower id after a higher one
+ * was returned. The message cursor therefore only advances over messages older than {@code app.chat.sync.overlap};
+ * newer ones are returned but re-sent next time (clients dedupe by id). {@code nextSince} is backed off by the
+ * same overlap; reads and states are idempotent snapshots, so repeats are harmless.
+ * <p>
+ * Reads and conversation states are only sent with the last message page (until then {@code nextSince} stays at
+ * the client's {@code since}) and are capped at {@code app.chat.sync.state-limit} rows each. They are keyset-paged on
+ * (timestamp, key), so a capped list resumes right after its last row even when a whole page shares one timestamp.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChatSyncService {
+
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final MessageRepository messageRepo;
+    private final ConversationParticipantRepository participantRepo;
+    private final ConversationRepository conversationRepo;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    @Value("${app.chat.sync.page-size:200}")
+    private int defaultPageSize;
+
+    @Value("${app.chat.sync.max-page-size:500}")
+    private int maxPageSize;
+
+    @Value("${app.chat.sync.stream-max-messages:5000}")
+    private int streamMaxMessages;
+
+    @Value("${app.chat.sync.overlap:PT5S}")
+    private Duration overlap;
+
+    @Value("${app.chat.sync.state-limit:500}")
+    private int stateLimit;
+
+    /**
+     * Where reads and conversation states resume: after {@code since}, or, for a list whose key is set, after
+     * ({@code since}, key). A key of 0 takes every row at {@code since}.
+     */
+    public record StateCursor(Instant since, Long conversationId, Long readConversationId, Long readUserId) {
+        public static StateCursor after(Instant since) {
+            return new StateCursor(since, null, null, null);
+        }
+    }
+
+    public SyncResponse sync(long userId, long afterId, StateCursor since, Integer limit) {
+        Instant queryStart = Instant.now(clock);
+        Instant settledBefore = queryStart.minus(overlap);
+        int pageSize = pageSize(limit);
+
+        MessagePage page = messagePage(userId, afterId, pageSize, settledBefore);
+        StatePage state = page.hasMore ? StatePage.deferred(since) : statePage(userId, since, settledBefore);
+        return SyncResponse.builder()
+                .messages(page.items)
+                .reads(state.reads)
+                .conversations(state.conversations)
+                .nextAfterId(page.nextAfterId)
+                .nextSince(state.next.since())
+                .nextSinceConversationId(state.next.conversationId())
+                .nextSinceReadConversationId(state.next.readConversationId())
+                .nextSinceReadUserId(state.next.readUserId())
+                .hasMore(page.hasMore || state.hasMore)
+                .build();
+    }
+
+    /**
+     * NDJSON variant for large backlogs: one {@code {"type":...}} object per line, messages first (paged by keyset,
+     * capped at {@code app.chat.sync.stream-max-messages}), then reads, conversations (same rules as
+     * {@link #sync}) and a final cursor line.
+     */
+    public void stream(long userId, long afterId, StateCursor since, OutputStream out) throws IOException {
+        Instant queryStart = Instant.now(clock);
+        Instant settledBefore = queryStart.minus(overlap);
+
+        long cursor = afterId;
+        int written = 0;
+        boolean hasMore = true;
+        while (hasMore && written < streamMaxMessages) {
+            MessagePage page = messagePage(userId, cursor, Math.min(maxPageSize, streamMaxMessages - written), settledBefore);
+            for (MessageDto m : page.items) {
+                writeLine(out, "message", m);
+            }
+            out.flush();
+            written += page.items.size();
+            hasMore = page.hasMore;
+            if (page.nextAfterId == cursor) break;
+            cursor = page.nextAfterId;
+        }
+
+        StatePage state = hasMore ? StatePage.deferred(since) : statePage(userId, since, settledBefore);
+        for (ReadReceiptDto r : state.reads) {
+            writeLine(out, "read", r);
+        }
+        for (ConversationStateDto c : state.conversations) {
+            writeLine(out, "conversation", c);
+        }
+        Map<String, Object> tail = new LinkedHashMap<>();
+        tail.put("nextAfterId", cursor);
+        tail.put("nextSince", state.next.since());
+        tail.put("nextSinceConversationId", state.next.conversationId());
+        tail.put("nextSinceReadConversationId", state.next.readConversationId());
+        tail.put("nextSinceReadUserId", state.next.readUserId());
+        tail.put("hasMore", hasMore || state.hasMore);
+        writeLine(out, "cursor", tail);
+        out.flush();
+    }
+
+    private MessagePage messagePage(long userId, long afterId, int pageSize, Instant settledBefore) {
+        List<Message> rows = messageRepo.findForUserAfterId(userId, afterId, PageRequest.of(0, pageSize));
+        long nextAfterId = afterId;
+        boolean settled = true;
+        List<MessageDto> items = new ArrayList<>(rows.size());
+        for (Message m : rows) {
+            items.add(toDto(m));
+            if (settled && m.getCreatedAt().isBefore(settledBefore)) {
+                nextAfterId = m.getId();
+            } else {
+                settled = false;
+            }
+        }
+        // Only ask for another page when the whole page was settled; otherwise the client would spin on the tail.
+        boolean hasMore = rows.size() == pageSize && settled;
+        return new MessagePage(items, nextAfterId, hasMore);
+    }
+
+    private StatePage statePage(long userId, StateCursor from, Instant settledBefore) {
+        List<ReadReceiptDto> reads = reads(userId, from);
+        List<ConversationStateDto> conversations = conversations(userId, from);
+        ReadReceiptDto lastRead = reads.size() == stateLimit ? reads.get(reads.size() - 1) : null;
+        ConversationStateDto lastConversation =
+                conversations.size() == stateLimit ? conversations.get(conversations.size() - 1) : null;
+
+        Instant resume = null;
+        if (lastRead != null) resume = lastRead.getLastReadAt();
+        if (lastConversation != null && (resume == null || lastConversation.getUpdatedAt().isBefore(resume))) {
+            resume = lastConversation.getUpdatedAt();
+        }
+        // Like the message cursor, only resume mid-list from a settled row; otherwise the rest comes next sync.
+        if (resume == null || !resume.isBefore(settledBefore)) {
+            return new StatePage(reads, conversations, StateCursor.after(settledBefore), false);
+        }
+        // The list whose last row sits at `resume` continues after it; the other one re-reads from `resume` on.
+        boolean readAt = lastRead != null && lastRead.getLastReadAt().equals(resume);
+        boolean conversationAt = lastConversation != null && lastConversation.getUpdatedAt().equals(resume);
+        StateCursor next = new StateCursor(resume,
+                conversationAt ? lastConversation.getConversationId() : 0L,
+                readAt ? lastRead.getConversationId() : 0L,
+                readAt ? lastRead.getUserId() : 0L);
+        return new StatePage(reads, conversations, next, true);
+    }
+
+    private List<ReadReceiptDto> reads(long userId, StateCursor from) {
+        long afterConversationId = from.readConversationId() != null ? from.readConversationId() : Long.MAX_VALUE;
+        long afterUserId = from.readUserId() != null ? from.readUserId() : Long.MAX_VALUE;
+        return participantRepo.findReadReceiptsForUserSince(userId, from.since(), afterConversationId, afterUserId,
+                        PageRequest.of(0, stateLimit)).stream()
+                .map(r -> ReadReceiptDto.builder()
+                        .conversationId(r.getConversationId())
+                        .userId(r.getUserId())
+                        .lastReadAt(r.getLastReadAt())
+                        .build())
+                .toList();
+    }
+
+    private List<ConversationStateDto> conversations(long userId, StateCursor from) {
+        long afterId = from.conversationId() != null ? from.conversationId() : Long.MAX_VALUE;
+        return conversationRepo.findChangedForUserSince(userId, from.since(), afterId, PageRequest.of(0, stateLimit))
+                .stream()
+                .map(this::toStateDto)
+                .toList();
+    }
+
+    private int pageSize(Integer limit) {
+        int requested = limit != null ? limit : defaultPageSize;
+        return Math.max(1, Math.min(requested, maxPageSize));
+    }
+
+    private void writeLine(OutputStream out, String type, Object payload) throws IOException {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("type", type);
+        line.put("data", payload);
+        out.write(objectMapper.writeValueAsBytes(line));
+        out.write(NEWLINE);
+    }
+
+    private MessageDto toDto(Message m) {
+        return MessageDto.builder()
+                .id(m.getId())
+                .conversationId(m.getConversationId())
+                .senderId(m.getSenderId())
+                .body(m.getBody())
+                .createdAt(m.getCreatedAt())
+                .status(m.getStatus())
+                .clientId(m.getClientId())
+                .build();
+    }
+
+    private ConversationStateDto toStateDto(Conversation c) {
+        return ConversationStateDto.builder()
+                .conversationId(c.getId())
+                .status(c.getStatus())
+                .lastMessageAt(c.getLastMessageAt())
+                .expiresAt(c.getExpiresAt())
+                .archivedAt(c.getArchivedAt())
+                .updatedAt(c.getUpdatedAt())
+                .build();
+    }
+
+    private record MessagePage(List<MessageDto> items, long nextAfterId, boolean hasMore) {}
+
+    private record StatePage(List<ReadReceiptDto> reads, List<ConversationStateDto> conversations,
+                             StateCursor next, boolean hasMore) {
+        static StatePage deferred(StateCursor since) {
+            return new StatePage(List.of(), List.of(), since, false);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.tennismatch.backend.chat.services;
+
+import com.tennismatch.backend.cache.DistributedLock;
+import com.tennismatch.backend.chat.domain.enums.ConversationStatus;
+import com.tennismatch.backend.chat.repositories.ConversationParticipantRepository;
+import com.tennismatch.backend.chat.repositories.ConversationRepository;
+import com.tennismatch.backend.chat.utils.ConversationStatusChangedEvent;
+import com.tennismatch.backend.utils.HierarchicalTimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fires conversation expiry within about a tick of {@code expiresAt} instead of waiting for the polling job.
+ * <ul>
+ *   <li>Durable schedule: Redis ZSET {@code chat:expiry} (member = conversation id, score = expiresAt ms),
+ *       written on create/send and seeded from ACTIVE conversations at startup.</li>
+ *   <li>Local timer: a {@link HierarchicalTimingWheel} per node, fed by local reschedules and by pulling entries
+ *       due within {@code app.chat.expiry.horizon} from the ZSET, so work of a dead node is picked up.</li>
+ *   <li>Claim: a Lua conditional ZREM (only if the score is still due) lets exactly one node run a transition;
+ *       the DB update is additionally guarded by {@code expires_at <= now}, so an extension that raced the
+ *       timer always wins.</li>
+ * </ul>
+ * Transitions publish {@link ConversationStatusChangedEvent} (STOMP push + inbox bump). The chunked polling
+ * job in {@link ChatMaintenanceScheduler} stays as a low-frequency reconciliation.
+ */
+@Component
+public class ConversationExpiryEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(ConversationExpiryEngine.class);
+    private static final String ZSET_KEY = "chat:expiry";
+
+    // KEYS[1]=zset ARGV[1]=member ARGV[2]=nowMs -> 1 claimed, 0 gone (claimed elsewhere), -score not yet due
+    private static final DefaultRedisScript<Long> CLAIM_SCRIPT = new DefaultRedisScript<>("""
+            local score = redis.call('ZSCORE', KEYS[1], ARGV[1])
+            if not score then return 0 end
+            if tonumber(score) <= tonumber(ARGV[2]) then
+              redis.call('ZREM', KEYS[1], ARGV[1])
+              return 1
+            end
+            return -math.floor(tonumber(score))
+            """, Long.class);
+
+    private final ConversationRepository conversationRepo;
+    private final ConversationParticipantRepository participantRepo;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<StringRedisTemplate> redisProvider;
+    private final DistributedLock distributedLock;
+    private final Clock clock;
+    private final HierarchicalTimingWheel<Long> wheel;
+    private final Counter fired;
+    private final Counter expired;
+
+    @Value("${app.chat.expiry.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.chat.expiry.horizon:PT2M}")
+    private Duration horizon;
+
+    @Value("${app.chat.expiry.pull-batch:1000}")
+    private int pullBatch;
+
+    @Value("${app.chat.expiry.seed-batch:1000}")
+    private int seedBatch;
+
+    public ConversationExpiryEngine(ConversationRepository conversationRepo,
+                                    ConversationParticipantRepository participantRepo,
+                                    ApplicationEventPublisher eventPublisher,
+                                    ObjectProvider<StringRedisTemplate> redisProvider,
+                                    DistributedLock distributedLock,
+                                    Clock clock,
+                                    MeterRegistry meterRegistry) {
+        this.conversationRepo = conversationRepo;
+        this.participantRepo = participantRepo;
+        this.eventPublisher = eventPublisher;
+        this.redisProvider = redisProvider;
+        this.distributedLock = distributedLock;
+        this.clock = clock;
+        // 1 s x 64 slots; 4 levels cover ~194 days before entries start re-cascading.
+        this.wheel = new HierarchicalTimingWheel<>(1000, 64, 4, clock.millis());
+        Gauge.builder("chat.expiry.scheduled", wheel, HierarchicalTimingWheel::size)
+                .description("Conversation expiries held in this node's timing wheel").register(meterRegistry);
+        this.fired = Counter.builder("chat.expiry.fired")
+                .description("Expiry timers that came due on this node").register(meterRegistry);
+        this.expired = Counter.builder("chat.expiry.transitions")
+                .description("Conversations expired by the timer engine").register(meterRegistry);
+    }
+
+    /** (Re)schedules expiry; call after the new {@code expiresAt} has committed. */
+    public void schedule(long conversationId, Instant expiresAt) {
+        if (!enabled) return;
+        wheel.schedule(conversationId, expiresAt.toEpochMilli());
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis == null) return;
+        try {
+            redis.opsForZSet().add(ZSET_KEY, Long.toString(conversationId), expiresAt.toEpochMilli());
+        } catch (RuntimeException ex) {
+            // Local timer still fires; reconciliation covers a node restart.
+            log.warn("Chat expiry schedule failed conversationId={} message={}", conversationId, ex.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.chat.expiry.tick:PT1S}")
+    public void tick() {
+        if (!enabled) return;
+        List<Long> due = wheel.advance(clock.millis());
+        for (Long conversationId : due) {
+            fired.increment();
+            try {
+                fire(conversationId);
+            } catch (RuntimeException ex) {
+                log.warn("Chat expiry failed conversationId={} message={}", conversationId, ex.getMessage());
+            }
+        }
+    }
+
+    /** Pulls soon-due entries from the shared schedule into the local wheel. */
+    @Scheduled(fixedDelayString = "${app.chat.expiry.pull-interval:PT30S}")
+    public void pull() {
+        if (!enabled) return;
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis == null) return;
+        try {
+            long until = clock.millis() + horizon.toMillis();
+            Set<ZSetOperations.TypedTuple<String>> soon =
+                    redis.opsForZSet().rangeByScoreWithScores(ZSET_KEY, Double.NEGATIVE_INFINITY, until, 0, pullBatch);
+            if (soon == null) return;
+            for (ZSetOperations.TypedTuple<String> t : soon) {
+                if (t.getValue() == null || t.getScore() == null) continue;
+                long id = Long.parseLong(t.getValue());
+                Long local = wheel.deadlineOf(id);
+                if (local == null || local != t.getScore().longValue()) {
+                    wheel.schedule(id, t.getScore().longValue());
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Chat expiry pull failed: {}", ex.getMessage());
+        }
+    }
+
+    /** Seeds the shared schedule (and the local wheel) from ACTIVE conversations; one node per startup. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        if (!enabled) return;
+        var lease = distributedLock.tryAcquire("chat:expiry:seed", Duration.ofMinutes(5));
+        if (lease.isEmpty()) return;
+        try (var held = lease.get()) {
+            StringRedisTemplate redis = redisProvider.getIfAvailable();
+            long localUntil = clock.millis() + horizon.toMillis();
+            long afterId = 0;
+            int seeded = 0;
+            while (true) {
+                var rows = conversationRepo.findExpiryChunk(ConversationStatus.ACTIVE, afterId, PageRequest.of(0, seedBatch));
+                if (rows.isEmpty()) break;
+                Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+                for (var row : rows) {
+                    long ms = row.getExpiresAt().toEpochMilli();
+                    tuples.add(ZSetOperations.TypedTuple.of(Long.toString(row.getId()), (double) ms));
+                    if (ms <= localUntil) {
+                        wheel.schedule(row.getId(), ms);
+                    }
+                }
+                if (redis != null) {
+                    try {
+                        redis.opsForZSet().add(ZSET_KEY, tuples);
+                    } catch (RuntimeException ex) {
+                        // Keep seeding the local wheel; the shared schedule fills in on the next send.
+                        log.warn("Chat expiry seed to Redis failed: {}", ex.getMessage());
+                        redis = null;
+                    }
+                }
+                seeded += rows.size();
+                afterId = rows.get(rows.size() - 1).getId();
+                if (rows.size() < seedBatch) break;
+            }
+            log.info("Chat expiry seeded active={} distributedLock={}", seeded, held.distributed());
+        } catch (RuntimeException ex) {
+            log.warn("Chat expiry seed failed: {}", ex.getMessage());
+        }
+    }
+
+    private void fire(long conversationId) {
+        long nowMs = clock.millis();
+        Long claim = claim(conversationId, nowMs);
+        if (claim != null && claim == 0L) return;          // another node took it
+        if (claim != null && claim < 0L) {                 // extended meanwhile (score moved forward)
+            wheel.schedule(conversationId, -claim);
+            return;
+        }
+
+        Instant now = Instant.ofEpochMilli(nowMs);
+        int updated = conversationRepo.expireIfDue(conversationId, now, ConversationStatus.ACTIVE, ConversationStatus.EXPIRED);
+        if (updated == 1) {
+            expired.increment();
+            List<Long> participants = participantRepo.findUserIdsByConversationId(conversationId);
+            eventPublisher.publishEvent(new ConversationStatusChangedEvent(
+                    conversationId, ConversationStatus.ACTIVE, ConversationStatus.EXPIRED, participants, now));
+            return;
+        }
+        // Not due in the DB (a send extended it) or no longer ACTIVE: follow the DB.
+        conversationRepo.findById(conversationId)
+                .filter(c -> c.getStatus() == ConversationStatus.ACTIVE)
+                .ifPresent(c -> schedule(conversationId, c.getExpiresAt()));
+    }
+
+    /** 1 claimed, 0 claimed elsewhere, negative = new (future) score; null when Redis is unavailable. */
+    private Long claim(long conversationId, long nowMs) {
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis == null) return null;
+        try {
+            return redis.execute(CLAIM_SCRIPT, List.of(ZSET_KEY), Long.toString(conversationId), Long.toString(nowMs));
+        } catch (RuntimeException ex) {
+            // Fall back to the DB guard alone.
+            return null;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.tennismatch.backend.chat.domain.dto.ConversationListDto;
 import com.tennismatch.backend.chat.domain.enums.ConversationStatus;
 import com.tennismatch.backend.chat.repositories.ConversationRepository;
 import com.tennismatch.backend.configs.CacheConfig;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
@@ -17,6 +18,7 @@ public class ConversationQueryService {
 
     private final ConversationRepository conversationRepo;
 
+    @Timed(value = "inbox.load", description = "Conversation list loads, cache hits included")
     @Cacheable(cacheNames = CacheConfig.CONVERSATIONS_CACHE,
             key = "#userId + ':' + @cacheVersionService.getInboxVersion(#userId)")
     public List<ConversationListDto> getConversations(long userId) {
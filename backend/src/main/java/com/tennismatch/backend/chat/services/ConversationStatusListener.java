@@ -0,0 +1,28 @@
+package com.tennismatch.backend.chat.services;
+
+import com.tennismatch.backend.cache.CacheVersionService;
+import com.tennismatch.backend.chat.utils.ChatEvent;
+import com.tennismatch.backend.chat.utils.ConversationStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/** Keeps conversation state caches and open chat screens in step with lifecycle transitions. */
+@Component
+@RequiredArgsConstructor
+public class ConversationStatusListener {
+
+    private final CacheVersionService cacheVersionService;
+    private final SimpMessagingTemplate ws;
+
+    @EventListener
+    public void onStatusChanged(ConversationStatusChangedEvent event) {
+        // Inbox rows carry the status; a new version makes me:conversations reload.
+        for (Long userId : event.participantIds()) {
+            cacheVersionService.bumpInboxVersion(userId);
+        }
+        ws.convertAndSend("/topic/conversations." + event.conversationId(),
+                ChatEvent.status(event.conversationId(), event.to(), event.at()));
+    }
+}
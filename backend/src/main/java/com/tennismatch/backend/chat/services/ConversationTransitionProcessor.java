@@ -0,0 +1,189 @@
+package com.tennismatch.backend.chat.services;
+
+import com.tennismatch.backend.chat.domain.enums.ConversationStatus;
+import com.tennismatch.backend.chat.repositories.ConversationParticipantRepository;
+import com.tennismatch.backend.chat.repositories.ConversationRepository;
+import com.tennismatch.backend.chat.utils.ConversationStatusChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Moves conversations between lifecycle states in id-ordered chunks. Each chunk locks its rows with
+ * {@code FOR UPDATE SKIP LOCKED}, updates them and commits on its own, so row locks are held for one chunk only
+ * and never wait on a concurrent {@code sendMessage}.
+ * <p>
+ * The last committed id is checkpointed in Redis ({@code chat:maintenance:{job}:checkpoint}) so an interrupted
+ * run resumes where it stopped; a completed run clears it. After each chunk a
+ * {@link ConversationStatusChangedEvent} is published per conversation.
+ */
+@Component
+public class ConversationTransitionProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(ConversationTransitionProcessor.class);
+    private static final String CHECKPOINT_PREFIX = "chat:maintenance:";
+    private static final Duration CHECKPOINT_TTL = Duration.ofDays(1);
+
+    private final ConversationRepository conversationRepo;
+    private final ConversationParticipantRepository participantRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<StringRedisTemplate> redisProvider;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.chat.maintenance.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.chat.maintenance.chunk-pause:PT0.1S}")
+    private Duration chunkPause;
+
+    public ConversationTransitionProcessor(ConversationRepository conversationRepo,
+                                           ConversationParticipantRepository participantRepo,
+                                           TransactionTemplate transactionTemplate,
+                                           ApplicationEventPublisher eventPublisher,
+                                           ObjectProvider<StringRedisTemplate> redisProvider,
+                                           MeterRegistry meterRegistry) {
+        this.conversationRepo = conversationRepo;
+        this.participantRepo = participantRepo;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.redisProvider = redisProvider;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public record RunResult(int chunks, int transitioned, boolean completed) {}
+
+    /**
+     * @param keepGoing checked before every chunk (e.g. lock still held); false stops the run and keeps the checkpoint
+     */
+    public RunResult run(String job,
+                         ConversationStatus from,
+                         ConversationStatus to,
+                         Instant threshold,
+                         Instant now,
+                         BooleanSupplier keepGoing) {
+        Timer chunkTimer = Timer.builder("chat.maintenance.chunk.duration").tag("job", job)
+                .description("Duration of one maintenance chunk transaction").register(meterRegistry);
+        Counter rows = Counter.builder("chat.maintenance.rows").tag("job", job)
+                .description("Conversations transitioned by maintenance").register(meterRegistry);
+        Counter chunksCounter = Counter.builder("chat.maintenance.chunks").tag("job", job)
+                .description("Maintenance chunks committed").register(meterRegistry);
+
+        long afterId = readCheckpoint(job);
+        int chunks = 0;
+        int transitioned = 0;
+        while (true) {
+            if (!keepGoing.getAsBoolean()) {
+                log.warn("Chat maintenance {} stopped early at id={} chunks={}", job, afterId, chunks);
+                return new RunResult(chunks, transitioned, false);
+            }
+            long cursor = afterId;
+            Timer.Sample sample = Timer.start(meterRegistry);
+            Chunk chunk = transactionTemplate.execute(s -> transitionChunk(from, to, threshold, now, cursor));
+            sample.stop(chunkTimer);
+            if (chunk == null || chunk.ids.isEmpty()) break;
+
+            chunks++;
+            transitioned += chunk.ids.size();
+            chunksCounter.increment();
+            rows.increment(chunk.ids.size());
+            afterId = chunk.ids.get(chunk.ids.size() - 1);
+            writeCheckpoint(job, afterId);
+            publish(chunk, from, to, now);
+
+            if (chunk.ids.size() < chunkSize) break;
+            if (!pause()) return new RunResult(chunks, transitioned, false);
+        }
+        clearCheckpoint(job);
+        return new RunResult(chunks, transitioned, true);
+    }
+
+    private Chunk transitionChunk(ConversationStatus from, ConversationStatus to, Instant threshold, Instant now, long afterId) {
+        List<Long> ids = conversationRepo.lockTransitionChunk(from.name(), threshold, afterId, chunkSize);
+        if (ids.isEmpty()) return new Chunk(ids, Map.of());
+        if (to == ConversationStatus.ARCHIVED) {
+            conversationRepo.archiveByIds(ids, to, now);
+        } else {
+            conversationRepo.expireByIds(ids, to, now);
+        }
+        Map<Long, List<Long>> participants = participantRepo.findByConversationIds(ids).stream()
+                .collect(Collectors.groupingBy(ConversationParticipantRepository.ParticipantRow::getConversationId,
+                        Collectors.mapping(ConversationParticipantRepository.ParticipantRow::getUserId, Collectors.toList())));
+        return new Chunk(new ArrayList<>(ids), participants);
+    }
+
+    private void publish(Chunk chunk, ConversationStatus from, ConversationStatus to, Instant now) {
+        for (Long id : chunk.ids) {
+            try {
+                eventPublisher.publishEvent(new ConversationStatusChangedEvent(
+                        id, from, to, chunk.participants.getOrDefault(id, List.of()), now));
+            } catch (RuntimeException ex) {
+                log.warn("Conversation status event failed conversationId={} message={}", id, ex.getMessage());
+            }
+        }
+    }
+
+    private boolean pause() {
+        if (chunkPause.isZero() || chunkPause.isNegative()) return true;
+        try {
+            Thread.sleep(chunkPause.toMillis());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private long readCheckpoint(String job) {
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis == null) return 0L;
+        try {
+            String value = redis.opsForValue().get(checkpointKey(job));
+            return value != null ? Long.parseLong(value) : 0L;
+        } catch (RuntimeException ex) {
+            return 0L;
+        }
+    }
+
+    private void writeCheckpoint(String job, long afterId) {
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis == null) return;
+        try {
+            redis.opsForValue().set(checkpointKey(job), Long.toString(afterId), CHECKPOINT_TTL);
+        } catch (RuntimeException ignored) {
+            // Without a checkpoint the next run simply starts from the first id again.
+        }
+    }
+
+    private void clearCheckpoint(String job) {
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis == null) return;
+        try {
+            redis.delete(checkpointKey(job));
+        } catch (RuntimeException ignored) {
+            // Stale checkpoint expires on its TTL.
+        }
+    }
+
+    private static String checkpointKey(String job) {
+        return CHECKPOINT_PREFIX + job + ":checkpoint";
+    }
+
+    private record Chunk(List<Long> ids, Map<Long, List<Long>> participants) {}
+}
@@ -0,0 +1,216 @@
+package com.tennismatch.backend.chat.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tennismatch.backend.chat.domain.dto.MessageDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Hot tail of the newest messages per conversation, kept as a Redis list {@code chat:tail:{cid}}
+ * (ascending by id, at most {@code app.chat.tail.size} entries, capped at 100).
+ * <p>
+ * The list is always a contiguous suffix of the conversation:
+ * <ul>
+ *   <li>{@link #append} runs after commit, only extends an existing list (RPUSHX semantics) and drops the
+ *       list when a message arrives out of id order;</li>
+ *   <li>{@link #populate} (after a DB read) only writes when the per-conversation generation counter
+ *       {@code chat:tail:gen:{cid}} is unchanged since the read started, so a concurrent send is never lost.</li>
+ * </ul>
+ * A list shorter than the capacity therefore holds the whole conversation. Redis failures are treated as misses.
+ */
+@Component
+public class MessageTailCache {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageTailCache.class);
+
+    private static final String TAIL_PREFIX = "chat:tail:";
+    private static final String GEN_PREFIX = "chat:tail:gen:";
+    // Same as the largest history page: a miss reads capacity() rows to seed the tail.
+    static final int MAX_CAPACITY = 100;
+
+    // KEYS[1]=tail KEYS[2]=gen ARGV[1]=json ARGV[2]=id ARGV[3]=capacity ARGV[4]=ttlMs
+    private static final DefaultRedisScript<Long> APPEND_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('INCR', KEYS[2])
+            redis.call('PEXPIRE', KEYS[2], ARGV[4])
+            if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end
+            local last = redis.call('LINDEX', KEYS[1], -1)
+            if last then
+              local lastId = tonumber(cjson.decode(last)['id'])
+              local id = tonumber(ARGV[2])
+              if lastId == id then return 0 end
+              if lastId > id then
+                redis.call('DEL', KEYS[1])
+                return -1
+              end
+            end
+            redis.call('RPUSH', KEYS[1], ARGV[1])
+            redis.call('LTRIM', KEYS[1], -tonumber(ARGV[3]), -1)
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            return 1
+            """, Long.class);
+
+    // KEYS[1]=tail KEYS[2]=gen ARGV[1]=expectedGen ARGV[2]=ttlMs ARGV[3..]=json (ascending)
+    private static final DefaultRedisScript<Long> POPULATE_SCRIPT = new DefaultRedisScript<>("""
+            local gen = redis.call('GET', KEYS[2]) or '0'
+            if gen ~= ARGV[1] then return 0 end
+            redis.call('DEL', KEYS[1])
+            for i = 3, #ARGV do
+              redis.call('RPUSH', KEYS[1], ARGV[i])
+            end
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return 1
+            """, Long.class);
+
+    private final ObjectProvider<StringRedisTemplate> redisProvider;
+    private final ObjectMapper objectMapper;
+    private final Counter hits;
+    private final Counter misses;
+    private final int capacity;
+
+    @Value("${app.chat.tail.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.chat.tail.ttl:PT24H}")
+    private Duration ttl;
+
+    public MessageTailCache(ObjectProvider<StringRedisTemplate> redisProvider,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.chat.tail.size:50}") int capacity) {
+        this.redisProvider = redisProvider;
+        this.capacity = Math.max(1, Math.min(capacity, MAX_CAPACITY));
+        if (capacity > MAX_CAPACITY) {
+            log.warn("app.chat.tail.size={} exceeds {}, using {}", capacity, MAX_CAPACITY, MAX_CAPACITY);
+        }
+        this.objectMapper = objectMapper;
+        this.hits = Counter.builder("chat.tail.requests").tag("result", "hit")
+                .description("First-page history reads served from the message tail").register(meterRegistry);
+        this.misses = Counter.builder("chat.tail.requests").tag("result", "miss")
+                .description("First-page history reads that fell back to Postgres").register(meterRegistry);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /** Snapshot of a tail hit: newest {@code items} (ascending) plus whether older messages may exist. */
+    public record Page(List<MessageDto> items, boolean hasMore) {}
+
+    /** Newest {@code limit} messages, or null when the tail cannot answer (absent, too short, Redis down). */
+    public Page latest(long conversationId, int limit) {
+        StringRedisTemplate redis = enabled ? redisProvider.getIfAvailable() : null;
+        if (redis == null) return null;
+        try {
+            List<String> raw = redis.opsForList().range(TAIL_PREFIX + conversationId, 0, -1);
+            if (raw == null || raw.isEmpty()) {
+                misses.increment();
+                return null;
+            }
+            boolean complete = raw.size() < capacity;
+            if (raw.size() < limit && !complete) {
+                misses.increment();
+                return null;
+            }
+            List<String> slice = raw.subList(Math.max(0, raw.size() - limit), raw.size());
+            List<MessageDto> items = new ArrayList<>(slice.size());
+            for (String json : slice) {
+                items.add(objectMapper.readValue(json, MessageDto.class));
+            }
+            hits.increment();
+            return new Page(items, raw.size() > limit || !complete);
+        } catch (JsonProcessingException | RuntimeException ex) {
+            log.warn("Chat tail read failed conversationId={} message={}", conversationId, ex.getMessage());
+            misses.increment();
+            return null;
+        }
+    }
+
+    /** Generation to pass to {@link #populate}; read it BEFORE querying the DB. Null when caching is off. */
+    public String generation(long conversationId) {
+        StringRedisTemplate redis = enabled ? redisProvider.getIfAvailable() : null;
+        if (redis == null) return null;
+        try {
+            String gen = redis.opsForValue().get(GEN_PREFIX + conversationId);
+            return gen != null ? gen : "0";
+        } catch (RuntimeException ex) {
+            log.warn("Chat tail generation read failed conversationId={} message={}", conversationId, ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Seeds the tail from a DB read of the newest messages (ascending). {@code newestAsc} must be either the whole
+     * conversation or at least {@link #capacity()} messages; only the newest {@code capacity} are kept.
+     */
+    public void populate(long conversationId, String generation, List<MessageDto> newestAsc) {
+        if (generation == null || newestAsc.isEmpty()) return;
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis == null) return;
+        try {
+            List<MessageDto> kept = newestAsc.subList(Math.max(0, newestAsc.size() - capacity), newestAsc.size());
+            List<String> args = new ArrayList<>(kept.size() + 2);
+            args.add(generation);
+            args.add(Long.toString(ttl.toMillis()));
+            for (MessageDto m : kept) {
+                args.add(objectMapper.writeValueAsString(m));
+            }
+            redis.execute(POPULATE_SCRIPT,
+                    List.of(TAIL_PREFIX + conversationId, GEN_PREFIX + conversationId),
+                    args.toArray());
+        } catch (JsonProcessingException | RuntimeException ex) {
+            log.warn("Chat tail populate failed conversationId={} message={}", conversationId, ex.getMessage());
+        }
+    }
+
+    /** Appends a committed message; also bumps the generation so in-flight populates are discarded. */
+    public void append(long conversationId, MessageDto message) {
+        StringRedisTemplate redis = enabled ? redisProvider.getIfAvailable() : null;
+        if (redis == null) return;
+        try {
+            redis.execute(APPEND_SCRIPT,
+                    List.of(TAIL_PREFIX + conversationId, GEN_PREFIX + conversationId),
+                    objectMapper.writeValueAsString(message),
+                    Long.toString(message.getId()),
+                    Integer.toString(capacity),
+                    Long.toString(ttl.toMillis()));
+        } catch (JsonProcessingException | RuntimeException ex) {
+            // A failed append leaves a tail that may miss this message; drop it so reads fall back to the DB.
+            log.warn("Chat tail append failed conversationId={} message={}", conversationId, ex.getMessage());
+            evict(conversationId);
+        }
+    }
+
+    public void evict(long conversationId) {
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis == null) return;
+        try {
+            redis.delete(TAIL_PREFIX + conversationId);
+        } catch (RuntimeException ex) {
+            log.warn("Chat tail evict failed conversationId={} message={}", conversationId, ex.getMessage());
+        }
+    }
+
+    /** Drops the tails of many conversations with one DEL (purged conversations). */
+    public void evictAll(Collection<Long> conversationIds) {
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis == null || conversationIds.isEmpty()) return;
+        try {
+            redis.delete(conversationIds.stream().map(id -> TAIL_PREFIX + id).toList());
+        } catch (RuntimeException ex) {
+            log.warn("Chat tail evict failed conversations={} message={}", conversationIds.size(), ex.getMessage());
+        }
+    }
+}
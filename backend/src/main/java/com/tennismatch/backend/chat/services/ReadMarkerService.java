@@ -0,0 +1,107 @@
+package com.tennismatch.backend.chat.services;
+
+import com.tennismatch.backend.cache.CacheVersionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read markers ({@code conversation_participant.last_read_at}) off the request path.
+ * <p>
+ * {@link #markRead(long, long)} only records the latest read per (conversation, user) in memory; {@link #flush()}
+ * writes them in one JDBC batch every {@code app.chat.read-marker.flush-interval} and then bumps the inbox version
+ * once per affected user. Opening a chat therefore costs no UPDATE and no Redis call; the inbox's unread badge
+ * catches up within one flush interval.
+ */
+@Service
+public class ReadMarkerService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadMarkerService.class);
+
+    // Only move forward: a late flush must not overwrite a newer marker written by another node.
+    private static final String TOUCH_SQL = """
+            update conversation_participant
+               set last_read_at = ?
+             where conversation_id = ?
+               and user_id = ?
+               and (last_read_at is null or last_read_at < ?)
+            """;
+
+    private record Key(long conversationId, long userId) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheVersionService cacheVersionService;
+    private final Clock clock;
+    private final Counter flushed;
+
+    // (conversation, user) -> latest read (epoch ms) not yet written
+    private final ConcurrentHashMap<Key, Long> pending = new ConcurrentHashMap<>();
+
+    public ReadMarkerService(JdbcTemplate jdbcTemplate,
+                             CacheVersionService cacheVersionService,
+                             Clock clock,
+                             MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheVersionService = cacheVersionService;
+        this.clock = clock;
+        this.flushed = meterRegistry.counter("chat.read-markers.flushed");
+        meterRegistry.gaugeMapSize("chat.read-markers.pending", List.of(), pending);
+    }
+
+    /** Hot path (opening a chat, WS read receipts): no I/O. */
+    public void markRead(long conversationId, long userId) {
+        pending.merge(new Key(conversationId, userId), clock.millis(), Math::max);
+    }
+
+    @Scheduled(fixedDelayString = "${app.chat.read-marker.flush-interval:PT2S}")
+    public void flush() {
+        if (pending.isEmpty()) return;
+        Map<Key, Long> batch = new HashMap<>();
+        for (Key key : List.copyOf(pending.keySet())) {
+            Long at = pending.remove(key);
+            if (at != null) batch.put(key, at);
+        }
+        if (batch.isEmpty()) return;
+
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        batch.forEach((key, at) -> rows.add(new Object[]{utc(at), key.conversationId(), key.userId(), utc(at)}));
+        try {
+            jdbcTemplate.batchUpdate(TOUCH_SQL, rows);
+            flushed.increment(batch.size());
+        } catch (RuntimeException ex) {
+            // Put the batch back; a newer read recorded meanwhile wins.
+            batch.forEach((key, at) -> pending.merge(key, at, Math::max));
+            log.warn("Read marker flush failed markers={} message={}", batch.size(), ex.getMessage());
+            return;
+        }
+        Set<Long> users = new LinkedHashSet<>();
+        batch.keySet().forEach(key -> users.add(key.userId()));
+        users.forEach(cacheVersionService::bumpInboxVersion);
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private static OffsetDateTime utc(long epochMs) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMs), ZoneOffset.UTC);
+    }
+}
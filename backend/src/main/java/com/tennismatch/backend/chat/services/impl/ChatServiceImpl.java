@@ -11,17 +11,25 @@ import com.tennismatch.backend.chat.repositories.ConversationParticipantReposito
 import com.tennismatch.backend.chat.repositories.ConversationRepository;
 import com.tennismatch.backend.chat.repositories.MessageRepository;
 import com.tennismatch.backend.chat.services.ChatService;
+import com.tennismatch.backend.chat.services.ConversationExpiryEngine;
+import com.tennismatch.backend.chat.services.MessageTailCache;
 import com.tennismatch.backend.cache.CacheVersionService;
+import com.tennismatch.backend.observability.ProfilingEvents;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Service
@@ -32,6 +40,8 @@ public class ChatServiceImpl implements ChatService {
     private final ConversationParticipantRepository participantRepo;
     private final MessageRepository messageRepo;
     private final CacheVersionService cacheVersionService;
+    private final MessageTailCache messageTailCache;
+    private final ConversationExpiryEngine expiryEngine;
     private final Clock clock;
 
     @Value("${app.chat.conversation.ttl:PT24H}")
@@ -50,6 +60,7 @@ public class ChatServiceImpl implements ChatService {
                 .matchId(matchId)
                 .status(ConversationStatus.ACTIVE)
                 .createdAt(now)
+                .updatedAt(now)
                 .expiresAt(now.plus(conversationTtl))
                 .build());
 
@@ -57,12 +68,21 @@ public class ChatServiceImpl implements ChatService {
         participantRepo.save(ConversationParticipant.builder().conversationId(c.getId()).userId(userB).build());
         cacheVersionService.bumpInboxVersion(userA);
         cacheVersionService.bumpInboxVersion(userB);
+        long conversationId = c.getId();
+        Instant expiresAt = c.getExpiresAt();
+        afterCommit(() -> expiryEngine.schedule(conversationId, expiresAt));
         return c;
     }
 
     @Transactional
     @Override
+    @Timed(value = "chat.message.send", description = "Chat message persistence, fan-out excluded")
     public MessageDto sendMessage(long userId, long conversationId, String body, String clientId) {
+        ProfilingEvents.ChatMessageSent event = new ProfilingEvents.ChatMessageSent();
+        event.begin();
+        event.conversationId = conversationId;
+        event.bodyLength = body != null ? body.length() : 0;
+
         // participant check
         if (!participantRepo.existsByConversationIdAndUserId(conversationId, userId)) {
             throw new SecurityException("User is not a participant of this conversation");
@@ -83,6 +103,8 @@ public class ChatServiceImpl implements ChatService {
             var existing = messageRepo.findByConversationIdAndClientId(conversationId, clientId);
             if (existing.isPresent()) {
                 var m = existing.get();
+                event.duplicate = true;
+                event.commit();
                 return toDto(m);
             }
         }
@@ -100,29 +122,59 @@ public class ChatServiceImpl implements ChatService {
         // extend TTL
         c.setLastMessageAt(now);
         c.setExpiresAt(now.plus(conversationTtl));
+        c.setUpdatedAt(now);
         conversationRepo.save(c);
 
         for (Long uid : participantRepo.findUserIdsByConversationId(conversationId)) {
             cacheVersionService.bumpInboxVersion(uid);
         }
 
-        return toDto(m);
+        MessageDto dto = toDto(m);
+        Instant expiresAt = c.getExpiresAt();
+        afterCommit(() -> {
+            messageTailCache.append(conversationId, dto);
+            expiryEngine.schedule(conversationId, expiresAt);
+        });
+        event.commit();
+        return dto;
     }
 
-    @Transactional(readOnly = true)
+    // No surrounding transaction: a tail hit must not check out a DB connection.
     @Override
     public HistoryResponse getMessages(long conversationId, Long beforeId, int limit) {
-        var page = PageRequest.of(0, Math.max(1, Math.min(limit, 100)));
-        List<Message> msgs = (beforeId != null)
-                ? messageRepo.findByConversationIdAndIdLessThanOrderByIdDesc(conversationId, beforeId, page)
-                : messageRepo.findByConversationIdOrderByIdDesc(conversationId, page);
+        int pageSize = Math.max(1, Math.min(limit, 100));
+        if (beforeId != null) {
+            var page = PageRequest.of(0, pageSize);
+            List<Message> msgs = messageRepo.findByConversationIdAndIdLessThanOrderByIdDesc(conversationId, beforeId, page);
+            return history(conversationId, toAscDtos(msgs), msgs.size() == pageSize);
+        }
+
+        var tail = messageTailCache.latest(conversationId, pageSize);
+        if (tail != null) {
+            return history(conversationId, tail.items(), tail.hasMore());
+        }
+
+        // Miss: read enough to seed the tail as well, then answer the requested page from it.
+        String generation = messageTailCache.generation(conversationId);
+        // At least capacity() rows: populate() treats a shorter list as the whole conversation.
+        int fetchSize = Math.max(pageSize, messageTailCache.capacity());
+        List<Message> msgs = messageRepo.findByConversationIdOrderByIdDesc(conversationId, PageRequest.of(0, fetchSize));
+        List<MessageDto> newestAsc = toAscDtos(msgs);
+        messageTailCache.populate(conversationId, generation, newestAsc);
+
+        boolean hasMore = msgs.size() > pageSize || msgs.size() == fetchSize;
+        var items = newestAsc.subList(Math.max(0, newestAsc.size() - pageSize), newestAsc.size());
+        return history(conversationId, new ArrayList<>(items), hasMore);
+    }
 
-        boolean hasMore = msgs.size() == page.getPageSize();
-        var items = msgs.stream().map(this::toDto).toList();
+    private List<MessageDto> toAscDtos(List<Message> newestFirst) {
         // Return ascending order for frontend convenience
-        var itemsAsc = new java.util.ArrayList<>(items);
-        java.util.Collections.reverse(itemsAsc);
+        var items = new ArrayList<>(newestFirst.stream().map(this::toDto).toList());
+        Collections.reverse(items);
+        return items;
+    }
 
+    private HistoryResponse history(long conversationId, List<MessageDto> itemsAsc, boolean hasMore) {
         return HistoryResponse.builder()
                 .conversationId(conversationId)
                 .hasMore(hasMore)
@@ -130,9 +182,23 @@ public class ChatServiceImpl implements ChatService {
                 .build();
     }
 
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     private MessageDto toDto(Message m) {
         return MessageDto.builder()
                 .id(m.getId())
+                .conversationId(m.getConversationId())
                 .senderId(m.getSenderId())
                 .body(m.getBody())
                 .createdAt(m.getCreatedAt())
@@ -6,7 +6,7 @@ import lombok.Setter;
 
 @Getter @Builder
 public class ChatEvent {
-    public enum Kind { MESSAGE, TYPING, READ }
+    public enum Kind { MESSAGE, TYPING, READ, STATUS }
 
     private Kind kind;
     private Object data;
@@ -18,4 +18,7 @@ public class ChatEvent {
     public static ChatEvent read(long userId, Long lastSeenId){
         return ChatEvent.builder().kind(Kind.READ).data(java.util.Map.of("userId",userId,"lastSeenId",lastSeenId)).build();
     }
+    public static ChatEvent status(long conversationId, Object status, java.time.Instant at){
+        return ChatEvent.builder().kind(Kind.STATUS).data(java.util.Map.of("conversationId",conversationId,"status",status,"at",at)).build();
+    }
 }
@@ -0,0 +1,14 @@
+package com.tennismatch.backend.chat.utils;
+
+import com.tennismatch.backend.chat.domain.enums.ConversationStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+/** Published after a conversation lifecycle transition has committed. */
+public record ConversationStatusChangedEvent(long conversationId,
+                                             ConversationStatus from,
+                                             ConversationStatus to,
+                                             List<Long> participantIds,
+                                             Instant at) {
+}
@@ -0,0 +1,69 @@
+package com.tennismatch.backend.chat.websocket;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Queue depth / active threads / pool size for the three STOMP channel executors
+ * (tag {@code channel=inbound|outbound|broker}). A growing outbound queue means clients are
+ * consuming slower than the broker publishes.
+ * <p>
+ * Executors are resolved lazily; a channel running on virtual threads reports 0.
+ */
+@Component
+public class WsChannelMetrics implements MeterBinder {
+
+    private final ObjectProvider<Executor> inboundExecutor;
+    private final ObjectProvider<Executor> outboundExecutor;
+    private final ObjectProvider<Executor> brokerExecutor;
+
+    public WsChannelMetrics(@Qualifier("clientInboundChannelExecutor") ObjectProvider<Executor> inboundExecutor,
+                            @Qualifier("clientOutboundChannelExecutor") ObjectProvider<Executor> outboundExecutor,
+                            @Qualifier("brokerChannelExecutor") ObjectProvider<Executor> brokerExecutor) {
+        this.inboundExecutor = inboundExecutor;
+        this.outboundExecutor = outboundExecutor;
+        this.brokerExecutor = brokerExecutor;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindChannel(registry, "inbound", inboundExecutor);
+        bindChannel(registry, "outbound", outboundExecutor);
+        bindChannel(registry, "broker", brokerExecutor);
+    }
+
+    private void bindChannel(MeterRegistry registry, String channel, ObjectProvider<Executor> executor) {
+        gauge(registry, "ws.channel.queue.depth", "Tasks waiting in the STOMP channel executor queue",
+                channel, executor, pool -> pool.getQueue().size());
+        gauge(registry, "ws.channel.active", "Threads currently running STOMP channel tasks",
+                channel, executor, ThreadPoolExecutor::getActiveCount);
+        gauge(registry, "ws.channel.pool.size", "Current STOMP channel executor pool size",
+                channel, executor, ThreadPoolExecutor::getPoolSize);
+    }
+
+    private void gauge(MeterRegistry registry, String name, String description, String channel,
+                       ObjectProvider<Executor> executor, ToDoubleFunction<ThreadPoolExecutor> reader) {
+        Gauge.builder(name, executor, provider -> read(provider, reader))
+                .description(description)
+                .tag("channel", channel)
+                .register(registry);
+    }
+
+    private static double read(ObjectProvider<Executor> provider, ToDoubleFunction<ThreadPoolExecutor> reader) {
+        if (!(provider.getIfAvailable() instanceof ThreadPoolTaskExecutor executor)) return 0;
+        try {
+            return reader.applyAsDouble(executor.getThreadPoolExecutor());
+        } catch (IllegalStateException notInitialized) {
+            return 0;
+        }
+    }
+}
@@ -3,10 +3,13 @@ package com.tennismatch.backend.chat.websocket;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @EnableWebSocketMessageBroker
 @RequiredArgsConstructor
@@ -20,11 +23,55 @@ public class WsConfig implements WebSocketMessageBrokerConfigurer {
     @Value("${cors.allowed.origins:https://your-frontend.example.com,https://www.your-frontend.example.com,http://localhost:3000}")
     private String allowedOrigins;
 
+    // Inbound (client -> app) executor; virtual threads replace the pool when enabled.
+    @Value("${app.ws.inbound.core-pool-size:4}")
+    private int inboundCorePoolSize;
+
+    @Value("${app.ws.inbound.max-pool-size:8}")
+    private int inboundMaxPoolSize;
+
+    @Value("${app.ws.inbound.queue-capacity:500}")
+    private int inboundQueueCapacity;
+
+    @Value("${app.ws.inbound.virtual-threads:${spring.threads.virtual.enabled:false}}")
+    private boolean inboundVirtualThreads;
+
+    // Outbound (app -> client) executor; a bounded queue rejects instead of growing without limit.
+    @Value("${app.ws.outbound.core-pool-size:4}")
+    private int outboundCorePoolSize;
+
+    @Value("${app.ws.outbound.max-pool-size:8}")
+    private int outboundMaxPoolSize;
+
+    @Value("${app.ws.outbound.queue-capacity:1000}")
+    private int outboundQueueCapacity;
+
+    @Value("${app.ws.outbound.virtual-threads:${spring.threads.virtual.enabled:false}}")
+    private boolean outboundVirtualThreads;
+
+    @Value("${app.ws.broker.preserve-publish-order:false}")
+    private boolean preservePublishOrder;
+
+    // Transport limits: a session whose send buffer or send time exceeds these is closed (slow consumer).
+    @Value("${app.ws.transport.send-buffer-size-limit:262144}")
+    private int sendBufferSizeLimit;
+
+    @Value("${app.ws.transport.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${app.ws.transport.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    @Value("${app.ws.transport.time-to-first-message-ms:30000}")
+    private int timeToFirstMessageMs;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         config.enableSimpleBroker("/topic", "/queue");
         config.setApplicationDestinationPrefixes("/app");
         config.setUserDestinationPrefix("/user");
+        // Same ordering concern as inbound: unbounded virtual threads would reorder frames per session.
+        config.setPreservePublishOrder(preservePublishOrder || outboundVirtualThreads);
     }
 
     @Override
@@ -33,5 +80,41 @@ public class WsConfig implements WebSocketMessageBrokerConfigurer {
                 .addInterceptors(authInterceptor)
                 .setHandshakeHandler(principalHandler)
                 .setAllowedOriginPatterns(allowedOrigins.split("\\s*,\\s*"));
+        // Virtual threads give no per-session ordering on their own; keep frames from one session in order.
+        if (inboundVirtualThreads) {
+            registry.setPreserveReceiveOrder(true);
+        }
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        if (inboundVirtualThreads) {
+            registration.executor(new VirtualThreadTaskExecutor("ws-in-"));
+            return;
+        }
+        registration.taskExecutor()
+                .corePoolSize(inboundCorePoolSize)
+                .maxPoolSize(inboundMaxPoolSize)
+                .queueCapacity(inboundQueueCapacity);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        if (outboundVirtualThreads) {
+            registration.executor(new VirtualThreadTaskExecutor("ws-out-"));
+            return;
+        }
+        registration.taskExecutor()
+                .corePoolSize(outboundCorePoolSize)
+                .maxPoolSize(outboundMaxPoolSize)
+                .queueCapacity(outboundQueueCapacity);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setSendTimeLimit(sendTimeLimitMs)
+                .setMessageSizeLimit(messageSizeLimit)
+                .setTimeToFirstMessage(timeToFirstMessageMs);
     }
 }
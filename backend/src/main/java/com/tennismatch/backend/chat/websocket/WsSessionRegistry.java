@@ -0,0 +1,293 @@
+package com.tennismatch.backend.chat.websocket;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks STOMP sessions per user (user -> sessions -> subscriptions) from the broker's
+ * connect/subscribe/disconnect events and exposes online presence.
+ * <p>
+ * Presence is node-local by default. With {@code app.ws.presence.redis.enabled=true} every node also
+ * keeps a per-user sorted set ({@code ws:presence:{userId}}, member = node id, score = lease expiry)
+ * so another node can answer {@link #isOnline(long)} for users connected elsewhere.
+ */
+@Component
+public class WsSessionRegistry implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(WsSessionRegistry.class);
+
+    private static final String PRESENCE_PREFIX = "ws:presence:";
+
+    private final ObjectProvider<StringRedisTemplate> redisProvider;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // sessionId -> session (owner + subscriptionId -> destination)
+    private final ConcurrentHashMap<String, WsSession> sessions = new ConcurrentHashMap<>();
+    // userId -> sessionIds
+    private final ConcurrentHashMap<Long, Set<String>> sessionsByUser = new ConcurrentHashMap<>();
+    // normalized destination -> active subscriptions
+    private final ConcurrentHashMap<String, AtomicInteger> subscriptionsByTopic = new ConcurrentHashMap<>();
+
+    private volatile MeterRegistry meterRegistry;
+
+    @Value("${app.ws.presence.redis.enabled:false}")
+    private boolean redisPresenceEnabled;
+
+    @Value("${app.ws.presence.lease:PT90S}")
+    private Duration presenceLease;
+
+    public WsSessionRegistry(ObjectProvider<StringRedisTemplate> redisProvider) {
+        this.redisProvider = redisProvider;
+    }
+
+    // ====================== STOMP lifecycle ======================
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        String sessionId = sessionId(event.getMessage());
+        Long userId = userId(event.getUser());
+        if (sessionId == null || userId == null) return;
+
+        if (sessions.putIfAbsent(sessionId, new WsSession(userId)) != null) return;
+        boolean firstSession = addUserSession(userId, sessionId);
+        if (firstSession) {
+            publishPresence(userId);
+        }
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        WsSession session = accessor.getSessionId() != null ? sessions.get(accessor.getSessionId()) : null;
+        String subscriptionId = accessor.getSubscriptionId();
+        String destination = accessor.getDestination();
+        if (session == null || subscriptionId == null || destination == null) return;
+
+        if (session.subscriptions.put(subscriptionId, destination) == null) {
+            topicCounter(normalizeDestination(destination)).incrementAndGet();
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        WsSession session = accessor.getSessionId() != null ? sessions.get(accessor.getSessionId()) : null;
+        if (session == null || accessor.getSubscriptionId() == null) return;
+
+        String destination = session.subscriptions.remove(accessor.getSubscriptionId());
+        if (destination != null) {
+            topicCounter(normalizeDestination(destination)).decrementAndGet();
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        // Disconnect can be delivered more than once for the same session; removal is idempotent.
+        WsSession session = sessions.remove(event.getSessionId());
+        if (session == null) return;
+
+        session.subscriptions.values().forEach(d -> topicCounter(normalizeDestination(d)).decrementAndGet());
+        boolean lastSession = removeUserSession(session.userId, event.getSessionId());
+        if (lastSession) {
+            retractPresence(session.userId);
+        }
+    }
+
+    // ====================== presence ======================
+
+    /** True when the user has at least one live STOMP session on this node (or any node with Redis presence). */
+    public boolean isOnline(long userId) {
+        if (sessionsByUser.containsKey(userId)) return true;
+        if (!redisPresenceEnabled) return false;
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis == null) return false;
+        try {
+            Long live = redis.opsForZSet().count(PRESENCE_PREFIX + userId, System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+            return live != null && live > 0;
+        } catch (RuntimeException ex) {
+            log.warn("WS presence lookup failed userId={} message={}", userId, ex.getMessage());
+            return false;
+        }
+    }
+
+    public Set<Long> onlineUserIds() {
+        return Set.copyOf(sessionsByUser.keySet());
+    }
+
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    public int onlineUserCount() {
+        return sessionsByUser.size();
+    }
+
+    public Map<String, Integer> subscriptionsByTopic() {
+        Map<String, Integer> out = new TreeMap<>();
+        subscriptionsByTopic.forEach((topic, count) -> {
+            int c = count.get();
+            if (c > 0) out.put(topic, c);
+        });
+        return out;
+    }
+
+    /** Renews this node's presence lease for every locally connected user. */
+    @Scheduled(fixedDelayString = "${app.ws.presence.heartbeat:PT30S}")
+    public void heartbeat() {
+        if (!redisPresenceEnabled || sessionsByUser.isEmpty()) return;
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis == null) return;
+        double expiresAt = System.currentTimeMillis() + presenceLease.toMillis();
+        try {
+            redis.executePipelined((RedisCallback<Object>) connection -> {
+                for (Long userId : sessionsByUser.keySet()) {
+                    byte[] key = (PRESENCE_PREFIX + userId).getBytes(StandardCharsets.UTF_8);
+                    connection.zSetCommands().zAdd(key, expiresAt, nodeId.getBytes(StandardCharsets.UTF_8));
+                    connection.keyCommands().pExpire(key, presenceLease.toMillis());
+                }
+                return null;
+            });
+        } catch (RuntimeException ex) {
+            log.warn("WS presence heartbeat failed users={} message={}", sessionsByUser.size(), ex.getMessage());
+        }
+    }
+
+    private void publishPresence(long userId) {
+        if (!redisPresenceEnabled) return;
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis == null) return;
+        try {
+            String key = PRESENCE_PREFIX + userId;
+            redis.opsForZSet().add(key, nodeId, System.currentTimeMillis() + presenceLease.toMillis());
+            redis.expire(key, presenceLease);
+        } catch (RuntimeException ex) {
+            log.warn("WS presence publish failed userId={} message={}", userId, ex.getMessage());
+        }
+    }
+
+    private void retractPresence(long userId) {
+        if (!redisPresenceEnabled) return;
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis == null) return;
+        try {
+            redis.opsForZSet().remove(PRESENCE_PREFIX + userId, nodeId);
+        } catch (RuntimeException ex) {
+            log.warn("WS presence retract failed userId={} message={}", userId, ex.getMessage());
+        }
+    }
+
+    // ====================== metrics ======================
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+        Gauge.builder("ws.sessions.connected", sessions, Map::size)
+                .description("Open STOMP sessions on this node")
+                .register(registry);
+        Gauge.builder("ws.users.online", sessionsByUser, Map::size)
+                .description("Users with at least one STOMP session on this node")
+                .register(registry);
+        subscriptionsByTopic.forEach(this::registerTopicGauge);
+    }
+
+    private AtomicInteger topicCounter(String topic) {
+        AtomicInteger existing = subscriptionsByTopic.get(topic);
+        if (existing != null) return existing;
+        AtomicInteger created = new AtomicInteger();
+        existing = subscriptionsByTopic.putIfAbsent(topic, created);
+        if (existing != null) return existing;
+        registerTopicGauge(topic, created);
+        return created;
+    }
+
+    private void registerTopicGauge(String topic, AtomicInteger counter) {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) return;
+        Gauge.builder("ws.subscriptions", counter, AtomicInteger::get)
+                .description("Active STOMP subscriptions per destination pattern")
+                .tag("topic", topic)
+                .register(registry);
+    }
+
+    // ====================== helpers ======================
+
+    private boolean addUserSession(long userId, String sessionId) {
+        boolean[] first = {false};
+        sessionsByUser.compute(userId, (k, set) -> {
+            if (set == null) {
+                set = ConcurrentHashMap.newKeySet();
+                first[0] = true;
+            }
+            set.add(sessionId);
+            return set;
+        });
+        return first[0];
+    }
+
+    private boolean removeUserSession(long userId, String sessionId) {
+        boolean[] last = {false};
+        sessionsByUser.computeIfPresent(userId, (k, set) -> {
+            set.remove(sessionId);
+            if (set.isEmpty()) {
+                last[0] = true;
+                return null;
+            }
+            return set;
+        });
+        return last[0];
+    }
+
+    /** Collapses ids so metrics stay low-cardinality: /topic/conversations.42 -> /topic/conversations.{id} */
+    static String normalizeDestination(String destination) {
+        return destination.replaceAll("(?<=[./])\\d+(?=$|[./])", "{id}");
+    }
+
+    private static String sessionId(Message<?> message) {
+        return SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+    }
+
+    private static Long userId(Principal principal) {
+        if (principal == null || principal.getName() == null) return null;
+        try {
+            return Long.parseLong(principal.getName());
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private static final class WsSession {
+        private final long userId;
+        private final ConcurrentHashMap<String, String> subscriptions = new ConcurrentHashMap<>();
+
+        private WsSession(long userId) {
+            this.userId = userId;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.tennismatch.backend.configs;
+
+import com.tennismatch.backend.services.AccessTokenService;
+import com.tennismatch.backend.utils.AccessCookieService;
+import com.tennismatch.backend.utils.AuthenticatedUser;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * {@code app.auth.mode=token}: builds the security context from a signed access token. Verification is local
+ * (key ring + in-memory revocations), so authenticated requests do no Redis or DB round trip. A missing, expired or
+ * invalid token leaves the request anonymous; the client then calls {@code /auth/refresh}.
+ */
+public class AccessTokenFilter extends OncePerRequestFilter {
+
+    private static final List<SimpleGrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+    private final AccessTokenService accessTokenService;
+    private final AccessCookieService accessCookieService;
+
+    public AccessTokenFilter(AccessTokenService accessTokenService, AccessCookieService accessCookieService) {
+        this.accessTokenService = accessTokenService;
+        this.accessCookieService = accessCookieService;
+    }
+
+    // the Prometheus scraper sends its own bearer token; it is not an access token
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        accessTokenService.verify(accessCookieService.readToken(request)).ifPresent(claims -> {
+            var auth = new UsernamePasswordAuthenticationToken(claims.email(), null, AUTHORITIES);
+            auth.setDetails(new AuthenticatedUser(claims.userId()));
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(auth);
+            SecurityContextHolder.setContext(context);
+        });
+        filterChain.doFilter(request, response);
+    }
+}
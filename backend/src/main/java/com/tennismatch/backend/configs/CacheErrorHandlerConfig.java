@@ -7,12 +7,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.interceptor.CacheErrorHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+// The cache interceptor only uses an error handler supplied through CachingConfigurer, not a plain bean.
 @Configuration
-public class CacheErrorHandlerConfig {
+public class CacheErrorHandlerConfig implements CachingConfigurer {
 
     private static final Logger log = LoggerFactory.getLogger(CacheErrorHandlerConfig.class);
 
@@ -22,6 +24,11 @@ public class CacheErrorHandlerConfig {
         return new SafeCacheErrorHandler();
     }
 
+    @Override
+    public CacheErrorHandler errorHandler() {
+        return cacheErrorHandler();
+    }
+
     static class SafeCacheErrorHandler implements CacheErrorHandler {
 
         @Override
@@ -14,7 +14,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.time.Duration;
 
 public class LastActiveFilter extends OncePerRequestFilter {
 
@@ -22,14 +21,11 @@ public class LastActiveFilter extends OncePerRequestFilter {
 
     private final AuthUserIdResolver authUserIdResolver;
     private final UserActivityService userActivityService;
-    private final Duration minInterval;
 
     public LastActiveFilter(AuthUserIdResolver authUserIdResolver,
-                            UserActivityService userActivityService,
-                            Duration minInterval) {
+                            UserActivityService userActivityService) {
         this.authUserIdResolver = authUserIdResolver;
         this.userActivityService = userActivityService;
-        this.minInterval = minInterval;
     }
 
     @Override
@@ -54,7 +50,8 @@ public class LastActiveFilter extends OncePerRequestFilter {
         if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
             try {
                 Long userId = authUserIdResolver.resolveUserId(auth);
-                userActivityService.touchLastActive(userId, minInterval);
+                // in-memory only; UserActivityService flushes to the DB in batches
+                userActivityService.recordActivity(userId);
             } catch (RuntimeException ex) {
                 log.warn("LAST_ACTIVE_UPDATE_FAILED path={} message={}", request.getRequestURI(), ex.getMessage());
             }
@@ -0,0 +1,19 @@
+package com.tennismatch.backend.configs;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables {@code @Timed} on Spring beans (deck, decision, message send, inbox). Histogram buckets for these timers
+ * are switched on per meter in {@code management.metrics.distribution.percentiles-histogram.*}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
@@ -0,0 +1,51 @@
+package com.tennismatch.backend.configs;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.function.Supplier;
+
+/**
+ * Guard for {@code /actuator/prometheus}: the scraper sends {@code Authorization: Bearer <app.metrics.token>}
+ * (Prometheus {@code authorization.credentials}). With no token configured the endpoint is closed.
+ */
+@Component
+public class MetricsScrapeAccess implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final String BEARER = "Bearer ";
+
+    private final byte[] token;
+
+    public MetricsScrapeAccess(@Value("${app.metrics.token:}") String token) {
+        this.token = token == null || token.isBlank() ? null : token.trim().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return new AuthorizationDecision(matches(context.getRequest()));
+    }
+
+    /** Superseded by {@link #authorize}, which is what the security chain calls. */
+    @Deprecated
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return new AuthorizationDecision(matches(context.getRequest()));
+    }
+
+    private boolean matches(HttpServletRequest request) {
+        if (token == null) return false;
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER, 0, BEARER.length())) return false;
+        byte[] presented = header.substring(BEARER.length()).trim().getBytes(StandardCharsets.UTF_8);
+        return MessageDigest.isEqual(token, presented);
+    }
+}
@@ -0,0 +1,57 @@
+package com.tennismatch.backend.configs;
+
+import com.tennismatch.backend.ratelimit.RateLimitPolicy;
+import com.tennismatch.backend.ratelimit.RateLimitPolicy.Algorithm;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/** Rate limit policies used by {@link com.tennismatch.backend.ratelimit.RateLimiterEngine}. */
+@Configuration
+public class RateLimitConfig {
+
+    public static final String GEOCODE = "geocode";
+    public static final String LOCATION_UPDATE = "location-update";
+    public static final String AUTH_REGISTER_EMAIL = "auth-register-email";
+    public static final String AUTH_REGISTER_IP = "auth-register-ip";
+    public static final String AUTH_RESEND_IP = "auth-resend-ip";
+    public static final String DECISION = "decision";
+
+    @Bean
+    RateLimitPolicy geocodeRateLimit(@Value("${app.ratelimit.geocode.limit:10}") int limit,
+                                     @Value("${app.ratelimit.geocode.window:PT1H}") Duration window) {
+        return new RateLimitPolicy(GEOCODE, Algorithm.SLIDING_LOG, limit, window);
+    }
+
+    // Calendar day (UTC), same reset as before.
+    @Bean
+    RateLimitPolicy locationUpdateRateLimit(@Value("${app.location.update.daily-limit:10}") int limit) {
+        return new RateLimitPolicy(LOCATION_UPDATE, Algorithm.FIXED_WINDOW, limit, Duration.ofDays(1));
+    }
+
+    @Bean
+    RateLimitPolicy authRegisterEmailRateLimit(@Value("${app.ratelimit.auth-register.email-limit:5}") int limit,
+                                               @Value("${app.ratelimit.auth-register.window:PT1H}") Duration window) {
+        return new RateLimitPolicy(AUTH_REGISTER_EMAIL, Algorithm.SLIDING_LOG, limit, window);
+    }
+
+    @Bean
+    RateLimitPolicy authRegisterIpRateLimit(@Value("${app.ratelimit.auth-register.ip-limit:30}") int limit,
+                                            @Value("${app.ratelimit.auth-register.window:PT1H}") Duration window) {
+        return new RateLimitPolicy(AUTH_REGISTER_IP, Algorithm.TOKEN_BUCKET, limit, window);
+    }
+
+    @Bean
+    RateLimitPolicy authResendIpRateLimit(@Value("${app.ratelimit.auth-resend.ip-limit:20}") int limit,
+                                          @Value("${app.ratelimit.auth-resend.window:PT1H}") Duration window) {
+        return new RateLimitPolicy(AUTH_RESEND_IP, Algorithm.TOKEN_BUCKET, limit, window);
+    }
+
+    @Bean
+    RateLimitPolicy decisionRateLimit(@Value("${app.ratelimit.decision.limit:120}") int limit,
+                                      @Value("${app.ratelimit.decision.window:PT1M}") Duration window) {
+        return new RateLimitPolicy(DECISION, Algorithm.TOKEN_BUCKET, limit, window);
+    }
+}
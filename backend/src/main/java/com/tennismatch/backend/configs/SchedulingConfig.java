@@ -0,0 +1,75 @@
+package com.tennismatch.backend.configs;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Dedicated scheduler for {@code @Scheduled} jobs. Without it Spring picks the WebSocket broker's
+ * {@code messageBrokerTaskScheduler} (the only TaskScheduler bean), so long maintenance/digest runs would
+ * delay STOMP heartbeats.
+ * <p>
+ * The pool has one thread per registered job ({@code app.scheduling.pool-size} is only a floor), so a long
+ * archive purge or digest run never holds back the 1 s expiry tick or the outbox poll.
+ */
+@Configuration
+public class SchedulingConfig implements SchedulingConfigurer, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SchedulingConfig.class);
+
+    @Value("${app.scheduling.pool-size:2}")
+    private int minPoolSize;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private TaskScheduler scheduler;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        scheduler = jobScheduler(jobCount(registrar));
+        registrar.setTaskScheduler(scheduler);
+    }
+
+    // Not a bean (a TaskScheduler bean would also be picked up by the broker), so stop it here.
+    @Override
+    public void destroy() {
+        if (scheduler instanceof ThreadPoolTaskScheduler pool) {
+            pool.shutdown();
+        } else if (scheduler instanceof SimpleAsyncTaskScheduler simple) {
+            simple.close();
+        }
+    }
+
+    // Called once all @Scheduled methods are registered, so the lists are complete here.
+    private static int jobCount(ScheduledTaskRegistrar registrar) {
+        return registrar.getTriggerTaskList().size()
+                + registrar.getCronTaskList().size()
+                + registrar.getFixedRateTaskList().size()
+                + registrar.getFixedDelayTaskList().size();
+    }
+
+    private TaskScheduler jobScheduler(int jobs) {
+        if (virtualThreads) {
+            SimpleAsyncTaskScheduler scheduler = new SimpleAsyncTaskScheduler();
+            scheduler.setVirtualThreads(true);
+            scheduler.setThreadNamePrefix("jobs-");
+            return scheduler;
+        }
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        int poolSize = Math.max(minPoolSize, jobs);
+        log.info("Job scheduler: jobs={} poolSize={}", jobs, poolSize);
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("jobs-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(false);
+        scheduler.initialize();
+        return scheduler;
+    }
+}
@@ -20,6 +20,7 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.access.AccessDeniedHandlerImpl;
 import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
 import org.springframework.security.web.context.SecurityContextHolderFilter;
 import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.security.web.csrf.*;
@@ -27,12 +28,14 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import com.tennismatch.backend.services.AccessTokenService;
 import com.tennismatch.backend.services.UserActivityService;
+import com.tennismatch.backend.utils.AccessCookieService;
+import com.tennismatch.backend.utils.AdminAccess;
 import com.tennismatch.backend.utils.AuthUserIdResolver;
 import com.tennismatch.backend.observability.RequestIdFilter;
 
@@ -40,9 +43,18 @@ import com.tennismatch.backend.observability.RequestIdFilter;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    // session: security context in the (Redis-backed) HTTP session; token: signed access tokens, no session
+    @Value("${app.auth.mode:session}")
+    private String authMode;
+
+    private boolean tokenMode() {
+        return "token".equalsIgnoreCase(authMode);
+    }
+
     @Bean
     SecurityContextRepository securityContextRepository() {
-        return new HttpSessionSecurityContextRepository();
+        // token mode: the context lives for one request and is rebuilt by AccessTokenFilter
+        return tokenMode() ? new RequestAttributeSecurityContextRepository() : new HttpSessionSecurityContextRepository();
     }
 
     @Bean
@@ -65,30 +77,39 @@ public class SecurityConfig {
                                  SecurityContextRepository ctxRepo,
                                  RequestIdFilter requestIdFilter,
                                  Optional<LastActiveFilter> lastActiveFilter,
-                                 CookieCsrfTokenRepository csrfRepo) throws Exception {
+                                 CookieCsrfTokenRepository csrfRepo,
+                                 AccessTokenService accessTokenService,
+                                 AccessCookieService accessCookieService,
+                                 MetricsScrapeAccess metricsScrapeAccess,
+                                 AdminAccess adminAccess) throws Exception {
 
         CsrfTokenRequestAttributeHandler handler = new CsrfTokenRequestAttributeHandler();
         handler.setCsrfRequestAttributeName("_csrf");
 
-        List<String> csrfIgnored = new ArrayList<>(List.of("/ws/**", "/websocket/**", "/auth/**"));
+        List<String> csrfIgnored = new ArrayList<>(List.of("/ws/**", "/websocket/**", "/auth/**", "/admin/**"));
 
         http
                 .cors(Customizer.withDefaults())
                 .csrf(csrf -> csrf
                         .csrfTokenRepository(csrfRepo)
                         .csrfTokenRequestHandler(handler)
-                        // allow websocket + auth endpoints without CSRF
+                        // allow websocket + auth + token-guarded admin endpoints without CSRF
                         .ignoringRequestMatchers(csrfIgnored.toArray(String[]::new))
                 )
                 .securityContext(sc -> sc.securityContextRepository(ctxRepo))
-                .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED))
+                .sessionManagement(sm -> sm.sessionCreationPolicy(
+                        tokenMode() ? SessionCreationPolicy.STATELESS : SessionCreationPolicy.IF_REQUIRED))
                 .authorizeHttpRequests(a -> {
                     a.requestMatchers(HttpMethod.OPTIONS, "/**").permitAll();
                     a.requestMatchers("/", "/error").permitAll();
                     a.requestMatchers("/csrf").permitAll();
                     a.requestMatchers("/actuator/health").permitAll();
+                    // scraper bearer token (app.metrics.token), not a user session
+                    a.requestMatchers("/actuator/prometheus").access(metricsScrapeAccess);
                     a.requestMatchers("/auth/**").permitAll();
                     a.requestMatchers("/ws", "/ws/**").permitAll();
+                    // operator token (X-Admin-Token), not a user session
+                    a.requestMatchers("/admin/**").access(adminAccess);
                     a.anyRequest().authenticated();
                 })
                 .httpBasic(AbstractHttpConfigurer::disable)
@@ -102,7 +123,13 @@ public class SecurityConfig {
                 );
 
         http.addFilterBefore(requestIdFilter, SecurityContextHolderFilter.class);
-        lastActiveFilter.ifPresent(filter -> http.addFilterAfter(filter, SecurityContextHolderFilter.class));
+        if (tokenMode()) {
+            // not a bean: it must only run inside the security chain
+            http.addFilterAfter(new AccessTokenFilter(accessTokenService, accessCookieService), SecurityContextHolderFilter.class);
+            lastActiveFilter.ifPresent(filter -> http.addFilterAfter(filter, AccessTokenFilter.class));
+        } else {
+            lastActiveFilter.ifPresent(filter -> http.addFilterAfter(filter, SecurityContextHolderFilter.class));
+        }
 
         return http.build();
     }
@@ -153,7 +180,7 @@ public class SecurityConfig {
     @Bean
     LastActiveFilter lastActiveFilter(UserActivityService userActivityService,
                                       AuthUserIdResolver authUserIdResolver) {
-        return new LastActiveFilter(authUserIdResolver, userActivityService, Duration.ofMinutes(15));
+        return new LastActiveFilter(authUserIdResolver, userActivityService);
     }
 
 }
@@ -1,6 +1,7 @@
 package com.tennismatch.backend.controllers;
 // api/AuthController.java
 
+import com.tennismatch.backend.configs.RateLimitConfig;
 import com.tennismatch.backend.domain.dto.requests.RegisterRequest;
 import com.tennismatch.backend.domain.dto.requests.ResendRequest;
 import com.tennismatch.backend.domain.dto.requests.VerifyRequest;
@@ -8,11 +9,15 @@ import com.tennismatch.backend.domain.dto.responses.MeProfileResponse;
 import com.tennismatch.backend.domain.dto.responses.NextStepResponse;
 import com.tennismatch.backend.domain.entries.OnboardingStatus;
 import com.tennismatch.backend.domain.entries.UserProfile;
+import com.tennismatch.backend.ratelimit.RateLimiterEngine;
 import com.tennismatch.backend.repositories.OnboardingStatusRepository;
 import com.tennismatch.backend.repositories.UserProfileRepository;
+import com.tennismatch.backend.services.AccessTokenService;
 import com.tennismatch.backend.services.AuthFlowService;
 import com.tennismatch.backend.services.ProfileReadService;
 import com.tennismatch.backend.services.RefreshTokenService;
+import com.tennismatch.backend.utils.AccessCookieService;
+import com.tennismatch.backend.utils.AuthenticatedUser;
 import com.tennismatch.backend.utils.RefreshCookieService;
 import jakarta.transaction.Transactional;
 import jakarta.servlet.http.HttpServletRequest;
@@ -40,6 +45,7 @@ import org.springframework.web.server.ResponseStatusException;
 import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
@@ -63,12 +69,18 @@ public class AuthController {
     private final RefreshCookieService refreshCookieService;
     private final ProfileReadService profileReadService;
     private final CsrfTokenRepository csrfTokenRepository;
+    private final RateLimiterEngine rateLimiter;
+    private final AccessTokenService accessTokenService;
+    private final AccessCookieService accessCookieService;
 
     @Value("${app.cookies.secure:false}")
     private boolean cookieSecure;
 
     @PostMapping("/register")
-    public NextStepResponse register(@RequestBody @Valid RegisterRequest req) {
+    public NextStepResponse register(@RequestBody @Valid RegisterRequest req, HttpServletRequest request) {
+        // Each call sends an email: limit per client and per target address.
+        rateLimiter.enforce(RateLimitConfig.AUTH_REGISTER_IP, request.getRemoteAddr(), "Too many sign-up attempts. Please try again later.");
+        rateLimiter.enforce(RateLimitConfig.AUTH_REGISTER_EMAIL, req.getEmail().trim().toLowerCase(Locale.ROOT), "Too many codes requested for this email. Please try again later.");
         return flows.start(req.getEmail()); // do not create a session here!
     }
 
@@ -96,11 +108,7 @@ public class AuthController {
             onboardingStatusRepository.save(status);
         }
 
-        var auth = new UsernamePasswordAuthenticationToken(
-                user.getEmail(), null, List.of(new SimpleGrantedAuthority("ROLE_USER"))
-        );
-
-        saveSession(auth, request, response);
+        saveSession(user, request, response);
         String refreshToken = refreshTokenService.issueToken(user.getId());
         refreshCookieService.setRefreshCookie(response, refreshToken);
 
@@ -112,8 +120,10 @@ public class AuthController {
     }
 
     @PostMapping("/resend")
-    public NextStepResponse resend(@RequestBody @Valid ResendRequest req) {
+    public NextStepResponse resend(@RequestBody @Valid ResendRequest req, HttpServletRequest request) {
         // Important: do NOT create a session here. This is a pre-auth phase.
+        // Per-flow cooldown lives in the flow; this caps a client cycling through flows.
+        rateLimiter.enforce(RateLimitConfig.AUTH_RESEND_IP, request.getRemoteAddr(), "Too many resend attempts. Please try again later.");
         return flows.resend(req.getFlowId());
     }
 
@@ -138,17 +148,13 @@ public class AuthController {
         UserProfile user = userRepo.findById(rotation.userId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"));
 
-        var auth = new UsernamePasswordAuthenticationToken(
-                user.getEmail(), null, List.of(new SimpleGrantedAuthority("ROLE_USER"))
-        );
-
-        saveSession(auth, request, response);
+        saveSession(user, request, response);
         refreshCookieService.setRefreshCookie(response, rotation.newToken());
         ensureCsrfCookie(request, response);
 
         return ResponseEntity.ok()
                 .cacheControl(CacheControl.noStore())
-                .body(profileReadService.readMe(user.getEmail()));
+                .body(profileReadService.readMe(user.getId()));
     }
 
     @PostMapping("/logout")
@@ -160,6 +166,11 @@ public class AuthController {
             refreshTokenService.revoke(token);
         }
 
+        if (accessTokenService.isEnabled()) {
+            accessTokenService.verify(accessCookieService.readToken(request)).ifPresent(accessTokenService::revoke);
+            accessCookieService.clearAccessCookie(response);
+        }
+
         var session = request.getSession(false);
         if (session != null) {
             session.invalidate();
@@ -189,9 +200,25 @@ public class AuthController {
 //        return ResponseEntity.noContent().build();
 //    }
 
-    private void saveSession(UsernamePasswordAuthenticationToken auth,
+    private void saveSession(UserProfile user,
                              HttpServletRequest request,
                              HttpServletResponse response) {
+        var auth = new UsernamePasswordAuthenticationToken(
+                user.getEmail(), null, List.of(new SimpleGrantedAuthority("ROLE_USER"))
+        );
+        // carried in the session so requests resolve the user id without an email lookup
+        auth.setDetails(new AuthenticatedUser(user.getId()));
+
+        if (accessTokenService.isEnabled()) {
+            // token mode: no session; the access token is the security context of later requests
+            accessCookieService.setAccessCookie(response,
+                    accessTokenService.issue(user.getId(), user.getEmail()), accessTokenService.getTtl());
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(auth);
+            SecurityContextHolder.setContext(context);
+            return;
+        }
+
         // Ensure a session exists and rotate the ID before saving the context (session fixation protection)
         request.getSession(true);
         request.changeSessionId();
@@ -1,10 +1,13 @@
 package com.tennismatch.backend.controllers;
 
+import com.tennismatch.backend.configs.RateLimitConfig;
 import com.tennismatch.backend.domain.dto.DeckCandidateDto;
 import com.tennismatch.backend.domain.dto.requests.PostDecisionRequest;
 import com.tennismatch.backend.domain.dto.responses.GetDeckResponse;
 import com.tennismatch.backend.domain.dto.responses.PostDecisionResponse;
 import com.tennismatch.backend.domain.entries.UserProfile;
+import com.tennismatch.backend.observability.ProfilingEvents;
+import com.tennismatch.backend.ratelimit.RateLimiterEngine;
 import com.tennismatch.backend.services.DecisionService;
 import com.tennismatch.backend.services.DecisionOutcome;
 import com.tennismatch.backend.services.DeckCandidateFilter;
@@ -43,6 +46,7 @@ public class DeckController {
     private final DeckCandidateFilter deckCandidateFilter;
     private final PhotoRepository photoRepo;
     private final UserProfileRepository userProfileRepository;
+    private final RateLimiterEngine rateLimiter;
     private final AuthUserIdResolver idResolver;
 
     private static final int DEFAULT_SIZE = 20;
@@ -53,10 +57,16 @@ public class DeckController {
     public ResponseEntity<GetDeckResponse> getDeck(Authentication auth) {
         if (auth == null) return ResponseEntity.status(401).build();
         Long actorId = idResolver.resolveUserId(auth);
+        ProfilingEvents.DeckComputed event = new ProfilingEvents.DeckComputed();
+        event.begin();
 
+        long t0 = System.nanoTime();
         List<DeckCandidateDto> candidates = deckService.getDeck(actorId, DEFAULT_SIZE);
+        long t1 = System.nanoTime();
         DeckCandidateFilter.DeckFilterResult filtered = deckCandidateFilter.filter(actorId, candidates);
         List<DeckCandidateDto> filteredCandidates = filtered.candidates();
+        event.queryNanos = t1 - t0;
+        event.filterNanos = System.nanoTime() - t1;
 
         List<Long> candidateIds = filteredCandidates.stream()
                 .map(DeckCandidateDto::getUserId)
@@ -104,6 +114,10 @@ public class DeckController {
         }
 
         String token = deckSessionService.create(actorId, cardToUser, Instant.now().plus(DECK_TTL));
+        event.actorId = actorId;
+        event.candidates = candidates.size();
+        event.cards = cards.size();
+        event.commit();
 
         return ResponseEntity.ok(GetDeckResponse.builder()
                 .deckToken(token)
@@ -120,6 +134,7 @@ public class DeckController {
     ) {
         if (auth == null) return ResponseEntity.status(401).build();
         Long actorId = idResolver.resolveUserId(auth);   // <— fix
+        rateLimiter.enforce(RateLimitConfig.DECISION, actorId.toString(), "Too many decisions. Please slow down.");
 
         var session = deckSessionService.get(req.getDeckToken())
                 .orElseThrow(() -> ApiErrors.gone("Deck token expired or not found"));
@@ -0,0 +1,40 @@
+package com.tennismatch.backend.controllers;
+
+import com.tennismatch.backend.geo.ReverseGeocoder;
+import com.tennismatch.backend.utils.ApiErrors;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.Map;
+
+/** Operator endpoint for replacing the reverse-geocoding gazetteer without a redeploy. */
+@RestController
+@RequestMapping("/admin/gazetteer")
+@RequiredArgsConstructor
+public class GazetteerAdminController {
+
+    private final ReverseGeocoder reverseGeocoder;
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> status() {
+        return Map.of("ready", reverseGeocoder.isReady());
+    }
+
+    /** Body: raw GeoNames dump (cities*.txt or the .zip as downloaded), e.g. {@code curl --data-binary @cities15000.zip}. */
+    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> upload(HttpServletRequest request) {
+        try {
+            int places = reverseGeocoder.install(request.getInputStream());
+            return ResponseEntity.ok(Map.of("places", places));
+        } catch (IOException e) {
+            throw ApiErrors.badRequest("Invalid gazetteer: " + e.getMessage());
+        }
+    }
+}
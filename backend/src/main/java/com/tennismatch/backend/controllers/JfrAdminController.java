@@ -0,0 +1,68 @@
+package com.tennismatch.backend.controllers;
+
+import com.tennismatch.backend.observability.JfrRecordingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Operator endpoint for in-process Flight Recorder recordings, e.g.
+ * {@code POST /admin/jfr/start?settings=profile&duration=PT10M}, then {@code POST /admin/jfr/stop} and
+ * {@code GET /admin/jfr/files/{name}} to download the dump for JDK Mission Control.
+ */
+@RestController
+@RequestMapping("/admin/jfr")
+@RequiredArgsConstructor
+public class JfrAdminController {
+
+    private final JfrRecordingService jfr;
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public JfrRecordingService.Status status() {
+        return jfr.status();
+    }
+
+    @PostMapping(value = "/start", produces = MediaType.APPLICATION_JSON_VALUE)
+    public JfrRecordingService.Status start(@RequestParam(defaultValue = "default") String settings,
+                                            @RequestParam(required = false) Duration duration) {
+        return jfr.start(settings, duration);
+    }
+
+    @PostMapping(value = "/dump", produces = MediaType.APPLICATION_JSON_VALUE)
+    public JfrRecordingService.DumpFile dump() {
+        return jfr.dump();
+    }
+
+    @PostMapping(value = "/stop", produces = MediaType.APPLICATION_JSON_VALUE)
+    public JfrRecordingService.DumpFile stop() {
+        return jfr.stop();
+    }
+
+    @GetMapping(value = "/files", produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<JfrRecordingService.DumpFile> files() {
+        return jfr.files();
+    }
+
+    @GetMapping("/files/{name}")
+    public ResponseEntity<Resource> download(@PathVariable String name) {
+        Path file = jfr.file(name);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(name).build().toString())
+                .body(new FileSystemResource(file));
+    }
+}
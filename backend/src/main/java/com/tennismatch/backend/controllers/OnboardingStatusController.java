@@ -3,6 +3,7 @@ package com.tennismatch.backend.controllers;
 import com.tennismatch.backend.domain.dto.requests.OnboardingStepCompleteRequest;
 import com.tennismatch.backend.domain.dto.responses.OnboardingStatusResponse;
 import com.tennismatch.backend.services.OnboardingStatusService;
+import com.tennismatch.backend.utils.AuthUserIdResolver;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,17 +19,18 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class OnboardingStatusController {
     private final OnboardingStatusService onboardingStatusService;
+    private final AuthUserIdResolver idResolver;
 
     @GetMapping("/onboarding-status")
     public ResponseEntity<OnboardingStatusResponse> getStatus(Authentication auth) {
         if (auth == null) return ResponseEntity.status(401).build();
-        return ResponseEntity.ok(onboardingStatusService.getStatusForUser(auth.getName()));
+        return ResponseEntity.ok(onboardingStatusService.getStatusForUser(idResolver.resolveUserId(auth)));
     }
 
     @PostMapping("/onboarding-status/reset")
     public ResponseEntity<Void> reset(Authentication auth) {
         if (auth == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        onboardingStatusService.resetForUser(auth.getName());
+        onboardingStatusService.resetForUser(idResolver.resolveUserId(auth));
         return ResponseEntity.noContent().build();
     }
 
@@ -36,7 +38,7 @@ public class OnboardingStatusController {
     public ResponseEntity<Void> markComplete(@RequestBody OnboardingStepCompleteRequest req,
                                              Authentication auth) {
         if (auth == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        onboardingStatusService.markStepCompleted(auth.getName(), req.getStep());
+        onboardingStatusService.markStepCompleted(idResolver.resolveUserId(auth), req.getStep());
         return ResponseEntity.noContent().build();
     }
 }
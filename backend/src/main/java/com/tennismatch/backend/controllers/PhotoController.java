@@ -2,6 +2,7 @@ package com.tennismatch.backend.controllers;
 
 import com.tennismatch.backend.domain.dto.PhotoDto;
 import com.tennismatch.backend.services.PhotoService;
+import com.tennismatch.backend.utils.AuthUserIdResolver;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +18,7 @@ import java.util.NoSuchElementException;
 public class PhotoController {
 
     private final PhotoService photoService;
+    private final AuthUserIdResolver idResolver;
 
     /** Upload or replace photo (multipart/form-data) */
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -24,7 +26,7 @@ public class PhotoController {
                                                     Authentication auth) {
         if (auth == null) return ResponseEntity.status(401).build();
         try {
-            return ResponseEntity.ok(photoService.uploadOrReplace(auth.getName(), file));
+            return ResponseEntity.ok(photoService.uploadOrReplace(idResolver.resolveUserId(auth), file));
         } catch (NoSuchElementException e) {
             return ResponseEntity.status(404).build();
         }
@@ -34,7 +36,7 @@ public class PhotoController {
     @GetMapping
     public ResponseEntity<PhotoDto> get(Authentication auth) {
         if (auth == null) return ResponseEntity.status(401).build();
-        return photoService.getUserPhoto(auth.getName())
+        return photoService.getUserPhoto(idResolver.resolveUserId(auth))
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.noContent().build());
     }
@@ -43,7 +45,7 @@ public class PhotoController {
     @DeleteMapping
     public ResponseEntity<Void> delete(Authentication auth) {
         if (auth == null) return ResponseEntity.status(401).build();
-        photoService.deleteUserPhoto(auth.getName());
+        photoService.deleteUserPhoto(idResolver.resolveUserId(auth));
         return ResponseEntity.noContent().build();
     }
 }
@@ -2,6 +2,7 @@ package com.tennismatch.backend.controllers;
 
 import com.tennismatch.backend.domain.dto.PreferenceDto;
 import com.tennismatch.backend.services.PreferenceService;
+import com.tennismatch.backend.utils.AuthUserIdResolver;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.MediaType;
@@ -16,13 +17,14 @@ import java.util.NoSuchElementException;
 public class PreferenceController {
 
     private final PreferenceService prefService;
+    private final AuthUserIdResolver idResolver;
 
     /** GET: return current user preferences or 204 */
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> get(Authentication auth) {
         if (auth == null) return ResponseEntity.status(401).build();
         try {
-            var dto = prefService.getForUser(auth.getName());
+            var dto = prefService.getForUser(idResolver.resolveUserId(auth));
             return (dto == null) ? ResponseEntity.noContent().build() : ResponseEntity.ok(dto);
         } catch (NoSuchElementException e) {
             return ResponseEntity.status(404).build();
@@ -34,7 +36,7 @@ public class PreferenceController {
     public ResponseEntity<?> patch(@RequestBody PreferenceDto patch, Authentication auth) {
         if (auth == null) return ResponseEntity.status(401).build();
         try {
-            var updated = prefService.upsertPatch(auth.getName(), patch);
+            var updated = prefService.upsertPatch(idResolver.resolveUserId(auth), patch);
             return ResponseEntity.ok(updated); // frontend can handle 204 or 200 — 200 is more convenient
         } catch (IllegalArgumentException iae) {
             return ResponseEntity.badRequest().body(iae.getMessage());
@@ -47,7 +49,7 @@ public class PreferenceController {
     @DeleteMapping
     public ResponseEntity<Void> delete(Authentication auth) {
         if (auth == null) return ResponseEntity.status(401).build();
-        prefService.deleteForUser(auth.getName());
+        prefService.deleteForUser(idResolver.resolveUserId(auth));
         return ResponseEntity.noContent().build();
     }
 }
@@ -5,6 +5,7 @@ import com.tennismatch.backend.domain.dto.responses.MeProfileResponse;
 import com.tennismatch.backend.domain.dto.responses.ProfileResponse;
 import com.tennismatch.backend.services.ProfileCompletionService;
 import com.tennismatch.backend.services.ProfileReadService;
+import com.tennismatch.backend.utils.AuthUserIdResolver;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.CacheControl;
@@ -21,12 +22,13 @@ import org.springframework.web.server.ResponseStatusException;
 public class ProfileController {
     private final ProfileCompletionService service;
     private final ProfileReadService readService;
+    private final AuthUserIdResolver idResolver;
 
     /** Read current profile (prefill/edit) */
     @GetMapping
     public ProfileResponse getProfile(Authentication auth) {
         if (auth == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
-        return service.getProfile(auth.getName());
+        return service.getProfile(idResolver.resolveUserId(auth));
     }
 
     /** Partial update: send any subset of fields */
@@ -34,15 +36,16 @@ public class ProfileController {
     public ResponseEntity<MeProfileResponse> patchProfile(@Valid @RequestBody ProfilePatchRequest req,
                                              Authentication auth) {
         if (auth == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
-        service.patchProfile(auth.getName(), req); // applies only non-null fields
+        Long me = idResolver.resolveUserId(auth);
+        service.patchProfile(me, req); // applies only non-null fields
         // Return updated profile data
-        MeProfileResponse updatedProfile = readService.readMe(auth.getName());
+        MeProfileResponse updatedProfile = readService.readMe(me);
         return ResponseEntity.ok(updatedProfile);
     }
 
     @GetMapping("/me")
     public ResponseEntity<MeProfileResponse> getMe(Authentication auth) {
         if (auth == null) return ResponseEntity.status(401).build();
-        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(readService.readMe(auth.getName()));
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(readService.readMe(idResolver.resolveUserId(auth)));
     }
 }
\ No newline at end of file
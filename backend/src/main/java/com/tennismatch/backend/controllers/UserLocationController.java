@@ -1,13 +1,15 @@
 package com.tennismatch.backend.controllers;
 
+import com.tennismatch.backend.configs.RateLimitConfig;
 import com.tennismatch.backend.domain.dto.location.GeocodeRequest;
 import com.tennismatch.backend.domain.dto.location.GeocodeResponse;
 import com.tennismatch.backend.domain.dto.location.LocationDto;
 import com.tennismatch.backend.domain.dto.location.LocationPatchDto;
-import com.tennismatch.backend.services.GeocodeRateLimiter;
+import com.tennismatch.backend.ratelimit.RateLimiterEngine;
 import com.tennismatch.backend.services.LocationUpdateLimitExceededException;
 import com.tennismatch.backend.services.MapboxGeocodingService;
 import com.tennismatch.backend.services.UserLocationService;
+import com.tennismatch.backend.utils.AuthUserIdResolver;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +17,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.NoSuchElementException;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/profile/user-location")
@@ -23,14 +26,15 @@ public class UserLocationController {
 
     private final UserLocationService locationService;
     private final MapboxGeocodingService geocodingService;
-    private final GeocodeRateLimiter geocodeRateLimiter;
+    private final RateLimiterEngine rateLimiter;
+    private final AuthUserIdResolver idResolver;
 
     /** GET: return current user location or 204 */
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> get(Authentication auth) {
         if (auth == null) return ResponseEntity.status(401).build();
         try {
-            LocationDto dto = locationService.getForUser(auth.getName());
+            LocationDto dto = locationService.getForUser(idResolver.resolveUserId(auth));
             return (dto == null) ? ResponseEntity.noContent().build() : ResponseEntity.ok(dto);
         } catch (NoSuchElementException e) {
             return ResponseEntity.status(404).build();
@@ -42,7 +46,7 @@ public class UserLocationController {
     public ResponseEntity<?> patch(@RequestBody LocationPatchDto patch, Authentication auth) {
         if (auth == null) return ResponseEntity.status(401).build();
         try {
-            LocationDto updated = locationService.upsertPatch(auth.getName(), patch);
+            LocationDto updated = locationService.upsertPatch(idResolver.resolveUserId(auth), patch);
             return ResponseEntity.ok(updated);
         } catch (LocationUpdateLimitExceededException limited) {
             return ResponseEntity.status(429).body(limited.getMessage());
@@ -57,7 +61,7 @@ public class UserLocationController {
     @DeleteMapping
     public ResponseEntity<Void> delete(Authentication auth) {
         if (auth == null) return ResponseEntity.status(401).build();
-        locationService.deleteForUser(auth.getName());
+        locationService.deleteForUser(idResolver.resolveUserId(auth));
         return ResponseEntity.noContent().build();
     }
 
@@ -65,7 +69,7 @@ public class UserLocationController {
     public ResponseEntity<?> create(@RequestBody LocationPatchDto body, Authentication auth) {
         if (auth == null) return ResponseEntity.status(401).build();
         try {
-            var dto = locationService.upsertPatch(auth.getName(), body);
+            var dto = locationService.upsertPatch(idResolver.resolveUserId(auth), body);
             return ResponseEntity.status(201).body(dto); // 201 Created
         } catch (LocationUpdateLimitExceededException limited) {
             return ResponseEntity.status(429).body(limited.getMessage());
@@ -82,20 +86,30 @@ public class UserLocationController {
         String query = (body == null || body.query() == null) ? "" : body.query().trim();
         if (query.isEmpty()) return ResponseEntity.badRequest().body("query is required");
 
-        if (!geocodeRateLimiter.allow(auth.getName())) {
+        // Cache hits cost Mapbox nothing, so they do not count against the limit.
+        var cached = geocodingService.cached(query);
+        if (cached.isPresent()) {
+            return geocodeResponse(Optional.ofNullable(cached.get().result()));
+        }
+
+        if (!rateLimiter.check(RateLimitConfig.GEOCODE, auth.getName()).allowed()) {
             return ResponseEntity.status(429).body("Too many geocode attempts. Please try again later.");
         }
 
         try {
-            return geocodingService.geocode(query)
-                    .<ResponseEntity<?>>map(r -> ResponseEntity.ok(new GeocodeResponse(
-                            r.latitude(), r.longitude(), r.placeName()
-                    )))
-                    .orElseGet(() -> ResponseEntity.status(404).body("No results"));
+            return geocodeResponse(geocodingService.geocode(query));
         } catch (IllegalStateException ise) {
             return ResponseEntity.status(503).body("Geocoding unavailable");
         } catch (Exception e) {
             return ResponseEntity.status(502).body("Geocoding failed");
         }
     }
+
+    private static ResponseEntity<?> geocodeResponse(Optional<MapboxGeocodingService.GeoResult> result) {
+        return result
+                .<ResponseEntity<?>>map(r -> ResponseEntity.ok(new GeocodeResponse(
+                        r.latitude(), r.longitude(), r.placeName()
+                )))
+                .orElseGet(() -> ResponseEntity.status(404).body("No results"));
+    }
 }
@@ -0,0 +1,8 @@
+package com.tennismatch.backend.domain.enums;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    DEAD
+}
@@ -0,0 +1,191 @@
+package com.tennismatch.backend.geo;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Immutable nearest-place index over a gazetteer.
+ * <p>
+ * Places are stored as unit vectors on the sphere in one flat {@code float[]} (x, y, z per place) laid out as an
+ * implicit, median-split k-d tree: the node of a range {@code [lo, hi)} is its middle element, the left subtree is
+ * {@code [lo, mid)} and the right one {@code [mid + 1, hi)}. Euclidean (chord) distance between unit vectors is
+ * monotonic in great-circle distance, so plain 3-d k-d pruning is exact and has no antimeridian or pole cases.
+ */
+public final class GazetteerIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    public record Place(String name, String countryCode, double latitude, double longitude, long population) {
+        public String label() {
+            return countryCode == null || countryCode.isEmpty() ? name : name + ", " + countryCode;
+        }
+    }
+
+    public record Match(Place place, double distanceKm) {}
+
+    private final float[] xyz;
+    private final Place[] places;
+
+    private GazetteerIndex(float[] xyz, Place[] places) {
+        this.xyz = xyz;
+        this.places = places;
+    }
+
+    public int size() {
+        return places.length;
+    }
+
+    /** Nearest place to the point, or null if the index is empty. */
+    public Match nearest(double lat, double lon) {
+        if (places.length == 0) return null;
+        double phi = Math.toRadians(lat), lambda = Math.toRadians(lon);
+        double cosPhi = Math.cos(phi);
+        double[] q = {cosPhi * Math.cos(lambda), cosPhi * Math.sin(lambda), Math.sin(phi)};
+
+        Search s = new Search();
+        search(q, 0, places.length, 0, s);
+        // chord length -> central angle -> km
+        double chord = Math.sqrt(s.bestDist2);
+        double km = 2 * Math.asin(Math.min(1.0, chord / 2)) * EARTH_RADIUS_KM;
+        return new Match(places[s.best], km);
+    }
+
+    private void search(double[] q, int lo, int hi, int depth, Search s) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int axis = depth % 3;
+            double dx = q[0] - xyz[mid * 3], dy = q[1] - xyz[mid * 3 + 1], dz = q[2] - xyz[mid * 3 + 2];
+            double d2 = dx * dx + dy * dy + dz * dz;
+            if (d2 < s.bestDist2) {
+                s.bestDist2 = d2;
+                s.best = mid;
+            }
+            double diff = q[axis] - xyz[mid * 3 + axis];
+            int nearLo = diff < 0 ? lo : mid + 1, nearHi = diff < 0 ? mid : hi;
+            int farLo = diff < 0 ? mid + 1 : lo, farHi = diff < 0 ? hi : mid;
+            search(q, nearLo, nearHi, depth + 1, s);
+            if (diff * diff >= s.bestDist2) return;
+            // tail-iterate into the far side
+            lo = farLo;
+            hi = farHi;
+            depth++;
+        }
+    }
+
+    private static final class Search {
+        int best = -1;
+        double bestDist2 = Double.POSITIVE_INFINITY;
+    }
+
+    // ---------------------------------------------------------------- building
+
+    public static GazetteerIndex build(Place[] input) {
+        int n = input.length;
+        Place[] places = input.clone();
+        float[] xyz = new float[n * 3];
+        for (int i = 0; i < n; i++) {
+            double phi = Math.toRadians(places[i].latitude()), lambda = Math.toRadians(places[i].longitude());
+            double cosPhi = Math.cos(phi);
+            xyz[i * 3] = (float) (cosPhi * Math.cos(lambda));
+            xyz[i * 3 + 1] = (float) (cosPhi * Math.sin(lambda));
+            xyz[i * 3 + 2] = (float) Math.sin(phi);
+        }
+        arrange(xyz, places, 0, n, 0);
+        return new GazetteerIndex(xyz, places);
+    }
+
+    /** Puts the median (by the depth's axis) of {@code [lo, hi)} at the middle, then recurses into both halves. */
+    private static void arrange(float[] xyz, Place[] places, int lo, int hi, int depth) {
+        while (hi - lo > 1) {
+            int mid = (lo + hi) >>> 1;
+            int axis = depth % 3;
+            select(xyz, places, lo, hi - 1, mid, axis);
+            arrange(xyz, places, lo, mid, depth + 1);
+            lo = mid + 1;
+            depth++;
+        }
+    }
+
+    /** Hoare quickselect on one coordinate; afterwards element {@code k} is in its sorted position. */
+    private static void select(float[] xyz, Place[] places, int left, int right, int k, int axis) {
+        while (right > left) {
+            float pivot = xyz[((left + right) >>> 1) * 3 + axis];
+            int i = left, j = right;
+            while (i <= j) {
+                while (xyz[i * 3 + axis] < pivot) i++;
+                while (xyz[j * 3 + axis] > pivot) j--;
+                if (i <= j) swap(xyz, places, i++, j--);
+            }
+            if (k <= j) right = j;
+            else if (k >= i) left = i;
+            else return;
+        }
+    }
+
+    private static void swap(float[] xyz, Place[] places, int a, int b) {
+        for (int c = 0; c < 3; c++) {
+            float t = xyz[a * 3 + c];
+            xyz[a * 3 + c] = xyz[b * 3 + c];
+            xyz[b * 3 + c] = t;
+        }
+        Place p = places[a];
+        places[a] = places[b];
+        places[b] = p;
+    }
+
+    // ---------------------------------------------------------------- loading
+
+    /**
+     * Loads a GeoNames {@code cities*.txt} dump (tab-separated: 1 name, 4 latitude, 5 longitude, 8 country code,
+     * 14 population). The file is memory-mapped and scanned once; malformed lines and places below
+     * {@code minPopulation} are skipped.
+     */
+    public static GazetteerIndex loadGeoNames(Path file, long minPopulation) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size > Integer.MAX_VALUE) throw new IOException("Gazetteer file too large: " + size + " bytes");
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            Place[] out = new Place[Math.max(16, (int) (size / 200))];
+            int n = 0;
+            byte[] line = new byte[1024];
+            int pos = 0, limit = (int) size;
+            while (pos < limit) {
+                int end = pos;
+                while (end < limit && buf.get(end) != '\n') end++;
+                int len = end - pos;
+                if (len > line.length) line = new byte[len];
+                buf.get(pos, line, 0, len);
+                pos = end + 1;
+
+                Place p = parseGeoNamesLine(new String(line, 0, len, StandardCharsets.UTF_8), minPopulation);
+                if (p == null) continue;
+                if (n == out.length) out = Arrays.copyOf(out, n * 2);
+                out[n++] = p;
+            }
+            return build(Arrays.copyOf(out, n));
+        }
+    }
+
+    static Place parseGeoNamesLine(String line, long minPopulation) {
+        if (line.isEmpty() || line.charAt(0) == '#') return null;
+        String[] f = line.split("\t", -1);
+        if (f.length < 15) return null;
+        try {
+            String name = f[1].trim();
+            double lat = Double.parseDouble(f[4]);
+            double lon = Double.parseDouble(f[5]);
+            long population = f[14].isEmpty() ? 0 : Long.parseLong(f[14]);
+            if (name.isEmpty() || population < minPopulation) return null;
+            if (lat < -90 || lat > 90 || lon < -180 || lon > 180) return null;
+            return new Place(name, f[8].trim(), lat, lon, population);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.tennismatch.backend.geo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * In-process reverse geocoding ("which town is this point in?") over a GeoNames gazetteer.
+ * <p>
+ * The index is loaded in the background once the app is ready from {@code app.gazetteer.path} and can be replaced
+ * at runtime via {@link #install(InputStream)} (admin upload). Lookups never block: until an index is available,
+ * or when the nearest place is farther than {@code app.gazetteer.max-distance-km}, they return empty.
+ */
+@Component
+public class ReverseGeocoder {
+
+    private static final Logger log = LoggerFactory.getLogger(ReverseGeocoder.class);
+
+    private final Path path;
+    private final long minPopulation;
+    private final double maxDistanceKm;
+    private final Counter hits;
+    private final Counter misses;
+    private final ReentrantLock installLock = new ReentrantLock();
+
+    private volatile GazetteerIndex index;
+
+    public ReverseGeocoder(MeterRegistry meterRegistry,
+                           @Value("${app.gazetteer.path:}") String path,
+                           @Value("${app.gazetteer.min-population:0}") long minPopulation,
+                           @Value("${app.gazetteer.max-distance-km:50}") double maxDistanceKm) {
+        this.path = path == null || path.isBlank() ? null : Path.of(path.trim());
+        this.minPopulation = minPopulation;
+        this.maxDistanceKm = maxDistanceKm;
+        this.hits = meterRegistry.counter("gazetteer.lookups", "result", "hit");
+        this.misses = meterRegistry.counter("gazetteer.lookups", "result", "miss");
+        meterRegistry.gauge("gazetteer.places", this, g -> g.index == null ? 0 : g.index.size());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (path == null) {
+            log.info("Gazetteer disabled (app.gazetteer.path is empty)");
+            return;
+        }
+        if (!Files.isReadable(path)) {
+            log.warn("Gazetteer file not found at {}; reverse geocoding stays off until one is uploaded", path);
+            return;
+        }
+        Thread.ofPlatform().name("gazetteer-load").daemon(true).start(() -> {
+            try {
+                load(path);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Gazetteer load failed: path={} message={}", path, e.getMessage());
+            }
+        });
+    }
+
+    public boolean isReady() {
+        return index != null;
+    }
+
+    /** Label ("Name, CC") of the nearest known place within the configured distance. */
+    public Optional<String> placeName(double lat, double lon) {
+        GazetteerIndex current = index;
+        GazetteerIndex.Match match = current == null ? null : current.nearest(lat, lon);
+        if (match == null || match.distanceKm() > maxDistanceKm) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(match.place().label());
+    }
+
+    /**
+     * Replaces the index with an uploaded GeoNames dump ({@code .txt} or a {@code .zip} with one). The new file is
+     * parsed before anything is swapped, so a broken upload leaves the current index in place. When
+     * {@code app.gazetteer.path} is set the file is kept there for the next restart.
+     *
+     * @return number of indexed places
+     */
+    public int install(InputStream upload) throws IOException {
+        installLock.lock();
+        try {
+            Path tmp = Files.createTempFile("gazetteer-", ".txt");
+            try {
+                copyUnzipped(upload, tmp);
+                int size = load(tmp);
+                if (path != null) {
+                    if (path.getParent() != null) Files.createDirectories(path.getParent());
+                    Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+                }
+                return size;
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } finally {
+            installLock.unlock();
+        }
+    }
+
+    private int load(Path file) throws IOException {
+        long start = System.nanoTime();
+        GazetteerIndex loaded = GazetteerIndex.loadGeoNames(file, minPopulation);
+        if (loaded.size() == 0) throw new IOException("Gazetteer contains no usable places");
+        index = loaded;
+        log.info("Gazetteer loaded: places={} durationMs={}", loaded.size(), (System.nanoTime() - start) / 1_000_000);
+        return loaded.size();
+    }
+
+    private static void copyUnzipped(InputStream in, Path target) throws IOException {
+        InputStream buffered = in.markSupported() ? in : new BufferedInputStream(in);
+        buffered.mark(4);
+        byte[] magic = buffered.readNBytes(4);
+        buffered.reset();
+        boolean zip = magic.length == 4 && magic[0] == 'P' && magic[1] == 'K' && magic[2] == 3 && magic[3] == 4;
+        try (OutputStream out = Files.newOutputStream(target)) {
+            if (!zip) {
+                buffered.transferTo(out);
+                return;
+            }
+            ZipInputStream zin = new ZipInputStream(buffered);
+            for (ZipEntry e = zin.getNextEntry(); e != null; e = zin.getNextEntry()) {
+                if (!e.isDirectory() && e.getName().endsWith(".txt")) {
+                    zin.transferTo(out);
+                    return;
+                }
+            }
+            throw new IOException("Zip upload contains no .txt gazetteer");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.tennismatch.backend.observability;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emits {@link ProfilingEvents.CacheLoad} around {@code @Cacheable} method bodies. Ordered last, so it sits inside
+ * the cache interceptor and only sees invocations that actually load (a miss, or the cache being unavailable).
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class CacheLoadEventAspect {
+
+    @Around("@annotation(cacheable)")
+    public Object load(ProceedingJoinPoint pjp, Cacheable cacheable) throws Throwable {
+        ProfilingEvents.CacheLoad event = new ProfilingEvents.CacheLoad();
+        if (!event.isEnabled()) return pjp.proceed();
+        event.begin();
+        try {
+            return pjp.proceed();
+        } finally {
+            String[] names = cacheable.cacheNames().length > 0 ? cacheable.cacheNames() : cacheable.value();
+            event.cache = String.join(",", names);
+            event.method = pjp.getSignature().getDeclaringType().getSimpleName() + "." + pjp.getSignature().getName();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.tennismatch.backend.observability;
+
+import com.tennismatch.backend.utils.ApiErrors;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * One in-process Flight Recorder recording at a time, driven from {@code /admin/jfr}: no agent, no JMX port.
+ * The recording streams to disk in chunks bounded by {@code app.jfr.max-size} / {@code max-age}, so it does not grow
+ * the heap; dumps go to {@code app.jfr.dump-dir} and only the newest {@code app.jfr.keep-files} are kept.
+ */
+@Service
+public class JfrRecordingService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(JfrRecordingService.class);
+    private static final String NAME = "tennis-match";
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9._-]+\\.jfr");
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    public record Status(String state, Instant startedAt, Duration duration, String settings, long sizeBytes) {}
+
+    public record DumpFile(String name, long sizeBytes, Instant modifiedAt) {}
+
+    private final Clock clock;
+    private final Path dumpDir;
+    private final DataSize maxSize;
+    private final Duration maxAge;
+    private final int keepFiles;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Recording recording;
+    private String settings;
+
+    public JfrRecordingService(Clock clock,
+                               @Value("${app.jfr.dump-dir:${java.io.tmpdir}/jfr}") Path dumpDir,
+                               @Value("${app.jfr.max-size:64MB}") DataSize maxSize,
+                               @Value("${app.jfr.max-age:PT30M}") Duration maxAge,
+                               @Value("${app.jfr.keep-files:5}") int keepFiles) {
+        this.clock = clock;
+        this.dumpDir = dumpDir.toAbsolutePath().normalize();
+        this.maxSize = maxSize;
+        this.maxAge = maxAge;
+        this.keepFiles = Math.max(1, keepFiles);
+    }
+
+    public Status status() {
+        lock.lock();
+        try {
+            if (recording == null) return new Status("NONE", null, null, null, 0);
+            return new Status(recording.getState().name(), recording.getStartTime(), recording.getDuration(),
+                    settings, recording.getSize());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** {@code settings}: a JDK configuration ({@code default} ~1% overhead, {@code profile} ~2%). */
+    public Status start(String settingsName, Duration duration) {
+        lock.lock();
+        try {
+            if (recording != null && recording.getState() == RecordingState.RUNNING) {
+                throw ApiErrors.conflict("A recording is already running; stop it first");
+            }
+            closeQuietly();
+            Configuration configuration;
+            try {
+                configuration = Configuration.getConfiguration(settingsName);
+            } catch (IOException | ParseException e) {
+                throw ApiErrors.badRequest("Unknown JFR settings: " + settingsName);
+            }
+            Recording r = new Recording(configuration);
+            r.setName(NAME);
+            r.setToDisk(true);
+            r.setMaxSize(maxSize.toBytes());
+            r.setMaxAge(maxAge);
+            if (duration != null) r.setDuration(duration);
+            r.enable(ProfilingEvents.DeckComputed.class);
+            r.enable(ProfilingEvents.DecisionApplied.class);
+            r.enable(ProfilingEvents.ChatMessageSent.class);
+            r.enable(ProfilingEvents.CacheLoad.class);
+            r.enable(ProfilingEvents.DigestBatch.class);
+            r.start();
+            recording = r;
+            settings = settingsName;
+            log.info("JFR recording started: settings={} duration={} maxSize={} maxAge={}", settingsName, duration, maxSize, maxAge);
+            return status();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Writes what has been recorded so far; the recording keeps running. */
+    public DumpFile dump() {
+        lock.lock();
+        try {
+            if (recording == null) throw ApiErrors.notFound("No recording");
+            return writeDump();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Stops the recording (if still running), writes it out and releases its disk chunks. */
+    public DumpFile stop() {
+        lock.lock();
+        try {
+            if (recording == null) throw ApiErrors.notFound("No recording");
+            if (recording.getState() == RecordingState.RUNNING) recording.stop();
+            try {
+                return writeDump();
+            } finally {
+                closeQuietly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<DumpFile> files() {
+        if (!Files.isDirectory(dumpDir)) return List.of();
+        try (Stream<Path> s = Files.list(dumpDir)) {
+            return s.filter(p -> FILE_NAME.matcher(p.getFileName().toString()).matches())
+                    .map(JfrRecordingService::describe)
+                    .sorted(Comparator.comparing(DumpFile::modifiedAt).reversed())
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** A dump by name; names are matched against the listing pattern, so no path can escape the dump directory. */
+    public Path file(String name) {
+        if (name == null || !FILE_NAME.matcher(name).matches()) throw ApiErrors.badRequest("Invalid file name");
+        Path p = dumpDir.resolve(name);
+        if (!Files.isRegularFile(p)) throw ApiErrors.notFound("No such dump");
+        return p;
+    }
+
+    @Override
+    public void destroy() {
+        lock.lock();
+        try {
+            closeQuietly();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private DumpFile writeDump() {
+        try {
+            Files.createDirectories(dumpDir);
+            Path target = dumpDir.resolve(NAME + "-" + STAMP.format(Instant.now(clock)) + ".jfr");
+            recording.dump(target);
+            log.info("JFR recording dumped: {} ({} bytes)", target, Files.size(target));
+            prune();
+            return describe(target);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write JFR dump", e);
+        }
+    }
+
+    private void prune() {
+        List<DumpFile> all = files();
+        for (DumpFile old : all.subList(Math.min(keepFiles, all.size()), all.size())) {
+            try {
+                Files.deleteIfExists(dumpDir.resolve(old.name()));
+            } catch (IOException e) {
+                log.warn("Could not delete old JFR dump {}: {}", old.name(), e.getMessage());
+            }
+        }
+    }
+
+    private void closeQuietly() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+            settings = null;
+        }
+    }
+
+    private static DumpFile describe(Path p) {
+        try {
+            return new DumpFile(p.getFileName().toString(), Files.size(p), Files.getLastModifiedTime(p).toInstant());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.tennismatch.backend.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Custom JDK Flight Recorder events for the hot paths. They cost a flag check unless a recording that enables
+ * them is running (see {@code JfrRecordingService}); open a {@code .jfr} dump in JDK Mission Control and filter on
+ * the "Tennis Match" category. Stack traces are off: the event name already says where it came from.
+ */
+public final class ProfilingEvents {
+
+    private ProfilingEvents() {}
+
+    @Name("tennismatch.DeckComputed")
+    @Label("Deck Computed")
+    @Category({"Tennis Match", "Deck"})
+    @Description("GET /me/deck: candidate query (cache included), swiped filter and card assembly")
+    @StackTrace(false)
+    public static class DeckComputed extends Event {
+        @Label("Actor Id") public long actorId;
+        @Label("Candidates") public int candidates;
+        @Label("Cards") public int cards;
+        @Label("Query Time") @Timespan(Timespan.NANOSECONDS) public long queryNanos;
+        @Label("Filter Time") @Timespan(Timespan.NANOSECONDS) public long filterNanos;
+    }
+
+    @Name("tennismatch.DecisionApplied")
+    @Label("Decision Applied")
+    @Category({"Tennis Match", "Deck"})
+    @StackTrace(false)
+    public static class DecisionApplied extends Event {
+        @Label("Actor Id") public long actorId;
+        @Label("Target Id") public long targetId;
+        @Label("Decision") public String decision;
+        @Label("Recorded") @Description("False for idempotent replays and repeated swipes") public boolean recorded;
+        @Label("Matched") public boolean matched;
+    }
+
+    @Name("tennismatch.ChatMessageSent")
+    @Label("Chat Message Sent")
+    @Category({"Tennis Match", "Chat"})
+    @Description("Message persistence; WebSocket fan-out is not included")
+    @StackTrace(false)
+    public static class ChatMessageSent extends Event {
+        @Label("Conversation Id") public long conversationId;
+        @Label("Body Length") public int bodyLength;
+        @Label("Duplicate") @Description("Retry of an already stored client id") public boolean duplicate;
+    }
+
+    @Name("tennismatch.CacheLoad")
+    @Label("Cache Load")
+    @Category({"Tennis Match", "Cache"})
+    @Description("A @Cacheable method ran because the cache had no entry (or was unavailable)")
+    @StackTrace(false)
+    public static class CacheLoad extends Event {
+        @Label("Cache") public String cache;
+        @Label("Method") public String method;
+    }
+
+    @Name("tennismatch.DigestBatch")
+    @Label("Digest Batch")
+    @Category({"Tennis Match", "Notifications"})
+    @Description("One digest chunk's emails queued into the outbox in a single batch")
+    @StackTrace(false)
+    public static class DigestBatch extends Event {
+        @Label("Digest Type") public String type;
+        @Label("Recipients") public int recipients;
+        @Label("Queued") public boolean queued;
+    }
+}
@@ -0,0 +1,63 @@
+package com.tennismatch.backend.observability;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodic Redis {@code PING}: {@code redis.ping.latency} holds the last round trip (NaN while Redis is
+ * unreachable) and the {@code redis.ping} timer keeps the distribution. Failures are logged once per outage.
+ */
+@Component
+public class RedisLatencyProbe {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisLatencyProbe.class);
+
+    private final ObjectProvider<StringRedisTemplate> redisProvider;
+    private final Timer pings;
+    private volatile double lastSeconds = Double.NaN;
+    private volatile boolean down;
+
+    public RedisLatencyProbe(ObjectProvider<StringRedisTemplate> redisProvider, MeterRegistry meterRegistry) {
+        this.redisProvider = redisProvider;
+        this.pings = Timer.builder("redis.ping")
+                .description("Redis PING round trips from the latency probe")
+                .register(meterRegistry);
+        Gauge.builder("redis.ping.latency", this, p -> p.lastSeconds)
+                .description("Last Redis PING round trip")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.metrics.redis-probe-interval:PT15S}")
+    public void probe() {
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis == null) return;
+        long start = System.nanoTime();
+        try {
+            redis.execute((RedisCallback<String>) connection -> connection.ping());
+            long nanos = System.nanoTime() - start;
+            pings.record(nanos, TimeUnit.NANOSECONDS);
+            lastSeconds = nanos / 1e9;
+            if (down) {
+                down = false;
+                log.info("Redis latency probe: reachable again");
+            }
+        } catch (RuntimeException ex) {
+            lastSeconds = Double.NaN;
+            if (!down) {
+                down = true;
+                log.warn("Redis latency probe failed: {}", ex.getMessage());
+            }
+        }
+    }
+}
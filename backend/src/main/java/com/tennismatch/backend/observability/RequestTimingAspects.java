@@ -0,0 +1,79 @@
+package com.tennismatch.backend.observability;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Feeds {@link RequestTimings}: repository and {@code JdbcTemplate} calls (db), Redis connection commands (redis) and
+ * cache reads and writes (cache). Outbound HTTP (Mapbox, Cloudinary) is wrapped where it is called; Resend only runs
+ * from the email outbox, outside any request. Every advice checks for an active request first, so scheduled jobs
+ * only pay that one ThreadLocal read.
+ */
+@Aspect
+@Component
+public class RequestTimingAspects {
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))"
+            + " || execution(* org.springframework.jdbc.core.JdbcOperations+.*(..))"
+            + " || execution(* org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations+.*(..))")
+    public Object db(ProceedingJoinPoint pjp) throws Throwable {
+        return timed(RequestTimings.Category.DB, pjp);
+    }
+
+    /** Caches are resolved per invocation by the cache interceptor; hand out a timing decorator. */
+    @Around("execution(org.springframework.cache.Cache org.springframework.cache.CacheManager+.getCache(..))")
+    public Object cache(ProceedingJoinPoint pjp) throws Throwable {
+        Object cache = pjp.proceed();
+        return cache instanceof Cache c && RequestTimings.active() ? new TimedCache(c) : cache;
+    }
+
+    /** Redis commands are not bean calls; time them on the connection (and its *Commands views) instead. */
+    @Around("execution(org.springframework.data.redis.connection.RedisConnection"
+            + " org.springframework.data.redis.connection.RedisConnectionFactory+.getConnection())")
+    public Object redisConnection(ProceedingJoinPoint pjp) throws Throwable {
+        Object connection = pjp.proceed();
+        return connection instanceof RedisConnection && RequestTimings.active() ? timedProxy(connection) : connection;
+    }
+
+    private static Object timed(RequestTimings.Category category, ProceedingJoinPoint pjp) throws Throwable {
+        RequestTimings.Span span = RequestTimings.start(category);
+        try {
+            return pjp.proceed();
+        } finally {
+            if (span != null) span.close();
+        }
+    }
+
+    private static Object timedProxy(Object target) {
+        return Proxy.newProxyInstance(target.getClass().getClassLoader(),
+                ClassUtils.getAllInterfacesForClass(target.getClass()), new TimedRedisHandler(target));
+    }
+
+    private record TimedRedisHandler(Object target) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            // stringCommands(), zSetCommands(), ...: views whose calls are the actual round trips
+            boolean commandsView = method.getName().endsWith("Commands") && method.getParameterCount() == 0
+                    && method.getReturnType().isInterface();
+            RequestTimings.Span span = commandsView ? null : RequestTimings.start(RequestTimings.Category.REDIS);
+            try {
+                Object result = method.invoke(target, args);
+                return commandsView && result != null ? timedProxy(result) : result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                if (span != null) span.close();
+            }
+        }
+    }
+}
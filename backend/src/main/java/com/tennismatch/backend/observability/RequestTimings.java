@@ -0,0 +1,105 @@
+package com.tennismatch.backend.observability;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Time one request spends per backend category, collected on the request thread and written out as
+ * {@code Server-Timing} by {@link ServerTimingFilter}.
+ * <p>
+ * Times are exclusive: a span started inside another one (the Redis round trip under a cache lookup, a query under
+ * an external-call wrapper) is subtracted from the outer span, so the categories add up to at most the total and the
+ * remainder is application time. Outside a request (schedulers, WebSocket frames) every call is a no-op.
+ */
+public final class RequestTimings {
+
+    public enum Category {
+        DB("db"), REDIS("redis"), CACHE("cache"), EXTERNAL("ext");
+
+        final String metricName;
+
+        Category(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final Map<Category, long[]> totals = new EnumMap<>(Category.class); // {nanos, calls}
+    private Span open;
+
+    private RequestTimings() {}
+
+    static RequestTimings begin() {
+        RequestTimings t = new RequestTimings();
+        CURRENT.set(t);
+        return t;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    public static boolean active() {
+        return CURRENT.get() != null;
+    }
+
+    /** Starts a span, or returns null outside a request. Always close it in {@code finally}. */
+    public static Span start(Category category) {
+        RequestTimings t = CURRENT.get();
+        if (t == null) return null;
+        Span s = new Span(t, category, t.open);
+        t.open = s;
+        return s;
+    }
+
+    public static <T> T time(Category category, Supplier<T> call) {
+        Span span = start(category);
+        try {
+            return call.get();
+        } finally {
+            if (span != null) span.close();
+        }
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /** Snapshot: category -> {exclusive nanos, calls}. */
+    Map<Category, long[]> totals() {
+        Map<Category, long[]> copy = new EnumMap<>(Category.class);
+        totals.forEach((c, v) -> copy.put(c, v.clone()));
+        return copy;
+    }
+
+    public static final class Span implements AutoCloseable {
+        private final RequestTimings owner;
+        private final Category category;
+        private final Span parent;
+        private final long startNanos = System.nanoTime();
+        private long childNanos;
+
+        private Span(RequestTimings owner, Category category, Span parent) {
+            this.owner = owner;
+            this.category = category;
+            this.parent = parent;
+        }
+
+        @Override
+        public void close() {
+            long elapsed = System.nanoTime() - startNanos;
+            long[] v = owner.totals.computeIfAbsent(category, c -> new long[2]);
+            v[0] += Math.max(0, elapsed - childNanos);
+            v[1]++;
+            if (parent != null) parent.childNanos += elapsed;
+            owner.open = parent;
+        }
+    }
+}
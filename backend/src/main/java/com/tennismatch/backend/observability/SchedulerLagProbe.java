@@ -0,0 +1,51 @@
+package com.tennismatch.backend.observability;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed-rate heartbeat on the {@code jobs-} scheduler. The gap between when a beat was due and when it ran is
+ * published as {@code scheduler.lag}; it grows when long maintenance or digest runs hold every scheduler thread.
+ */
+@Component
+public class SchedulerLagProbe {
+
+    private final long periodNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long firstBeatNanos;
+    private long beats;
+    private volatile double lagSeconds;
+
+    public SchedulerLagProbe(MeterRegistry meterRegistry,
+                             @Value("${app.metrics.scheduler-heartbeat:PT5S}") Duration period) {
+        this.periodNanos = period.toNanos();
+        Gauge.builder("scheduler.lag", this, p -> p.lagSeconds)
+                .description("Delay of the last scheduler heartbeat behind its fixed-rate slot")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    // fixed-rate slots are firstBeat + n * period; measuring against the previous beat would hide catch-up runs
+    @Scheduled(fixedRateString = "${app.metrics.scheduler-heartbeat:PT5S}")
+    public void beat() {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            if (beats++ == 0) {
+                firstBeatNanos = now;
+                return;
+            }
+            long due = firstBeatNanos + (beats - 1) * periodNanos;
+            lagSeconds = Math.max(0, now - due) / (double) TimeUnit.SECONDS.toNanos(1);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.tennismatch.backend.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Opens a {@link RequestTimings} scope around the whole request (security chain included) and reports it:
+ * <ul>
+ *   <li>{@code Server-Timing: db;dur=..;desc="n calls", redis, cache, ext, app, total, req;desc="<request id>"}
+ *   — written by {@link ServerTimingResponseAdvice} just before the body, or here for bodiless responses;</li>
+ *   <li>the histogram {@code http.server.requests.breakdown{category, uri}}.</li>
+ * </ul>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "Server-Timing";
+    private static final String WRITTEN = ServerTimingFilter.class.getName() + ".written";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.server-timing.enabled:true}")
+    private boolean enabled;
+
+    public ServerTimingFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.begin();
+        try {
+            filterChain.doFilter(request, response);
+            if (!response.isCommitted() && request.getAttribute(WRITTEN) == null) {
+                response.setHeader(HEADER, headerValue(request, response, timings));
+            }
+        } finally {
+            RequestTimings.end();
+            record(request, timings);
+        }
+    }
+
+    /** Header value for the current request; null outside a timed request or once already written. */
+    static String headerFor(HttpServletRequest request, HttpServletResponse response) {
+        RequestTimings timings = RequestTimings.current();
+        if (timings == null || request.getAttribute(WRITTEN) != null) return null;
+        return headerValue(request, response, timings);
+    }
+
+    private static String headerValue(HttpServletRequest request, HttpServletResponse response, RequestTimings timings) {
+        request.setAttribute(WRITTEN, Boolean.TRUE);
+        long total = timings.elapsedNanos();
+        long accounted = 0;
+        StringBuilder sb = new StringBuilder(160);
+        for (Map.Entry<RequestTimings.Category, long[]> e : timings.totals().entrySet()) {
+            long[] v = e.getValue();
+            accounted += v[0];
+            sb.append(e.getKey().metricName).append(";dur=").append(ms(v[0]))
+                    .append(";desc=\"").append(v[1]).append(v[1] == 1 ? " call\"" : " calls\"").append(", ");
+        }
+        sb.append("app;dur=").append(ms(Math.max(0, total - accounted)))
+                .append(", total;dur=").append(ms(total));
+        String requestId = response.getHeader(RequestIdFilter.HEADER);
+        if (requestId != null) sb.append(", req;desc=\"").append(requestId.replace("\"", "")).append('"');
+        return sb.toString();
+    }
+
+    private void record(HttpServletRequest request, RequestTimings timings) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        long total = timings.elapsedNanos();
+        long accounted = 0;
+        for (Map.Entry<RequestTimings.Category, long[]> e : timings.totals().entrySet()) {
+            accounted += e.getValue()[0];
+            timer(e.getKey().metricName, uri).record(Duration.ofNanos(e.getValue()[0]));
+        }
+        timer("app", uri).record(Duration.ofNanos(Math.max(0, total - accounted)));
+    }
+
+    private Timer timer(String category, String uri) {
+        return Timer.builder("http.server.requests.breakdown")
+                .description("Per-request time by backend category (exclusive)")
+                .tag("category", category)
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static String ms(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+}
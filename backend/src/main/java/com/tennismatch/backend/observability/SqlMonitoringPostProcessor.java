@@ -0,0 +1,37 @@
+package com.tennismatch.backend.observability;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the pool in a datasource-proxy {@link ProxyDataSource} so every statement (JPA, native and
+ * {@code JdbcTemplate} alike) passes {@link SqlStatementListener}. Replaces {@code spring.jpa.show-sql}, which
+ * printed every statement to stdout without timings. {@code unwrap} still reaches Hikari, so pool metrics keep working.
+ */
+@Component
+public class SqlMonitoringPostProcessor implements BeanPostProcessor {
+
+    // resolved lazily: a post-processor must not pull the meter registry in early
+    private final ObjectProvider<SqlStatementListener> listener;
+    private final boolean enabled;
+
+    public SqlMonitoringPostProcessor(ObjectProvider<SqlStatementListener> listener,
+                                      @Value("${app.sql.monitor.enabled:true}") boolean enabled) {
+        this.listener = listener;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled || !(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) return bean;
+        return ProxyDataSourceBuilder.create(beanName, dataSource)
+                .listener(listener.getObject())
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.tennismatch.backend.observability;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JDBC statements executed on the request thread, fed by {@link SqlStatementListener} and reported by
+ * {@link SqlRequestStatsFilter}. Statements are keyed by their SQL text (placeholders, not values), so the same
+ * select issued once per row of an earlier result shows up as one key with a high count. Outside a request every
+ * call is a no-op.
+ */
+public final class SqlRequestStats {
+
+    // bounds memory for requests that build SQL dynamically
+    private static final int MAX_DISTINCT = 256;
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> bySql = new HashMap<>();
+    private int statements;
+    private long nanos;
+
+    private SqlRequestStats() {}
+
+    static SqlRequestStats begin() {
+        SqlRequestStats s = new SqlRequestStats();
+        CURRENT.set(s);
+        return s;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    void record(String sql, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        if (bySql.size() < MAX_DISTINCT || bySql.containsKey(sql)) bySql.merge(sql, 1, Integer::sum);
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+
+    /** Selects issued at least {@code threshold} times, most repeated first. */
+    public Map<String, Integer> repeatedSelects(int threshold) {
+        Map<String, Integer> out = new LinkedHashMap<>();
+        bySql.entrySet().stream()
+                .filter(e -> e.getValue() >= threshold && isSelect(e.getKey()))
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(e -> out.put(e.getKey(), e.getValue()));
+        return out;
+    }
+
+    private static boolean isSelect(String sql) {
+        String s = sql.stripLeading();
+        return s.regionMatches(true, 0, "select", 0, 6) || s.regionMatches(true, 0, "with", 0, 4);
+    }
+}
@@ -0,0 +1,87 @@
+package com.tennismatch.backend.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Opens a {@link SqlRequestStats} scope per request and reports it: the {@code http.server.requests.queries{uri}}
+ * histogram, a debug line with statement count and DB time per request id, and a warning plus
+ * {@code db.n-plus-one{uri}} when one select ran {@code app.sql.n-plus-one-threshold} times or more.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class SqlRequestStatsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlRequestStatsFilter.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.sql.monitor.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.sql.n-plus-one-threshold:5}")
+    private int nPlusOneThreshold;
+
+    public SqlRequestStatsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestStats.end();
+            report(request, response, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, HttpServletResponse response, SqlRequestStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("http.server.requests.queries")
+                .description("JDBC statements per request")
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.statements());
+        if (stats.statements() == 0) return;
+
+        // the MDC request id is already cleared here (RequestIdFilter runs inside the security chain)
+        String requestId = response.getHeader(RequestIdFilter.HEADER);
+        if (log.isDebugEnabled()) {
+            log.debug("SQL {} {} reqId={} statements={} dbMs={}", request.getMethod(), uri, requestId,
+                    stats.statements(), String.format(Locale.ROOT, "%.1f", stats.nanos() / 1_000_000.0));
+        }
+        Map<String, Integer> repeated = stats.repeatedSelects(nPlusOneThreshold);
+        if (repeated.isEmpty()) return;
+        meterRegistry.counter("db.n-plus-one", "uri", uri).increment();
+        repeated.forEach((sql, count) -> log.warn("Possible N+1 on {} {} reqId={}: {}x {}",
+                request.getMethod(), uri, requestId, count, sql.replaceAll("\\s+", " ").trim()));
+    }
+}
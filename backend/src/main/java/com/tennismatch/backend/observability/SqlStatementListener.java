@@ -0,0 +1,107 @@
+package com.tennismatch.backend.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Array;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sees every JDBC statement on the proxied pool ({@link SqlMonitoringPostProcessor}): feeds the
+ * {@code db.statements} timer and the current {@link SqlRequestStats}, and logs statements slower than
+ * {@code app.sql.slow-threshold} with the shapes of their bound parameters (types and array sizes, never values).
+ */
+@Component
+public class SqlStatementListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementListener.class);
+    private static final String START = SqlStatementListener.class.getName() + ".start";
+    private static final int MAX_LOGGED_SQL = 500;
+
+    private final Timer statements;
+    private final Counter slow;
+    private final long slowThresholdNanos;
+
+    public SqlStatementListener(MeterRegistry meterRegistry,
+                                @Value("${app.sql.slow-threshold:PT0.2S}") Duration slowThreshold) {
+        this.statements = Timer.builder("db.statements")
+                .description("JDBC statement executions (batches count once)")
+                .register(meterRegistry);
+        this.slow = Counter.builder("db.statements.slow")
+                .description("Statements slower than app.sql.slow-threshold")
+                .register(meterRegistry);
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START, Long.class);
+        if (start == null) return;
+        long nanos = System.nanoTime() - start;
+        statements.record(nanos, TimeUnit.NANOSECONDS);
+
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            // a statement-level batch carries several queries; share its time among them
+            long share = nanos / Math.max(1, queryInfoList.size());
+            for (QueryInfo q : queryInfoList) stats.record(q.getQuery(), share);
+        }
+
+        if (nanos >= slowThresholdNanos) {
+            slow.increment();
+            for (QueryInfo q : queryInfoList) {
+                log.warn("Slow SQL {} ms{}{}: {} params={}",
+                        String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0),
+                        execInfo.isBatch() ? " batch=" + execInfo.getBatchSize() : "",
+                        execInfo.isSuccess() ? "" : " (failed)",
+                        abbreviate(q.getQuery()),
+                        shapes(q.getParametersList()));
+            }
+        }
+    }
+
+    private static String abbreviate(String sql) {
+        String oneLine = sql.replaceAll("\\s+", " ").trim();
+        return oneLine.length() <= MAX_LOGGED_SQL ? oneLine : oneLine.substring(0, MAX_LOGGED_SQL) + "…";
+    }
+
+    // first parameter set only; batches repeat the same shapes
+    private static String shapes(List<List<ParameterSetOperation>> parametersList) {
+        if (parametersList == null || parametersList.isEmpty()) return "[]";
+        StringJoiner out = new StringJoiner(", ", "[", "]");
+        for (ParameterSetOperation op : parametersList.get(0)) {
+            Object[] args = op.getArgs();
+            Object value = args.length > 1 ? args[1] : null;
+            out.add(ParameterSetOperation.isSetNullParameterOperation(op) ? "null" : shape(value));
+        }
+        return out.toString();
+    }
+
+    private static String shape(Object value) {
+        if (value == null) return "null";
+        Class<?> type = value.getClass();
+        if (type.isArray()) return type.getComponentType().getSimpleName() + "[" + Array.getLength(value) + "]";
+        if (value instanceof Collection<?> c) return type.getSimpleName() + "(" + c.size() + ")";
+        if (value instanceof java.sql.Array) return "Array";
+        return type.getSimpleName();
+    }
+}
@@ -0,0 +1,77 @@
+package com.tennismatch.backend.observability;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+
+/** {@link Cache} decorator that reports lookups and writes as {@link RequestTimings.Category#CACHE}. */
+final class TimedCache implements Cache {
+
+    private final Cache delegate;
+
+    TimedCache(Cache delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return RequestTimings.time(RequestTimings.Category.CACHE, () -> delegate.get(key));
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return RequestTimings.time(RequestTimings.Category.CACHE, () -> delegate.get(key, type));
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // the loader runs inside; its own db/redis spans are subtracted from the cache time
+        return RequestTimings.time(RequestTimings.Category.CACHE, () -> delegate.get(key, valueLoader));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        RequestTimings.time(RequestTimings.Category.CACHE, () -> {
+            delegate.put(key, value);
+            return null;
+        });
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return RequestTimings.time(RequestTimings.Category.CACHE, () -> delegate.putIfAbsent(key, value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        RequestTimings.time(RequestTimings.Category.CACHE, () -> {
+            delegate.evict(key);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return RequestTimings.time(RequestTimings.Category.CACHE, () -> delegate.evictIfPresent(key));
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+}
@@ -0,0 +1,107 @@
+package com.tennismatch.backend.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams {@code jdk.VirtualThreadPinned} JFR events (a virtual thread blocked while holding a monitor,
+ * so its carrier thread could not be released) into Micrometer and a rate-limited warning log.
+ * Enabled with virtual threads by default; see {@code app.virtual-threads.pinning-monitor.*}.
+ */
+@Component
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Counter pinnedCount;
+    private final Timer pinnedDuration;
+    private final AtomicLong lastLoggedAtMs = new AtomicLong();
+
+    @Value("${app.virtual-threads.pinning-monitor.enabled:${spring.threads.virtual.enabled:false}}")
+    private boolean enabled;
+
+    @Value("${app.virtual-threads.pinning-monitor.threshold:PT0.02S}")
+    private Duration threshold;
+
+    @Value("${app.virtual-threads.pinning-monitor.log-interval:PT1M}")
+    private Duration logInterval;
+
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry) {
+        this.pinnedCount = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+        this.pinnedDuration = Timer.builder("jvm.threads.virtual.pinned.duration")
+                .description("Time virtual threads spent pinned to their carrier thread")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || stream != null) {
+            return;
+        }
+        try {
+            RecordingStream rs = new RecordingStream();
+            rs.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            rs.onEvent(PINNED_EVENT, this::onPinned);
+            rs.startAsync();
+            stream = rs;
+            log.info("Virtual thread pinning monitor started threshold={}", threshold);
+        } catch (RuntimeException ex) {
+            log.warn("Virtual thread pinning monitor unavailable: {}", ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        RecordingStream rs = stream;
+        stream = null;
+        if (rs != null) {
+            rs.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCount.increment();
+        pinnedDuration.record(event.getDuration());
+
+        long now = System.currentTimeMillis();
+        long last = lastLoggedAtMs.get();
+        if (now - last >= logInterval.toMillis() && lastLoggedAtMs.compareAndSet(last, now)) {
+            log.warn("Virtual thread pinned durationMs={} at {}", event.getDuration().toMillis(), topFrames(event.getStackTrace()));
+        }
+    }
+
+    private static String topFrames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "<no stack>";
+        }
+        StringBuilder sb = new StringBuilder();
+        int limit = Math.min(5, stackTrace.getFrames().size());
+        for (int i = 0; i < limit; i++) {
+            RecordedFrame frame = stackTrace.getFrames().get(i);
+            if (i > 0) sb.append(" <- ");
+            sb.append(frame.getMethod().getType().getName()).append('.').append(frame.getMethod().getName())
+                    .append(':').append(frame.getLineNumber());
+        }
+        return sb.toString();
+    }
+}
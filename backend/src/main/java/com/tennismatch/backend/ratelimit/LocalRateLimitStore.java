@@ -0,0 +1,142 @@
+package com.tennismatch.backend.ratelimit;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process fallback used when Redis is unavailable. Keys are spread over lock stripes; each stripe is an
+ * access-ordered map with a fixed capacity (LRU eviction) whose entries expire one window after last use,
+ * so memory stays bounded no matter how many distinct keys are seen.
+ */
+class LocalRateLimitStore {
+
+    private static final int EXPIRY_SCAN = 8;
+
+    private final Stripe[] stripes;
+
+    LocalRateLimitStore(int stripes, int maxEntries) {
+        int n = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        int perStripe = Math.max(16, maxEntries / n);
+        this.stripes = new Stripe[n];
+        for (int i = 0; i < n; i++) this.stripes[i] = new Stripe(perStripe);
+    }
+
+    RateLimitDecision check(RateLimitPolicy policy, String key, long nowMs) {
+        String fullKey = policy.name() + '\u0000' + key;
+        Stripe stripe = stripes[spread(fullKey.hashCode()) & (stripes.length - 1)];
+        stripe.lock.lock();
+        try {
+            State state = stripe.map.get(fullKey);
+            if (state == null || state.expiresAtMs <= nowMs) {
+                state = new State();
+                stripe.map.put(fullKey, state);
+            }
+            state.expiresAtMs = nowMs + policy.window().toMillis();
+            return switch (policy.algorithm()) {
+                case FIXED_WINDOW -> fixedWindow(policy, state, nowMs);
+                case SLIDING_LOG -> slidingLog(policy, state, nowMs);
+                case TOKEN_BUCKET -> tokenBucket(policy, state, nowMs);
+            };
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    int size() {
+        int total = 0;
+        for (Stripe s : stripes) {
+            s.lock.lock();
+            try {
+                total += s.map.size();
+            } finally {
+                s.lock.unlock();
+            }
+        }
+        return total;
+    }
+
+    private static RateLimitDecision fixedWindow(RateLimitPolicy p, State s, long nowMs) {
+        long windowMs = p.window().toMillis();
+        long index = nowMs / windowMs;
+        if (s.windowIndex != index) {
+            s.windowIndex = index;
+            s.count = 0;
+        }
+        s.count++;
+        if (s.count <= p.limit()) {
+            return new RateLimitDecision(true, p.limit() - s.count, Duration.ZERO);
+        }
+        return new RateLimitDecision(false, 0, Duration.ofMillis((index + 1) * windowMs - nowMs));
+    }
+
+    private static RateLimitDecision slidingLog(RateLimitPolicy p, State s, long nowMs) {
+        long windowMs = p.window().toMillis();
+        if (s.log == null) s.log = new ArrayDeque<>(Math.min(p.limit(), 64));
+        while (!s.log.isEmpty() && s.log.peekFirst() <= nowMs - windowMs) s.log.pollFirst();
+        if (s.log.size() < p.limit()) {
+            s.log.addLast(nowMs);
+            return new RateLimitDecision(true, p.limit() - s.log.size(), Duration.ZERO);
+        }
+        return new RateLimitDecision(false, 0, Duration.ofMillis(s.log.peekFirst() + windowMs - nowMs));
+    }
+
+    private static RateLimitDecision tokenBucket(RateLimitPolicy p, State s, long nowMs) {
+        double ratePerMs = (double) p.limit() / p.window().toMillis();
+        if (s.lastRefillMs == 0) {
+            s.tokens = p.limit();
+        } else {
+            s.tokens = Math.min(p.limit(), s.tokens + (nowMs - s.lastRefillMs) * ratePerMs);
+        }
+        s.lastRefillMs = nowMs;
+        if (s.tokens >= 1) {
+            s.tokens -= 1;
+            return new RateLimitDecision(true, (long) s.tokens, Duration.ZERO);
+        }
+        return new RateLimitDecision(false, 0, Duration.ofMillis((long) Math.ceil((1 - s.tokens) / ratePerMs)));
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private static final class State {
+        long expiresAtMs;
+        // fixed window
+        long windowIndex = -1;
+        int count;
+        // sliding log
+        ArrayDeque<Long> log;
+        // token bucket
+        double tokens;
+        long lastRefillMs;
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, State> map;
+
+        private Stripe(int capacity) {
+            this.map = new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, State> eldest) {
+                    if (size() <= capacity) return false;
+                    // Over capacity: drop expired entries among the least recently used few, else evict the eldest.
+                    long now = System.currentTimeMillis();
+                    boolean removedExpired = false;
+                    Iterator<State> it = values().iterator();
+                    for (int scanned = 0; scanned < EXPIRY_SCAN && it.hasNext(); scanned++) {
+                        if (it.next().expiresAtMs <= now) {
+                            it.remove();
+                            removedExpired = true;
+                        }
+                    }
+                    return !removedExpired;
+                }
+            };
+        }
+    }
+}
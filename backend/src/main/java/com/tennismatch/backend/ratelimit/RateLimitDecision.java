@@ -0,0 +1,7 @@
+package com.tennismatch.backend.ratelimit;
+
+import java.time.Duration;
+
+/** {@code retryAfter} is zero when allowed. */
+public record RateLimitDecision(boolean allowed, long remaining, Duration retryAfter) {
+}
@@ -0,0 +1,21 @@
+package com.tennismatch.backend.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * A named limit, registered as a bean (see {@code RateLimitConfig}) and evaluated by {@link RateLimiterEngine}.
+ * <ul>
+ *   <li>{@code FIXED_WINDOW}: at most {@code limit} per window aligned to the epoch (P1D = UTC calendar day).</li>
+ *   <li>{@code SLIDING_LOG}: at most {@code limit} in any trailing {@code window}; denied calls are not logged.</li>
+ *   <li>{@code TOKEN_BUCKET}: bursts up to {@code limit}, refilled at {@code limit} per {@code window}.</li>
+ * </ul>
+ */
+public record RateLimitPolicy(String name, Algorithm algorithm, int limit, Duration window) {
+
+    public enum Algorithm { FIXED_WINDOW, SLIDING_LOG, TOKEN_BUCKET }
+
+    public RateLimitPolicy {
+        if (limit < 1) throw new IllegalArgumentException("limit must be >= 1: " + name);
+        if (window.isZero() || window.isNegative()) throw new IllegalArgumentException("window must be > 0: " + name);
+    }
+}
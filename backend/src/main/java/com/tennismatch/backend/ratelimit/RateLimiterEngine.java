@@ -0,0 +1,171 @@
+package com.tennismatch.backend.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Evaluates named {@link RateLimitPolicy} beans. Each check is one atomic Lua call in Redis
+ * ({@code ratelimit:{policy}:{key}[:{window}]}); when Redis is missing or failing it falls back to a
+ * bounded, striped in-process store (per node, so limits are then per instance).
+ */
+@Component
+public class RateLimiterEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimiterEngine.class);
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    // KEYS[1]=key  ARGV: algorithm, limit, windowMs, nowMs, member  -> {allowed(0/1), remaining, retryAfterMs}
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final DefaultRedisScript<List> CHECK_SCRIPT = new DefaultRedisScript<>("""
+            local algo   = ARGV[1]
+            local limit  = tonumber(ARGV[2])
+            local window = tonumber(ARGV[3])
+            local now    = tonumber(ARGV[4])
+
+            if algo == 'FIXED_WINDOW' then
+              local n = redis.call('INCR', KEYS[1])
+              local windowEnd = (math.floor(now / window) + 1) * window
+              if n == 1 then redis.call('PEXPIRE', KEYS[1], windowEnd - now) end
+              if n <= limit then return {1, limit - n, 0} end
+              return {0, 0, windowEnd - now}
+            end
+
+            if algo == 'SLIDING_LOG' then
+              redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)
+              local n = redis.call('ZCARD', KEYS[1])
+              if n < limit then
+                redis.call('ZADD', KEYS[1], now, ARGV[5])
+                redis.call('PEXPIRE', KEYS[1], window)
+                return {1, limit - n - 1, 0}
+              end
+              local oldest = redis.call('ZRANGE', KEYS[1], 0, 0, 'WITHSCORES')
+              return {0, 0, tonumber(oldest[2]) + window - now}
+            end
+
+            -- TOKEN_BUCKET
+            local rate = limit / window
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1])
+            local ts = tonumber(state[2])
+            if tokens == nil then
+              tokens = limit
+            else
+              tokens = math.min(limit, tokens + math.max(0, now - ts) * rate)
+            end
+            local allowed = 0
+            local retry = 0
+            if tokens >= 1 then
+              tokens = tokens - 1
+              allowed = 1
+            else
+              retry = math.ceil((1 - tokens) / rate)
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], window)
+            return {allowed, math.floor(tokens), retry}
+            """, List.class);
+
+    private final Map<String, RateLimitPolicy> policies;
+    private final ObjectProvider<StringRedisTemplate> redisProvider;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final LocalRateLimitStore localStore;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final AtomicLong lastRedisWarnMs = new AtomicLong();
+
+    public RateLimiterEngine(List<RateLimitPolicy> policies,
+                             ObjectProvider<StringRedisTemplate> redisProvider,
+                             Clock clock,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.ratelimit.local.stripes:16}") int localStripes,
+                             @Value("${app.ratelimit.local.max-entries:100000}") int localMaxEntries) {
+        this.policies = policies.stream().collect(Collectors.toUnmodifiableMap(RateLimitPolicy::name, Function.identity()));
+        this.redisProvider = redisProvider;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.localStore = new LocalRateLimitStore(localStripes, localMaxEntries);
+        Gauge.builder("ratelimit.local.entries", localStore, LocalRateLimitStore::size)
+                .description("Keys held by the in-process rate limit fallback")
+                .register(meterRegistry);
+        log.info("Rate limit policies: {}", this.policies.values());
+    }
+
+    public RateLimitDecision check(String policyName, String key) {
+        RateLimitPolicy policy = policies.get(policyName);
+        if (policy == null) throw new IllegalArgumentException("Unknown rate limit policy: " + policyName);
+
+        long nowMs = clock.millis();
+        RateLimitDecision decision = checkRedis(policy, key, nowMs);
+        String backend = "redis";
+        if (decision == null) {
+            decision = localStore.check(policy, key, nowMs);
+            backend = "local";
+        }
+        counter(policy.name(), decision.allowed() ? "allowed" : "denied", backend).increment();
+        return decision;
+    }
+
+    /** Throws {@link RateLimitExceededException} (429 + Retry-After) when the key is over the policy's limit. */
+    public void enforce(String policyName, String key, String message) {
+        RateLimitDecision decision = check(policyName, key);
+        if (!decision.allowed()) {
+            throw new RateLimitExceededException(message, decision.retryAfter());
+        }
+    }
+
+    private RateLimitDecision checkRedis(RateLimitPolicy policy, String key, long nowMs) {
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis == null) return null;
+        long windowMs = policy.window().toMillis();
+        String redisKey = KEY_PREFIX + policy.name() + ":" + key;
+        if (policy.algorithm() == RateLimitPolicy.Algorithm.FIXED_WINDOW) {
+            redisKey += ":" + (nowMs / windowMs);
+        }
+        try {
+            List<?> result = redis.execute(CHECK_SCRIPT, List.of(redisKey),
+                    policy.algorithm().name(),
+                    Integer.toString(policy.limit()),
+                    Long.toString(windowMs),
+                    Long.toString(nowMs),
+                    nowMs + "-" + UUID.randomUUID());
+            if (result == null || result.size() < 3) return null;
+            boolean allowed = ((Number) result.get(0)).longValue() == 1L;
+            long remaining = ((Number) result.get(1)).longValue();
+            long retryMs = ((Number) result.get(2)).longValue();
+            return new RateLimitDecision(allowed, remaining, Duration.ofMillis(Math.max(0, retryMs)));
+        } catch (RuntimeException ex) {
+            long last = lastRedisWarnMs.get();
+            if (nowMs - last > 60_000 && lastRedisWarnMs.compareAndSet(last, nowMs)) {
+                log.warn("Rate limit Redis check failed, using local fallback: {}", ex.getMessage());
+            }
+            return null;
+        }
+    }
+
+    private Counter counter(String policy, String result, String backend) {
+        return counters.computeIfAbsent(policy + '|' + result + '|' + backend, k -> Counter.builder("ratelimit.requests")
+                .description("Rate limit checks by policy and outcome")
+                .tag("policy", policy)
+                .tag("result", result)
+                .tag("backend", backend)
+                .register(meterRegistry));
+    }
+}
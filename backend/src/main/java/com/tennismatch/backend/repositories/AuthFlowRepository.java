@@ -1,10 +1,10 @@
 package com.tennismatch.backend.repositories;
 
 import com.tennismatch.backend.domain.entries.AuthFlowEntity;
-import io.lettuce.core.dynamic.annotation.Param;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
 
@@ -12,4 +12,16 @@ public interface AuthFlowRepository extends JpaRepository<AuthFlowEntity, String
     @Modifying
     @Query("delete from AuthFlowEntity f where f.expiresAt < :now")
     int deleteExpired(@Param("now") Instant now);
+
+    /** Deletes up to {@code limit} expired flows; the sweeper calls it until it returns less than the limit. */
+    @Modifying
+    @Query(value = """
+        delete from auth_flow
+         where flow_id in (select f.flow_id from auth_flow f where f.expires_at < :now limit :limit)
+        """, nativeQuery = true)
+    int deleteExpiredChunk(@Param("now") Instant now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("update AuthFlowEntity f set f.attempts = f.attempts + 1 where f.flowId = :flowId and f.code <> :code")
+    int incrementAttemptsUnlessCode(@Param("flowId") String flowId, @Param("code") String code);
 }
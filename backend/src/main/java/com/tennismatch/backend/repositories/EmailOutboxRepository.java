@@ -0,0 +1,96 @@
+package com.tennismatch.backend.repositories;
+
+import com.tennismatch.backend.domain.entries.EmailOutbox;
+import com.tennismatch.backend.domain.enums.EmailOutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    // SKIP LOCKED: concurrent dispatchers (other nodes) claim disjoint batches.
+    @Query(value = """
+        select o.id
+          from email_outbox o
+         where o.status in ('PENDING', 'SENDING')
+           and o.next_attempt_at <= :now
+         order by o.priority, o.next_attempt_at
+         limit :limit
+           for update skip locked
+        """, nativeQuery = true)
+    List<Long> lockDueBatch(@Param("now") Instant now, @Param("limit") int limit);
+
+    /** Marks claimed rows SENDING; the lease makes them claimable again if this node dies mid-send. */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+      update EmailOutbox o
+         set o.status = com.tennismatch.backend.domain.enums.EmailOutboxStatus.SENDING,
+             o.attempts = o.attempts + 1,
+             o.nextAttemptAt = :leaseUntil
+       where o.id in :ids
+    """)
+    int claim(@Param("ids") Collection<Long> ids, @Param("leaseUntil") Instant leaseUntil);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+      update EmailOutbox o
+         set o.status = com.tennismatch.backend.domain.enums.EmailOutboxStatus.SENT,
+             o.sentAt = :now,
+             o.lastError = null
+       where o.id in :ids
+    """)
+    int markSent(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    /** Drops the body of expiring rows (verification codes) once it is no longer needed. */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update EmailOutbox o set o.html = '' where o.id in :ids and o.expiresAt is not null")
+    int redactExpiring(@Param("ids") Collection<Long> ids);
+
+    /** Due rows whose expiry has passed go to DEAD unsent, with their body dropped. */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+      update EmailOutbox o
+         set o.status = com.tennismatch.backend.domain.enums.EmailOutboxStatus.DEAD,
+             o.html = '',
+             o.lastError = 'expired'
+       where o.status in (com.tennismatch.backend.domain.enums.EmailOutboxStatus.PENDING,
+                          com.tennismatch.backend.domain.enums.EmailOutboxStatus.SENDING)
+         and o.nextAttemptAt <= :now
+         and o.expiresAt <= :now
+    """)
+    int expireDue(@Param("now") Instant now);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+      update EmailOutbox o
+         set o.status = :status,
+             o.nextAttemptAt = :nextAttemptAt,
+             o.lastError = :error
+       where o.id = :id
+    """)
+    int markFailed(@Param("id") Long id,
+                   @Param("status") EmailOutboxStatus status,
+                   @Param("nextAttemptAt") Instant nextAttemptAt,
+                   @Param("error") String error);
+
+    @Query(value = """
+        select o.id
+          from email_outbox o
+         where o.status = 'SENT'
+           and o.sent_at < :cutoff
+         order by o.sent_at
+         limit :limit
+        """, nativeQuery = true)
+    List<Long> findSentBefore(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query("delete from EmailOutbox o where o.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    long countByStatus(EmailOutboxStatus status);
+}
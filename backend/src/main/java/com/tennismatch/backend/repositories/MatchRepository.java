@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 
@@ -21,4 +22,21 @@ public interface MatchRepository extends JpaRepository<Match, Long> {
     """)
     long countNewMatchesForUserSince(@Param("userId") Long userId,
                                      @Param("since") Instant since);
+
+    interface UserCountRow {
+        Long getUserId();
+        long getCount();
+    }
+
+    @Query(value = """
+        select x.user_id as userId, count(*) as count
+          from (select m.user1_id as user_id from match m
+                 where m.created_at >= :since and m.user1_id = any(:ids)
+                union all
+                select m.user2_id from match m
+                 where m.created_at >= :since and m.user2_id = any(:ids)) x
+         group by x.user_id
+        """, nativeQuery = true)
+    List<UserCountRow> countNewMatchesForUsersSince(@Param("ids") Long[] ids,
+                                                    @Param("since") Instant since);
 }
@@ -4,8 +4,12 @@ import com.tennismatch.backend.domain.entries.NotificationDigestState;
 import com.tennismatch.backend.domain.enums.NotificationDigestType;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface NotificationDigestStateRepository extends JpaRepository<NotificationDigestState, Long> {
     Optional<NotificationDigestState> findByUserIdAndType(Long userId, NotificationDigestType type);
+
+    List<NotificationDigestState> findByTypeAndUserIdIn(NotificationDigestType type, Collection<Long> userIds);
 }
@@ -1,29 +1,69 @@
 package com.tennismatch.backend.repositories;
 
 import com.tennismatch.backend.domain.entries.RefreshToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import jakarta.persistence.LockModeType;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
+    /** Columns rotation needs, read without loading (or locking) the entity. */
+    interface RotationView {
+        Long getId();
+        Long getUserId();
+        UUID getFamilyId();
+        Instant getExpiresAt();
+        Instant getRevokedAt();
+    }
+
     Optional<RefreshToken> findByTokenHash(String tokenHash);
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("select t from RefreshToken t where t.tokenHash = :tokenHash")
-    Optional<RefreshToken> findByTokenHashForUpdate(@Param("tokenHash") String tokenHash);
+    @Query("""
+      select t.id as id, t.userId as userId, t.familyId as familyId, t.expiresAt as expiresAt, t.revokedAt as revokedAt
+        from RefreshToken t
+       where t.tokenHash = :tokenHash
+    """)
+    Optional<RotationView> findRotationView(@Param("tokenHash") String tokenHash);
+
+    /** Marks the token used; 0 rows means another request rotated or revoked it first. */
+    @Modifying
+    @Query("""
+      update RefreshToken t
+         set t.revokedAt = :now, t.lastUsedAt = :now
+       where t.id = :id and t.revokedAt is null
+    """)
+    int consume(@Param("id") Long id, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update RefreshToken t set t.replacedById = :replacementId where t.id = :id")
+    int setReplacedBy(@Param("id") Long id, @Param("replacementId") Long replacementId);
 
     @Modifying
-    @Query("delete from RefreshToken t where t.expiresAt < :now")
-    int deleteExpired(@Param("now") Instant now);
+    @Query("update RefreshToken t set t.revokedAt = :now where t.familyId = :familyId and t.revokedAt is null")
+    int revokeFamily(@Param("familyId") UUID familyId, @Param("now") Instant now);
+
+    /** Keyset chunk of ids that cleanup may delete: expired, or revoked before the cutoff. */
+    @Query("""
+      select t.id
+        from RefreshToken t
+       where t.id > :afterId
+         and (t.expiresAt < :now or t.revokedAt < :revokedCutoff)
+       order by t.id asc
+    """)
+    List<Long> findDeletableIdsAfter(@Param("afterId") long afterId,
+                                     @Param("now") Instant now,
+                                     @Param("revokedCutoff") Instant revokedCutoff,
+                                     Pageable pageable);
 
     @Modifying
-    @Query("delete from RefreshToken t where t.revokedAt is not null and t.revokedAt < :cutoff")
-    int deleteRevokedBefore(@Param("cutoff") Instant cutoff);
+    @Query("delete from RefreshToken t where t.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
 }
@@ -4,7 +4,7 @@ import com.tennismatch.backend.domain.entries.UserProfile;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
-import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -53,14 +53,22 @@ public interface UserProfileRepository extends JpaRepository<UserProfile, Long>
     """)
     List<ActiveUserRow> findActiveUsersSince(@Param("cutoff") Instant cutoff);
 
-    @Modifying
     @Query("""
-        update UserProfile u
-           set u.lastActiveAt = :now
-         where u.id = :userId
-           and (u.lastActiveAt is null or u.lastActiveAt < :threshold)
+      select u.id as id, u.email as email
+        from UserProfile u
+       where u.lastActiveAt >= :cutoff
+         and u.id > :afterId
+       order by u.id asc
+    """)
+    List<ActiveUserRow> findActiveUsersAfterId(@Param("cutoff") Instant cutoff,
+                                               @Param("afterId") long afterId,
+                                               Pageable pageable);
+
+    @Query("""
+      select u.id as id, u.email as email
+        from UserProfile u
+       where u.id in :ids
+       order by u.id asc
     """)
-    int touchLastActive(@Param("userId") Long userId,
-                        @Param("now") Instant now,
-                        @Param("threshold") Instant threshold);
+    List<ActiveUserRow> findUserRowsByIds(@Param("ids") Collection<Long> ids);
 }
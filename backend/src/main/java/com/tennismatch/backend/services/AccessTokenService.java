@@ -0,0 +1,239 @@
+package com.tennismatch.backend.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived signed access tokens for {@code app.auth.mode=token}.
+ * <p>
+ * Tokens are compact HS256 JWTs ({@code sub} = user id, {@code email}, {@code jti}, {@code iat}, {@code exp}) signed
+ * with the first key of {@code app.auth.token.keys}; every key in the ring verifies, so keys can be rotated by
+ * prepending a new one and dropping the old one after one token TTL. Verification is local. Revocations (single
+ * {@code jti}, or every token of a user issued before a point in time) are written to Redis and pulled into memory
+ * every {@code app.auth.token.revocation-sync}, so requests never wait on Redis.
+ */
+@Service
+public class AccessTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(AccessTokenService.class);
+
+    static final String REVOKED_JTI_KEY = "auth:access:revoked";       // zset jti -> exp (epoch s)
+    static final String USER_NOT_BEFORE_KEY = "auth:access:not-before"; // hash userId -> epoch s
+    private static final String ALG = "HmacSHA256";
+    private static final int MIN_KEY_BYTES = 32;
+    private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder B64D = Base64.getUrlDecoder();
+
+    public record Claims(long userId, String email, String jti, long expiresAtEpochSec) {}
+
+    private final ObjectProvider<StringRedisTemplate> redisProvider;
+    private final Clock clock;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final SecureRandom random = new SecureRandom();
+    private final Counter rejected;
+
+    // kid -> key; the first entry signs
+    private final Map<String, SecretKeySpec> keyRing = new LinkedHashMap<>();
+    private String signingKid;
+
+    // jti -> exp (epoch s), userId -> not-before (epoch s); local mirrors of the Redis revocation lists
+    private final ConcurrentHashMap<String, Long> revokedJti = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Long> userNotBefore = new ConcurrentHashMap<>();
+
+    @Value("${app.auth.mode:session}")
+    private String authMode;
+
+    @Value("${app.auth.token.keys:}")
+    private String keys;
+
+    @Value("${app.auth.token.ttl:PT10M}")
+    private Duration ttl;
+
+    @Value("${localhost.boolean:false}")
+    private boolean localhostIsActive;
+
+    public AccessTokenService(ObjectProvider<StringRedisTemplate> redisProvider, Clock clock, MeterRegistry meterRegistry) {
+        this.redisProvider = redisProvider;
+        this.clock = clock;
+        this.rejected = meterRegistry.counter("auth.access-token.rejected");
+    }
+
+    @PostConstruct
+    void loadKeys() {
+        if (!isEnabled()) return;
+        for (String entry : keys.split(",")) {
+            if (!StringUtils.hasText(entry)) continue;
+            int colon = entry.indexOf(':');
+            if (colon <= 0) throw new IllegalStateException("app.auth.token.keys entries must be kid:base64key");
+            String kid = entry.substring(0, colon).trim();
+            byte[] secret = Base64.getDecoder().decode(entry.substring(colon + 1).trim());
+            if (secret.length < MIN_KEY_BYTES) {
+                throw new IllegalStateException("Access token key " + kid + " must be at least " + MIN_KEY_BYTES + " bytes");
+            }
+            keyRing.put(kid, new SecretKeySpec(secret, ALG));
+        }
+        if (keyRing.isEmpty()) {
+            if (!localhostIsActive) throw new IllegalStateException("app.auth.token.keys must be set when app.auth.mode=token");
+            byte[] secret = new byte[MIN_KEY_BYTES];
+            random.nextBytes(secret);
+            keyRing.put("dev", new SecretKeySpec(secret, ALG));
+            log.warn("app.auth.token.keys is not set; using a random dev-only key (tokens die with the process).");
+        }
+        signingKid = keyRing.keySet().iterator().next();
+        log.info("Access tokens enabled: kids={} signing={} ttl={}", keyRing.keySet(), signingKid, ttl);
+    }
+
+    public boolean isEnabled() {
+        return "token".equalsIgnoreCase(authMode);
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public String issue(long userId, String email) {
+        long now = clock.millis() / 1000;
+        byte[] jtiBytes = new byte[16];
+        random.nextBytes(jtiBytes);
+
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("alg", "HS256");
+        header.put("typ", "JWT");
+        header.put("kid", signingKid);
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("sub", Long.toString(userId));
+        payload.put("email", email);
+        payload.put("jti", B64.encodeToString(jtiBytes));
+        payload.put("iat", now);
+        payload.put("exp", now + ttl.toSeconds());
+        try {
+            String signingInput = B64.encodeToString(mapper.writeValueAsBytes(header)) + "."
+                    + B64.encodeToString(mapper.writeValueAsBytes(payload));
+            return signingInput + "." + B64.encodeToString(sign(keyRing.get(signingKid), signingInput));
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not sign access token", e);
+        }
+    }
+
+    /** Claims of a valid, unexpired, unrevoked token; empty otherwise. No network I/O. */
+    public Optional<Claims> verify(String token) {
+        if (!isEnabled() || !StringUtils.hasText(token)) return Optional.empty();
+        int dot1 = token.indexOf('.'), dot2 = token.lastIndexOf('.');
+        if (dot1 <= 0 || dot2 <= dot1) return reject();
+        try {
+            JsonNode header = mapper.readTree(B64D.decode(token.substring(0, dot1)));
+            SecretKeySpec key = keyRing.get(header.path("kid").asText());
+            if (key == null || !"HS256".equals(header.path("alg").asText())) return reject();
+            byte[] expected = sign(key, token.substring(0, dot2));
+            if (!MessageDigest.isEqual(expected, B64D.decode(token.substring(dot2 + 1)))) return reject();
+
+            JsonNode p = mapper.readTree(B64D.decode(token.substring(dot1 + 1, dot2)));
+            long now = clock.millis() / 1000;
+            long exp = p.path("exp").asLong(0);
+            if (exp <= now) return Optional.empty(); // expired is routine, not a rejection
+            long userId = Long.parseLong(p.path("sub").asText());
+            String jti = p.path("jti").asText();
+            Long notBefore = userNotBefore.get(userId);
+            if (revokedJti.containsKey(jti) || (notBefore != null && p.path("iat").asLong(0) < notBefore)) {
+                return reject();
+            }
+            return Optional.of(new Claims(userId, p.path("email").asText(null), jti, exp));
+        } catch (IllegalArgumentException | java.io.IOException | GeneralSecurityException e) {
+            return reject();
+        }
+    }
+
+    /** Revokes one token (logout). Effective locally at once, on other nodes after the next sync. */
+    public void revoke(Claims claims) {
+        revokedJti.put(claims.jti(), claims.expiresAtEpochSec());
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis == null) return;
+        try {
+            redis.opsForZSet().add(REVOKED_JTI_KEY, claims.jti(), claims.expiresAtEpochSec());
+        } catch (RuntimeException ex) {
+            log.warn("Access token revocation not shared (Redis unavailable) userId={} message={}", claims.userId(), ex.getMessage());
+        }
+    }
+
+    /** Revokes every access token of the user issued up to now (refresh token reuse, account lock). */
+    public void revokeAllForUser(long userId) {
+        // second granularity: a token issued in the same second as the revocation stays valid
+        long now = clock.millis() / 1000;
+        userNotBefore.merge(userId, now, Math::max);
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis == null) return;
+        try {
+            redis.opsForHash().put(USER_NOT_BEFORE_KEY, Long.toString(userId), Long.toString(now));
+        } catch (RuntimeException ex) {
+            log.warn("Access token revocation not shared (Redis unavailable) userId={} message={}", userId, ex.getMessage());
+        }
+    }
+
+    /** Pulls revocations from Redis and drops entries that can no longer match a live token. */
+    @Scheduled(fixedDelayString = "${app.auth.token.revocation-sync:PT5S}")
+    public void syncRevocations() {
+        if (!isEnabled()) return;
+        long now = clock.millis() / 1000;
+        long oldestLiveIat = now - ttl.toSeconds();
+        revokedJti.values().removeIf(exp -> exp <= now);
+        userNotBefore.values().removeIf(nbf -> nbf <= oldestLiveIat);
+
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis == null) return;
+        try {
+            redis.opsForZSet().removeRangeByScore(REVOKED_JTI_KEY, Double.NEGATIVE_INFINITY, now);
+            Set<String> jtis = redis.opsForZSet().rangeByScore(REVOKED_JTI_KEY, now, Double.POSITIVE_INFINITY);
+            if (jtis != null) {
+                // the exact exp is not needed locally; one TTL from now is an upper bound
+                jtis.forEach(jti -> revokedJti.putIfAbsent(jti, now + ttl.toSeconds()));
+            }
+            redis.opsForHash().entries(USER_NOT_BEFORE_KEY).forEach((k, v) -> {
+                long nbf = Long.parseLong(v.toString());
+                if (nbf <= oldestLiveIat) {
+                    redis.opsForHash().delete(USER_NOT_BEFORE_KEY, k);
+                } else {
+                    userNotBefore.merge(Long.parseLong(k.toString()), nbf, Math::max);
+                }
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Access token revocation sync failed: {}", ex.getMessage());
+        }
+    }
+
+    private static byte[] sign(SecretKeySpec key, String signingInput) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance(ALG);
+        mac.init(key);
+        return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Optional<Claims> reject() {
+        rejected.increment();
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,233 @@
+package com.tennismatch.backend.services;
+
+import com.tennismatch.backend.domain.entries.EmailOutbox;
+import com.tennismatch.backend.domain.enums.EmailOutboxStatus;
+import com.tennismatch.backend.repositories.EmailOutboxRepository;
+import com.tennismatch.backend.utils.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Delivers queued emails from {@code email_outbox}.
+ * <ul>
+ *   <li>Claim: due rows are locked {@code FOR UPDATE SKIP LOCKED}, marked SENDING with a lease
+ *       ({@code app.mail.outbox.lease}) and committed, so several nodes can dispatch without double sends and a
+ *       node that dies mid-send releases its rows when the lease runs out.</li>
+ *   <li>Send: a bounded {@code mail-} pool ({@code app.mail.outbox.concurrency}) paced by a token bucket
+ *       ({@code app.mail.outbox.rate-per-second}, burst {@code app.mail.outbox.burst}) toward the provider.</li>
+ *   <li>Outcome: SENT, or back to PENDING with exponential backoff and jitter; after
+ *       {@code app.mail.outbox.max-attempts} the row goes to DEAD and stays for inspection.</li>
+ *   <li>Expiry: rows with {@code expires_at} (verification codes) go to DEAD unsent once it has passed, including
+ *       when the next retry would fall after it, and their body is dropped once SENT or DEAD.</li>
+ * </ul>
+ */
+@Component
+public class EmailOutboxDispatcher implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+    private static final int MAX_BATCHES_PER_POLL = 20;
+    private static final int CLEANUP_CHUNK = 1000;
+
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailProvider provider;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final ThreadPoolTaskExecutor sendExecutor;
+    private final TokenBucket rateLimit;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter dead;
+    private final Counter expired;
+    private final Timer sendTimer;
+
+    @Value("${app.mail.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.backoff-base:PT30S}")
+    private Duration backoffBase;
+
+    @Value("${app.mail.outbox.backoff-max:PT6H}")
+    private Duration backoffMax;
+
+    @Value("${app.mail.outbox.lease:PT2M}")
+    private Duration lease;
+
+    @Value("${app.mail.outbox.retention:P7D}")
+    private Duration retention;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository outboxRepository,
+                                 EmailProvider provider,
+                                 TransactionTemplate transactionTemplate,
+                                 Clock clock,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.mail.outbox.concurrency:4}") int concurrency,
+                                 @Value("${app.mail.outbox.rate-per-second:5}") int ratePerSecond,
+                                 @Value("${app.mail.outbox.burst:10}") int burst) {
+        this.outboxRepository = outboxRepository;
+        this.provider = provider;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+        this.rateLimit = new TokenBucket(ratePerSecond, burst);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.max(1, concurrency));
+        executor.setMaxPoolSize(Math.max(1, concurrency));
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("mail-");
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        this.sendExecutor = executor;
+
+        this.sent = Counter.builder("email.outbox.sent").tag("provider", provider.name()).register(meterRegistry);
+        this.retried = Counter.builder("email.outbox.failed").tag("provider", provider.name()).tag("result", "retry")
+                .register(meterRegistry);
+        this.dead = Counter.builder("email.outbox.failed").tag("provider", provider.name()).tag("result", "dead")
+                .register(meterRegistry);
+        this.expired = Counter.builder("email.outbox.failed").tag("provider", provider.name()).tag("result", "expired")
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("email.outbox.send.duration").tag("provider", provider.name())
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll:PT1S}")
+    public void poll() {
+        if (!enabled) return;
+        try {
+            for (int i = 0; i < MAX_BATCHES_PER_POLL; i++) {
+                if (dispatchOnce() < batchSize) break;
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Email outbox dispatch failed: {}", ex.getMessage());
+        }
+    }
+
+    /** Claims and delivers one batch; returns the number of rows claimed. */
+    public int dispatchOnce() {
+        Instant now = Instant.now(clock);
+        List<EmailOutbox> batch = transactionTemplate.execute(tx -> {
+            int expiredNow = outboxRepository.expireDue(now);
+            if (expiredNow > 0) {
+                expired.increment(expiredNow);
+                log.info("Email outbox expired: rows={}", expiredNow);
+            }
+            List<Long> ids = outboxRepository.lockDueBatch(now, batchSize);
+            if (ids.isEmpty()) return List.<EmailOutbox>of();
+            outboxRepository.claim(ids, now.plus(lease));
+            return outboxRepository.findAllById(ids);
+        });
+        if (batch == null || batch.isEmpty()) return 0;
+
+        List<CompletableFuture<Void>> sends = batch.stream()
+                .map(row -> CompletableFuture.runAsync(() -> deliver(row), sendExecutor))
+                .toList();
+
+        List<Long> delivered = new ArrayList<>();
+        List<Runnable> failures = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            EmailOutbox row = batch.get(i);
+            try {
+                sends.get(i).join();
+                delivered.add(row.getId());
+            } catch (RuntimeException ex) {
+                Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                failures.add(() -> recordFailure(row, cause));
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            if (!delivered.isEmpty()) {
+                outboxRepository.markSent(delivered, Instant.now(clock));
+                outboxRepository.redactExpiring(delivered);
+            }
+            failures.forEach(Runnable::run);
+        });
+        sent.increment(delivered.size());
+        return batch.size();
+    }
+
+    private void deliver(EmailOutbox row) {
+        rateLimit.acquire();
+        sendTimer.record(() -> provider.send(row.getToEmail(), row.getSubject(), row.getHtml()));
+    }
+
+    private void recordFailure(EmailOutbox row, Throwable cause) {
+        // attempts was incremented by the claim
+        String error = truncate(cause.getClass().getSimpleName() + ": " + cause.getMessage(), 1000);
+        Instant next = Instant.now(clock).plus(backoff(row.getAttempts()));
+        boolean pastExpiry = row.getExpiresAt() != null && !next.isBefore(row.getExpiresAt());
+        if (row.getAttempts() >= maxAttempts || pastExpiry) {
+            outboxRepository.markFailed(row.getId(), EmailOutboxStatus.DEAD, row.getNextAttemptAt(), error);
+            outboxRepository.redactExpiring(List.of(row.getId()));
+            (pastExpiry ? expired : dead).increment();
+            log.warn("Email outbox dead: id={} kind={} attempts={} expired={} error={}",
+                    row.getId(), row.getKind(), row.getAttempts(), pastExpiry, error);
+        } else {
+            outboxRepository.markFailed(row.getId(), EmailOutboxStatus.PENDING, next, error);
+            retried.increment();
+            log.info("Email outbox retry: id={} kind={} attempts={} next={} error={}", row.getId(), row.getKind(), row.getAttempts(), next, error);
+        }
+    }
+
+    /** base * 2^(attempts-1), capped, with +-20% jitter so a provider outage does not release everything at once. */
+    Duration backoff(int attempts) {
+        long baseMs = backoffBase.toMillis();
+        long capMs = backoffMax.toMillis();
+        long ms = attempts >= 31 ? capMs : Math.min(capMs, baseMs << Math.max(0, attempts - 1));
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return Duration.ofMillis((long) (ms * jitter));
+    }
+
+    /** Deletes SENT rows older than the retention in small transactions; DEAD rows are kept. */
+    @Scheduled(cron = "${app.mail.outbox.cleanup.cron:0 40 4 * * *}")
+    public void cleanup() {
+        if (!enabled) return;
+        Instant cutoff = Instant.now(clock).minus(retention);
+        int deleted = 0;
+        while (true) {
+            Integer n = transactionTemplate.execute(tx -> {
+                List<Long> ids = outboxRepository.findSentBefore(cutoff, CLEANUP_CHUNK);
+                return ids.isEmpty() ? 0 : outboxRepository.deleteByIds(ids);
+            });
+            if (n == null || n == 0) break;
+            deleted += n;
+            if (n < CLEANUP_CHUNK) break;
+        }
+        if (deleted > 0) {
+            log.info("Email outbox cleanup: deleted={} cutoff={}", deleted, cutoff);
+        }
+    }
+
+    private static String truncate(String s, int max) {
+        return s == null || s.length() <= max ? s : s.substring(0, max);
+    }
+
+    @Override
+    public void destroy() {
+        sendExecutor.shutdown();
+    }
+}
@@ -0,0 +1,7 @@
+package com.tennismatch.backend.services;
+
+/** Delivers one email synchronously; selected by {@code app.mail.provider}. Any exception means "not delivered". */
+public interface EmailProvider {
+    String name();
+    void send(String toEmail, String subject, String html);
+}
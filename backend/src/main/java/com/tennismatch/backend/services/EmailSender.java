@@ -1,6 +1,31 @@
 package com.tennismatch.backend.services;
 
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outbound email. Calls only queue the message (a row in {@code email_outbox}); delivery, retries and provider
+ * rate limits are handled by {@code EmailOutboxDispatcher}.
+ */
 public interface EmailSender {
     void sendVerificationCodeHtml(String toEmail, String code);
     void sendNotificationEmail(String toEmail, String subject, String heading, String message, String ctaUrl);
+
+    /** Content of one {@link #sendNotificationEmails(List)} entry; same fields as {@link #sendNotificationEmail}. */
+    record Notification(String toEmail, String subject, String heading, String message, String ctaUrl) {}
+
+    /** Queues many notifications in one batched insert (digest runs). All or none are queued. */
+    void sendNotificationEmails(List<Notification> notifications);
+
+    /**
+     * Queues a pre-rendered email; lower {@code priority} is delivered first.
+     * @return outbox id
+     */
+    long enqueue(String kind, int priority, String toEmail, String subject, String html);
+
+    /**
+     * Like {@link #enqueue(String, int, String, String, String)}, but the mail is dropped (DEAD) instead of sent
+     * once {@code ttl} has passed, and its body is not kept after delivery. For mails carrying short-lived secrets.
+     */
+    long enqueue(String kind, int priority, String toEmail, String subject, String html, Duration ttl);
 }
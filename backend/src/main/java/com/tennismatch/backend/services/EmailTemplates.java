@@ -1,32 +1,117 @@
 package com.tennismatch.backend.services;
 
-public final class EmailTemplates {
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
-    private EmailTemplates() {}
+/**
+ * HTML email templates. Each template is parsed into literal/placeholder segments once at class load, so
+ * rendering is a single pass into a pre-sized buffer. Values are HTML-escaped.
+ */
+public final class EmailTemplates {
 
-    public static String notificationHtml(String projectName,
-                                          String heading,
-                                          String message,
-                                          String ctaUrl,
-                                          String ctaLabel) {
-        return """
+    private static final Template NOTIFICATION = Template.compile("""
             <div style="font-family:Arial,sans-serif;background:#f6f7f9;padding:24px">
               <div style="max-width:560px;margin:0 auto;background:#ffffff;border-radius:14px;padding:24px">
-                <div style="font-size:20px;font-weight:700;color:#101418;margin-bottom:10px">%s</div>
-                <div style="font-size:15px;line-height:1.5;color:#3b4147;margin-bottom:18px">%s</div>
-                <a href="%s"
+                <div style="font-size:20px;font-weight:700;color:#101418;margin-bottom:10px">{{heading}}</div>
+                <div style="font-size:15px;line-height:1.5;color:#3b4147;margin-bottom:18px">{{message}}</div>
+                <a href="{{ctaUrl}}"
                    style="display:inline-block;padding:12px 20px;background:#0E5628;color:#ffffff;text-decoration:none;border-radius:10px;font-weight:700">
-                  %s
+                  {{ctaLabel}}
                 </a>
                 <div style="margin-top:20px;font-size:12px;color:#7a828a">
                   If the button does not work, copy and paste this link into your browser:<br/>
-                  <span>%s</span>
+                  <span>{{ctaUrl}}</span>
                 </div>
               </div>
               <div style="max-width:560px;margin:10px auto 0 auto;font-size:12px;color:#9aa2a9;text-align:center">
-                %s
+                {{projectName}}
               </div>
             </div>
-        """.formatted(heading, message, ctaUrl, ctaLabel, ctaUrl, projectName);
+            """);
+
+    private static final Template VERIFICATION_CODE = Template.compile("""
+            <div style="font-family:Arial,sans-serif">
+              <p>Hello!</p>
+              <p>Your verification code:</p>
+              <p style="font-size:22px;font-weight:700;letter-spacing:2px">{{code}}</p>
+              <p>This code expires in <b>10 minutes</b>.</p>
+              <p>— {{projectName}} Team</p>
+            </div>
+            """);
+
+    private EmailTemplates() {}
+
+    public static String notificationHtml(String projectName,
+                                          String heading,
+                                          String message,
+                                          String ctaUrl,
+                                          String ctaLabel) {
+        return NOTIFICATION.render(Map.of(
+                "projectName", projectName,
+                "heading", heading,
+                "message", message,
+                "ctaUrl", ctaUrl,
+                "ctaLabel", ctaLabel));
+    }
+
+    public static String verificationCodeHtml(String projectName, String code) {
+        return VERIFICATION_CODE.render(Map.of("projectName", projectName, "code", code));
+    }
+
+    static final class Template {
+        private final String[] literals;   // literals.length == names.length + 1
+        private final String[] names;
+        private final int literalLength;
+
+        private Template(String[] literals, String[] names) {
+            this.literals = literals;
+            this.names = names;
+            int len = 0;
+            for (String literal : literals) len += literal.length();
+            this.literalLength = len;
+        }
+
+        static Template compile(String source) {
+            List<String> literals = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            int pos = 0;
+            while (true) {
+                int open = source.indexOf("{{", pos);
+                if (open < 0) break;
+                int close = source.indexOf("}}", open);
+                if (close < 0) throw new IllegalArgumentException("Unclosed placeholder at " + open);
+                literals.add(source.substring(pos, open));
+                names.add(source.substring(open + 2, close).trim());
+                pos = close + 2;
+            }
+            literals.add(source.substring(pos));
+            return new Template(literals.toArray(String[]::new), names.toArray(String[]::new));
+        }
+
+        String render(Map<String, String> values) {
+            StringBuilder out = new StringBuilder(literalLength + names.length * 32);
+            for (int i = 0; i < names.length; i++) {
+                out.append(literals[i]);
+                String value = values.get(names[i]);
+                if (value == null) throw new IllegalArgumentException("Missing template value: " + names[i]);
+                escapeHtml(value, out);
+            }
+            return out.append(literals[names.length]).toString();
+        }
+
+        private static void escapeHtml(String value, StringBuilder out) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '&' -> out.append("&amp;");
+                    case '<' -> out.append("&lt;");
+                    case '>' -> out.append("&gt;");
+                    case '"' -> out.append("&quot;");
+                    case '\'' -> out.append("&#39;");
+                    default -> out.append(c);
+                }
+            }
+        }
     }
 }
@@ -6,7 +6,20 @@ import java.time.Duration;
 import java.util.Optional;
 
 public interface FlowStore {
+    /** {@link #recordFailedAttempt} result: the flow no longer exists. */
+    int NOT_FOUND = -1;
+    /** {@link #recordFailedAttempt} result: the stored code equals the submitted one (the caller's copy was stale). */
+    int CODE_MATCHES = -2;
+
     void save(String flowId, AuthFlowDto flow, Duration ttl);
     Optional<AuthFlowDto> find(String flowId);
     void delete(String flowId);
+
+    /**
+     * Counts a wrong code against the flow without rewriting it. Stores make the check-and-increment atomic, so
+     * parallel guesses cannot all slip in under the attempt limit.
+     *
+     * @return attempts after this one, {@link #CODE_MATCHES} or {@link #NOT_FOUND}
+     */
+    int recordFailedAttempt(String flowId, String code);
 }
@@ -0,0 +1,130 @@
+package com.tennismatch.backend.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Two-level cache for geocode results keyed by the normalized query: a bounded in-process LRU in front of Redis
+ * ({@code geocode:v1:{query}}). "No result" is cached too, with a short TTL, so repeated typos do not reach Mapbox.
+ */
+@Component
+public class GeocodeCache {
+
+    private static final Logger log = LoggerFactory.getLogger(GeocodeCache.class);
+    private static final String KEY_PREFIX = "geocode:v1:";
+    private static final String NEGATIVE = "-";
+
+    /** A cached answer; {@code result == null} means "Mapbox had no match". */
+    public record Hit(MapboxGeocodingService.GeoResult result) {}
+
+    private final ObjectProvider<StringRedisTemplate> redisProvider;
+    private final ObjectMapper mapper;
+    private final Clock clock;
+    private final Map<String, LocalEntry> local;
+    private final ReentrantLock localLock = new ReentrantLock();
+    private final Duration ttl;
+    private final Duration negativeTtl;
+    private final Duration localTtl;
+
+    public GeocodeCache(ObjectProvider<StringRedisTemplate> redisProvider,
+                        ObjectMapper mapper,
+                        Clock clock,
+                        @Value("${app.geocode.cache.local-size:2000}") int localSize,
+                        @Value("${app.geocode.cache.ttl:P30D}") Duration ttl,
+                        @Value("${app.geocode.cache.negative-ttl:PT10M}") Duration negativeTtl,
+                        @Value("${app.geocode.cache.local-ttl:PT1H}") Duration localTtl) {
+        this.redisProvider = redisProvider;
+        this.mapper = mapper;
+        this.clock = clock;
+        this.ttl = ttl;
+        this.negativeTtl = negativeTtl;
+        this.localTtl = localTtl;
+        this.local = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LocalEntry> eldest) {
+                return size() > localSize;
+            }
+        };
+    }
+
+    /** Lower-case, NFKC, single spaces, no surrounding punctuation: "  San  Diego, " -> "san diego". */
+    public static String normalize(String query) {
+        String s = Normalizer.normalize(query, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        s = s.replaceAll("\\s+", " ").trim();
+        return s.replaceAll("^[\\p{Punct}\\s]+|[\\p{Punct}\\s]+$", "");
+    }
+
+    public Optional<Hit> getLocal(String key) {
+        long now = clock.millis();
+        localLock.lock();
+        try {
+            LocalEntry e = local.get(key);
+            if (e == null) return Optional.empty();
+            if (e.expiresAtMs <= now) {
+                local.remove(key);
+                return Optional.empty();
+            }
+            return Optional.of(new Hit(e.result));
+        } finally {
+            localLock.unlock();
+        }
+    }
+
+    public Optional<Hit> getShared(String key) {
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis == null) return Optional.empty();
+        try {
+            String raw = redis.opsForValue().get(KEY_PREFIX + key);
+            if (raw == null) return Optional.empty();
+            Hit hit = new Hit(NEGATIVE.equals(raw) ? null : mapper.readValue(raw, MapboxGeocodingService.GeoResult.class));
+            putLocal(key, hit.result());
+            return Optional.of(hit);
+        } catch (JsonProcessingException | RuntimeException ex) {
+            log.warn("Geocode cache read failed key={} message={}", key, ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void put(String key, MapboxGeocodingService.GeoResult result) {
+        putLocal(key, result);
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis == null) return;
+        try {
+            String raw = result == null ? NEGATIVE : mapper.writeValueAsString(result);
+            redis.opsForValue().set(KEY_PREFIX + key, raw, result == null ? negativeTtl : ttl);
+        } catch (JsonProcessingException | RuntimeException ex) {
+            log.warn("Geocode cache write failed key={} message={}", key, ex.getMessage());
+        }
+    }
+
+    private void putLocal(String key, MapboxGeocodingService.GeoResult result) {
+        Duration entryTtl = result == null ? min(negativeTtl, localTtl) : localTtl;
+        localLock.lock();
+        try {
+            local.put(key, new LocalEntry(result, clock.millis() + entryTtl.toMillis()));
+        } finally {
+            localLock.unlock();
+        }
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    private record LocalEntry(MapboxGeocodingService.GeoResult result, long expiresAtMs) {}
+}
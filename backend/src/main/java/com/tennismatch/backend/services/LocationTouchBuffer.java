@@ -0,0 +1,76 @@
+package com.tennismatch.backend.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind for location "touches": updates that did not move the user (GPS jitter) and only refresh
+ * {@code updated_at} / {@code accuracy_m}. Touches are coalesced per user and flushed in one JDBC batch.
+ */
+@Component
+@RequiredArgsConstructor
+public class LocationTouchBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(LocationTouchBuffer.class);
+
+    // Never moves updated_at backwards, so a touch queued before a real move cannot overwrite it.
+    private static final String TOUCH_SQL = """
+            update user_location
+               set updated_at = ?,
+                   accuracy_m = coalesce(?, accuracy_m)
+             where user_id = ?
+               and updated_at < ?
+            """;
+
+    public record Touch(OffsetDateTime updatedAt, Double accuracyM) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, Touch> pending = new ConcurrentHashMap<>();
+
+    public void touch(long userId, OffsetDateTime updatedAt, Double accuracyM) {
+        pending.merge(userId, new Touch(updatedAt, accuracyM),
+                (old, now) -> new Touch(now.updatedAt(), now.accuracyM() != null ? now.accuracyM() : old.accuracyM()));
+    }
+
+    /** Not yet flushed touch for the user, if any (lets reads reflect it immediately). */
+    public Touch pending(long userId) {
+        return pending.get(userId);
+    }
+
+    /** Drops a queued touch; called when a full update supersedes it. */
+    public void discard(long userId) {
+        pending.remove(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.location.touch.flush-interval:PT5S}")
+    public void flush() {
+        if (pending.isEmpty()) return;
+        List<Object[]> rows = new ArrayList<>(pending.size());
+        for (Long userId : List.copyOf(pending.keySet())) {
+            Touch t = pending.remove(userId);
+            if (t != null) rows.add(new Object[]{t.updatedAt(), t.accuracyM(), userId, t.updatedAt()});
+        }
+        try {
+            jdbcTemplate.batchUpdate(TOUCH_SQL, rows);
+        } catch (RuntimeException e) {
+            // Touches are best-effort freshness data; losing one batch only delays updated_at.
+            log.warn("Location touch flush failed: rows={} message={}", rows.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+}
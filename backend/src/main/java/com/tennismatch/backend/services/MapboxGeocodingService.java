@@ -1,45 +1,144 @@
 package com.tennismatch.backend.services;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.tennismatch.backend.observability.RequestTimings;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 import org.springframework.web.util.UriUtils;
 
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
-import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Forward geocoding via Mapbox. Results (including "no match") are cached by normalized query in
+ * {@link GeocodeCache}; concurrent lookups of the same query share one upstream call. Upstream HTTP goes through a
+ * pooled, timeout-bounded Apache client.
+ */
 @Service
-public class MapboxGeocodingService {
+public class MapboxGeocodingService implements DisposableBean {
+
     private final RestTemplate restTemplate;
+    private final CloseableHttpClient httpClient;
+    private final GeocodeCache cache;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, CompletableFuture<Optional<GeoResult>>> inFlight = new ConcurrentHashMap<>();
+    private final String baseUrl;
+    private final String token;
 
-    @Value("${app.mapbox.token:}")
-    private String token;
+    public MapboxGeocodingService(RestTemplateBuilder builder,
+                                  GeocodeCache cache,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.mapbox.token:}") String token,
+                                  @Value("${app.mapbox.base-url:https://api.mapbox.com}") String baseUrl,
+                                  @Value("${app.mapbox.http.max-connections:20}") int maxConnections,
+                                  @Value("${app.mapbox.http.connect-timeout:PT2S}") Duration connectTimeout,
+                                  @Value("${app.mapbox.http.read-timeout:PT5S}") Duration readTimeout) {
+        this.cache = cache;
+        this.meterRegistry = meterRegistry;
+        this.token = token;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+
+        PoolingHttpClientConnectionManager pool = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .build())
+                .build();
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(pool)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        // waiting for a pooled connection counts against the same budget as connecting
+                        .setConnectionRequestTimeout(Timeout.of(connectTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .evictIdleConnections(Timeout.ofMinutes(1))
+                .build();
+        this.restTemplate = builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
+    }
 
-    public MapboxGeocodingService(RestTemplateBuilder builder) {
-        this.restTemplate = builder.build();
+    /** Cache-only lookup (local, then Redis); never calls Mapbox. */
+    public Optional<GeocodeCache.Hit> cached(String query) {
+        if (query == null || query.isBlank()) return Optional.empty();
+        String key = GeocodeCache.normalize(query);
+        Optional<GeocodeCache.Hit> hit = cache.getLocal(key);
+        if (hit.isPresent()) {
+            count("hit_local");
+            return hit;
+        }
+        hit = cache.getShared(key);
+        if (hit.isPresent()) count("hit_redis");
+        return hit;
     }
 
     public Optional<GeoResult> geocode(String query) {
         if (query == null || query.isBlank()) return Optional.empty();
+        Optional<GeocodeCache.Hit> hit = cached(query);
+        if (hit.isPresent()) return Optional.ofNullable(hit.get().result());
+
+        String key = GeocodeCache.normalize(query);
+        CompletableFuture<Optional<GeoResult>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<GeoResult>> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            count("coalesced");
+            return join(existing);
+        }
+        try {
+            count("miss");
+            Optional<GeoResult> result = fetch(key);
+            cache.put(key, result.orElse(null));
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException ex) {
+            // Errors are not cached; waiters get the same failure.
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private Optional<GeoResult> fetch(String normalizedQuery) {
         if (token == null || token.isBlank()) {
             throw new IllegalStateException("Mapbox token not configured");
         }
 
-        String encodedQuery = UriUtils.encodePathSegment(query, StandardCharsets.UTF_8);
-        String url = UriComponentsBuilder
-                .fromHttpUrl("https://api.mapbox.com/geocoding/v5/mapbox.places/" + encodedQuery + ".json")
+        String encodedQuery = UriUtils.encodePathSegment(normalizedQuery, StandardCharsets.UTF_8);
+        // Already encoded: pass a URI so RestTemplate does not encode the '%' again.
+        URI url = UriComponentsBuilder
+                .fromUriString(baseUrl + "/geocoding/v5/mapbox.places/" + encodedQuery + ".json")
                 .queryParam("access_token", token)
                 .queryParam("limit", 1)
                 .queryParam("types", "address,place,locality,neighborhood,poi")
                 .queryParam("language", "en")
                 .build(true)
-                .toUriString();
+                .toUri();
 
-        MapboxResponse response = restTemplate.getForObject(url, MapboxResponse.class);
+        MapboxResponse response = RequestTimings.time(RequestTimings.Category.EXTERNAL,
+                () -> restTemplate.getForObject(url, MapboxResponse.class));
         if (response == null || response.features == null || response.features.isEmpty()) {
             return Optional.empty();
         }
@@ -50,6 +149,24 @@ public class MapboxGeocodingService {
         return Optional.of(new GeoResult(lat, lon, top.placeName));
     }
 
+    private static Optional<GeoResult> join(CompletableFuture<Optional<GeoResult>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException re) throw re;
+            throw ex;
+        }
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("geocode.requests", "result", result).increment();
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        httpClient.close();
+    }
+
     public record GeoResult(double latitude, double longitude, String placeName) {}
 
     private record MapboxResponse(List<Feature> features) {}
@@ -0,0 +1,279 @@
+package com.tennismatch.backend.services;
+
+import com.tennismatch.backend.chat.websocket.WsSessionRegistry;
+import com.tennismatch.backend.domain.entries.NotificationDigestState;
+import com.tennismatch.backend.domain.enums.NotificationDigestType;
+import com.tennismatch.backend.observability.ProfilingEvents;
+import com.tennismatch.backend.repositories.NotificationDigestStateRepository;
+import com.tennismatch.backend.repositories.UserProfileRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs a notification digest over all recently active users in keyset-paginated chunks.
+ * <p>
+ * Per chunk: one query for digest state, one {@link Composer} call (expected to aggregate the whole chunk
+ * set-based), one batched enqueue of the chunk's emails into the outbox and one batched upsert of
+ * {@code notification_digest_state}. Delivery pace is {@code EmailOutboxDispatcher}'s business.
+ */
+@Component
+public class NotificationDigestEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDigestEngine.class);
+
+    private static final String UPSERT_STATE_SQL = """
+            insert into notification_digest_state (user_id, type, last_sent_at, last_window_start, last_window_end, meta)
+            values (?, ?, ?, ?, ?, ?)
+            on conflict (user_id, type) do update
+               set last_sent_at      = coalesce(excluded.last_sent_at, notification_digest_state.last_sent_at),
+                   last_window_start = excluded.last_window_start,
+                   last_window_end   = excluded.last_window_end,
+                   meta              = excluded.meta
+            """;
+
+    /** A user in the current chunk together with their stored state for the digest type (may be null). */
+    public record Recipient(long userId, String email, NotificationDigestState state) {
+        public Instant lastWindowEnd(Instant fallback) {
+            return state != null && state.getLastWindowEnd() != null ? state.getLastWindowEnd() : fallback;
+        }
+    }
+
+    /** Email content plus the JSON meta stored with the state row. */
+    public record Digest(String subject, String heading, String message, String ctaUrl, String meta) {}
+
+    @FunctionalInterface
+    public interface Composer {
+        /** Returns content per user id; users absent from the map have nothing to send this run. */
+        Map<Long, Digest> compose(List<Recipient> recipients);
+    }
+
+    /**
+     * @param sentCutoff  users whose {@code last_sent_at} is at or after this already got this period's digest
+     * @param windowStart window start stored for each processed user
+     * @param windowEnd   window end stored for each processed user (the next run's watermark)
+     */
+    public record Plan(String name,
+                       NotificationDigestType type,
+                       Instant sentCutoff,
+                       Function<Recipient, Instant> windowStart,
+                       Instant windowEnd,
+                       Composer composer) {}
+
+    public record RunStats(int scanned, int sent, int failed, int skipped, boolean capReached) {}
+
+    private final UserProfileRepository userProfileRepository;
+    private final NotificationDigestStateRepository digestStateRepository;
+    private final EmailSender emailSender;
+    private final WsSessionRegistry wsSessionRegistry;
+    private final UserActivityService userActivityService;
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.notifications.max-per-run:500}")
+    private int maxPerRun;
+
+    // Users with a live WebSocket session already see unread messages/matches in the app.
+    @Value("${app.notifications.skip-online:true}")
+    private boolean skipOnline;
+
+    @Value("${app.notifications.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.notifications.active-window:P14D}")
+    private Duration activeWindow;
+
+    public NotificationDigestEngine(UserProfileRepository userProfileRepository,
+                                    NotificationDigestStateRepository digestStateRepository,
+                                    EmailSender emailSender,
+                                    WsSessionRegistry wsSessionRegistry,
+                                    UserActivityService userActivityService,
+                                    JdbcTemplate jdbcTemplate,
+                                    Clock clock,
+                                    MeterRegistry meterRegistry) {
+        this.userProfileRepository = userProfileRepository;
+        this.digestStateRepository = digestStateRepository;
+        this.emailSender = emailSender;
+        this.wsSessionRegistry = wsSessionRegistry;
+        this.userActivityService = userActivityService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public RunStats run(Plan plan) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Instant runStart = Instant.now(clock);
+        Instant activeCutoff = runStart.minus(activeWindow);
+
+        // Active ids from the shared last-active sorted set when it covers the window; otherwise keyset over the DB.
+        List<Long> activeIds = userActivityService.activeUserIdsSince(activeCutoff).orElse(null);
+
+        int scanned = 0, sent = 0, failed = 0, skipped = 0;
+        boolean capReached = false;
+        long afterId = 0;
+        int offset = 0;
+        while (!capReached) {
+            List<UserProfileRepository.ActiveUserRow> users;
+            if (activeIds != null) {
+                if (offset >= activeIds.size()) break;
+                List<Long> ids = activeIds.subList(offset, Math.min(activeIds.size(), offset + chunkSize));
+                offset += ids.size();
+                users = userProfileRepository.findUserRowsByIds(ids);
+            } else {
+                users = userProfileRepository.findActiveUsersAfterId(activeCutoff, afterId, PageRequest.of(0, chunkSize));
+                if (users.isEmpty()) break;
+                afterId = users.get(users.size() - 1).getId();
+            }
+            scanned += users.size();
+
+            List<UserProfileRepository.ActiveUserRow> candidates = new ArrayList<>(users.size());
+            for (var user : users) {
+                if (skipOnline && wsSessionRegistry.isOnline(user.getId())) {
+                    skipped++;
+                } else {
+                    candidates.add(user);
+                }
+            }
+            if (!candidates.isEmpty()) {
+                ChunkResult result = processChunk(plan, candidates, maxPerRun - sent);
+                sent += result.sent;
+                failed += result.failed;
+                skipped += result.skipped;
+                if (result.capReached) {
+                    log.warn("{}: cap reached (maxPerRun={})", plan.name(), maxPerRun);
+                    capReached = true;
+                }
+            }
+            if (activeIds == null && users.size() < chunkSize) break;
+        }
+
+        if (scanned == 0) {
+            log.info("{}: no active users", plan.name());
+        } else {
+            long durationMs = Duration.between(runStart, Instant.now(clock)).toMillis();
+            log.info("{}: durationMs={} scanned={} sent={} failed={} skipped={} capReached={}",
+                    plan.name(), durationMs, scanned, sent, failed, skipped, capReached);
+        }
+        String type = plan.type().name();
+        sample.stop(meterRegistry.timer("digest.run", "type", type));
+        meterRegistry.counter("digest.emails", "type", type, "result", "sent").increment(sent);
+        meterRegistry.counter("digest.emails", "type", type, "result", "failed").increment(failed);
+        meterRegistry.counter("digest.emails", "type", type, "result", "skipped").increment(skipped);
+        return new RunStats(scanned, sent, failed, skipped, capReached);
+    }
+
+    private ChunkResult processChunk(Plan plan, List<UserProfileRepository.ActiveUserRow> users, int budget) {
+        Map<Long, NotificationDigestState> states = digestStateRepository
+                .findByTypeAndUserIdIn(plan.type(), users.stream().map(UserProfileRepository.ActiveUserRow::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(NotificationDigestState::getUserId, Function.identity()));
+
+        List<Recipient> recipients = new ArrayList<>(users.size());
+        for (var user : users) {
+            NotificationDigestState state = states.get(user.getId());
+            if (state != null && state.getLastSentAt() != null && !state.getLastSentAt().isBefore(plan.sentCutoff())) {
+                continue;
+            }
+            recipients.add(new Recipient(user.getId(), user.getEmail(), state));
+        }
+        ChunkResult result = new ChunkResult();
+        if (recipients.isEmpty()) return result;
+
+        Map<Long, Digest> digests = plan.composer().compose(recipients);
+
+        List<Object[]> upserts = new ArrayList<>(recipients.size());
+        List<Recipient> toSend = new ArrayList<>();
+        for (Recipient r : recipients) {
+            Digest digest = digests.get(r.userId());
+            if (digest == null) {
+                upserts.add(stateRow(plan, r, null, null));
+                result.skipped++;
+            } else if (toSend.size() >= budget) {
+                result.capReached = true;
+                break;
+            } else {
+                toSend.add(r);
+            }
+        }
+
+        if (!toSend.isEmpty()) {
+            Instant sentAt = Instant.now(clock);
+            if (enqueue(plan, toSend, digests)) {
+                for (Recipient r : toSend) {
+                    upserts.add(stateRow(plan, r, sentAt, digests.get(r.userId()).meta()));
+                }
+                result.sent += toSend.size();
+            } else {
+                result.failed += toSend.size();
+            }
+        }
+
+        if (!upserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_STATE_SQL, upserts);
+        }
+        return result;
+    }
+
+    /** Queues the chunk's emails in one batch; on failure none are queued and the users are retried next run. */
+    private boolean enqueue(Plan plan, List<Recipient> recipients, Map<Long, Digest> digests) {
+        ProfilingEvents.DigestBatch event = new ProfilingEvents.DigestBatch();
+        event.begin();
+        event.type = plan.type().name();
+        event.recipients = recipients.size();
+        try {
+            List<EmailSender.Notification> mails = new ArrayList<>(recipients.size());
+            for (Recipient r : recipients) {
+                Digest d = digests.get(r.userId());
+                mails.add(new EmailSender.Notification(r.email(), d.subject(), d.heading(), d.message(), d.ctaUrl()));
+            }
+            emailSender.sendNotificationEmails(mails);
+            event.queued = true;
+            return true;
+        } catch (RuntimeException ex) {
+            log.warn("{} enqueue failed: recipients={} message={}", plan.name(), recipients.size(), ex.getMessage());
+            return false;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private static Object[] stateRow(Plan plan, Recipient r, Instant sentAt, String meta) {
+        return new Object[]{
+                r.userId(),
+                plan.type().name(),
+                utc(sentAt),
+                utc(plan.windowStart().apply(r)),
+                utc(plan.windowEnd()),
+                meta
+        };
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return instant != null ? OffsetDateTime.ofInstant(instant, ZoneOffset.UTC) : null;
+    }
+
+    private static final class ChunkResult {
+        private int sent;
+        private int failed;
+        private int skipped;
+        private boolean capReached;
+    }
+}
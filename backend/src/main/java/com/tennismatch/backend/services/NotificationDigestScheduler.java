@@ -1,24 +1,21 @@
 package com.tennismatch.backend.services;
 
 import com.tennismatch.backend.chat.repositories.MessageRepository;
-import com.tennismatch.backend.domain.entries.NotificationDigestState;
 import com.tennismatch.backend.domain.enums.NotificationDigestType;
 import com.tennismatch.backend.repositories.MatchRepository;
-import com.tennismatch.backend.repositories.NotificationDigestStateRepository;
-import com.tennismatch.backend.repositories.UserProfileRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.Clock;
-import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -29,12 +26,12 @@ public class NotificationDigestScheduler {
 
     private static final Logger log = LoggerFactory.getLogger(NotificationDigestScheduler.class);
     private static final ZoneId SAN_DIEGO_TZ = ZoneId.of("America/Los_Angeles");
+    // string_agg separator used by MessageRepository.aggregateUnreadForDigest (chr(31))
+    private static final String TOP_SENDER_SEPARATOR = "\u001f";
 
-    private final UserProfileRepository userProfileRepository;
-    private final NotificationDigestStateRepository digestStateRepository;
     private final MessageRepository messageRepository;
     private final MatchRepository matchRepository;
-    private final EmailSender emailSender;
+    private final NotificationDigestEngine digestEngine;
     private final Clock clock;
 
     @Value("${frontend.url:http://localhost:3000}")
@@ -46,9 +43,6 @@ public class NotificationDigestScheduler {
     @Value("${app.notifications.weekly.enabled:false}")
     private boolean weeklyEnabled;
 
-    @Value("${app.notifications.max-per-run:500}")
-    private int maxPerRun;
-
     // Dev option: uncomment to send every minute.
     // Make sure the backend is running.
     // Make sure you have unread messages in the DB for a user.
@@ -64,91 +58,20 @@ public class NotificationDigestScheduler {
             log.info("Daily unread digest: disabled by config");
             return;
         }
-        Instant runStart = Instant.now(clock);
         Instant now = Instant.now(clock);
-        Instant activeCutoff = now.minus(Duration.ofDays(14));
-        var users = userProfileRepository.findActiveUsersSince(activeCutoff);
-        if (users.isEmpty()) {
-            log.info("Daily unread digest: no active users");
-            return;
-        }
-
         Instant dayStart = ZonedDateTime.ofInstant(now, SAN_DIEGO_TZ)
                 .toLocalDate()
                 .atStartOfDay(SAN_DIEGO_TZ)
                 .toInstant();
         String ctaUrl = frontendUrl + "/messages";
 
-        int sentCount = 0;
-        int failedCount = 0;
-        int skippedCount = 0;
-        boolean capReached = false;
-        for (var user : users) {
-            if (sentCount >= maxPerRun) {
-                log.warn("Daily unread digest: cap reached (maxPerRun={})", maxPerRun);
-                capReached = true;
-                break;
-            }
-            Long userId = user.getId();
-            String email = user.getEmail();
-            try {
-                NotificationDigestState state = digestStateRepository
-                        .findByUserIdAndType(userId, NotificationDigestType.UNREAD_DAILY)
-                        .orElse(null);
-
-                if (state != null && state.getLastSentAt() != null && !state.getLastSentAt().isBefore(dayStart)) {
-                    continue;
-                }
-
-                Instant since = state != null && state.getLastWindowEnd() != null
-                        ? state.getLastWindowEnd()
-                        : Instant.EPOCH;
-
-                long unreadCount = messageRepository.countUnreadForUserSince(userId, since);
-                if (unreadCount <= 0) {
-                    saveState(state, userId, NotificationDigestType.UNREAD_DAILY, null, false, since, now, null);
-                    skippedCount++;
-                    continue;
-                }
-
-                long senderCount = messageRepository.countUnreadSendersForUserSince(userId, since);
-                List<String> senderNames = List.of();
-                if (senderCount > 0 && senderCount < 4) {
-                    var senderIds = messageRepository.findUnreadSenderIdsForUserSince(
-                            userId, since, PageRequest.of(0, 3));
-                    if (!senderIds.isEmpty()) {
-                        Map<Long, String> nameMap = userProfileRepository.findNamesByIds(senderIds).stream()
-                                .collect(Collectors.toMap(UserProfileRepository.IdNameRow::getId,
-                                        UserProfileRepository.IdNameRow::getName));
-                        senderNames = senderIds.stream()
-                                .map(nameMap::get)
-                                .filter(name -> name != null && !name.isBlank())
-                                .toList();
-                    }
-                }
-
-                String message = buildUnreadMessage(unreadCount, senderCount, senderNames);
-                emailSender.sendNotificationEmail(
-                        email,
-                        "You have unread messages",
-                        "Unread messages",
-                        message,
-                        ctaUrl
-                );
-
-                String meta = buildUnreadMeta(unreadCount, senderCount, senderNames);
-                saveState(state, userId, NotificationDigestType.UNREAD_DAILY, now, true, since, now, meta);
-                sentCount++;
-            } catch (RuntimeException ex) {
-                failedCount++;
-                log.warn("Daily unread digest failed: userId={} email={} message={}",
-                        userId, email, ex.getMessage());
-            }
-        }
-
-        long durationMs = Duration.between(runStart, Instant.now(clock)).toMillis();
-        log.info("Daily unread digest: durationMs={} scanned={} sent={} failed={} skipped={} capReached={}",
-                durationMs, users.size(), sentCount, failedCount, skippedCount, capReached);
+        digestEngine.run(new NotificationDigestEngine.Plan(
+                "Daily unread digest",
+                NotificationDigestType.UNREAD_DAILY,
+                dayStart,
+                r -> r.lastWindowEnd(Instant.EPOCH),
+                now,
+                recipients -> composeUnread(recipients, ctaUrl)));
     }
 
     // Dev option: uncomment to send every minute.
@@ -166,91 +89,67 @@ public class NotificationDigestScheduler {
             log.info("Weekly match digest: disabled by config");
             return;
         }
-        Instant runStart = Instant.now(clock);
         Instant now = Instant.now(clock);
-        Instant activeCutoff = now.minus(Duration.ofDays(14));
-        var users = userProfileRepository.findActiveUsersSince(activeCutoff);
-        if (users.isEmpty()) {
-            log.info("Weekly match digest: no active users");
-            return;
-        }
-
         ZonedDateTime laNow = ZonedDateTime.ofInstant(now, SAN_DIEGO_TZ);
         Instant weekStart = laNow.toLocalDate().with(java.time.DayOfWeek.MONDAY)
                 .atStartOfDay(SAN_DIEGO_TZ)
                 .toInstant();
         String ctaUrl = frontendUrl + "/messages";
 
-        int sentCount = 0;
-        int failedCount = 0;
-        int skippedCount = 0;
-        boolean capReached = false;
-        for (var user : users) {
-            if (sentCount >= maxPerRun) {
-                log.warn("Weekly match digest: cap reached (maxPerRun={})", maxPerRun);
-                capReached = true;
-                break;
-            }
-            Long userId = user.getId();
-            String email = user.getEmail();
-            try {
-                NotificationDigestState state = digestStateRepository
-                        .findByUserIdAndType(userId, NotificationDigestType.MATCH_WEEKLY)
-                        .orElse(null);
-
-                if (state != null && state.getLastSentAt() != null && !state.getLastSentAt().isBefore(weekStart)) {
-                    continue;
-                }
-
-                long matchCount = matchRepository.countNewMatchesForUserSince(userId, weekStart);
-                if (matchCount <= 0) {
-                    saveState(state, userId, NotificationDigestType.MATCH_WEEKLY, null, false, weekStart, now, null);
-                    skippedCount++;
-                    continue;
-                }
-
-                String message = "You have new " + matchCount + " match(es) during this week.";
-                emailSender.sendNotificationEmail(
-                        email,
-                        "New matches this week",
-                        "New matches",
-                        message,
-                        ctaUrl
-                );
+        digestEngine.run(new NotificationDigestEngine.Plan(
+                "Weekly match digest",
+                NotificationDigestType.MATCH_WEEKLY,
+                weekStart,
+                r -> weekStart,
+                now,
+                recipients -> composeMatches(recipients, weekStart, ctaUrl)));
+    }
 
-                String meta = "{\"matchCount\":" + matchCount + "}";
-                saveState(state, userId, NotificationDigestType.MATCH_WEEKLY, now, true, weekStart, now, meta);
-                sentCount++;
-            } catch (RuntimeException ex) {
-                failedCount++;
-                log.warn("Weekly match digest failed: userId={} email={} message={}",
-                        userId, email, ex.getMessage());
-            }
+    /** Unread count, sender count and top-3 sender names for the whole chunk in one grouped query. */
+    private Map<Long, NotificationDigestEngine.Digest> composeUnread(List<NotificationDigestEngine.Recipient> recipients,
+                                                                      String ctaUrl) {
+        Long[] userIds = new Long[recipients.size()];
+        Long[] sinceMs = new Long[recipients.size()];
+        for (int i = 0; i < recipients.size(); i++) {
+            var r = recipients.get(i);
+            userIds[i] = r.userId();
+            sinceMs[i] = r.lastWindowEnd(Instant.EPOCH).toEpochMilli();
         }
 
-        long durationMs = Duration.between(runStart, Instant.now(clock)).toMillis();
-        log.info("Weekly match digest: durationMs={} scanned={} sent={} failed={} skipped={} capReached={}",
-                durationMs, users.size(), sentCount, failedCount, skippedCount, capReached);
+        Map<Long, NotificationDigestEngine.Digest> out = new HashMap<>();
+        for (var row : messageRepository.aggregateUnreadForDigest(userIds, sinceMs)) {
+            if (row.getUnreadCount() <= 0) continue;
+            List<String> senderNames = row.getSenderCount() < 4 && row.getTopSenderNames() != null
+                    ? Arrays.stream(row.getTopSenderNames().split(TOP_SENDER_SEPARATOR))
+                        .filter(name -> !name.isBlank())
+                        .toList()
+                    : List.of();
+            out.put(row.getUserId(), new NotificationDigestEngine.Digest(
+                    "You have unread messages",
+                    "Unread messages",
+                    buildUnreadMessage(row.getUnreadCount(), row.getSenderCount(), senderNames),
+                    ctaUrl,
+                    buildUnreadMeta(row.getUnreadCount(), row.getSenderCount(), senderNames)));
+        }
+        return out;
     }
 
-    private void saveState(NotificationDigestState state,
-                           Long userId,
-                           NotificationDigestType type,
-                           Instant lastSentAt,
-                           boolean updateLastSentAt,
-                           Instant lastWindowStart,
-                           Instant lastWindowEnd,
-                           String meta) {
-        NotificationDigestState updated = state != null ? state : new NotificationDigestState();
-        updated.setUserId(userId);
-        updated.setType(type);
-        if (updateLastSentAt) {
-            updated.setLastSentAt(lastSentAt);
+    private Map<Long, NotificationDigestEngine.Digest> composeMatches(List<NotificationDigestEngine.Recipient> recipients,
+                                                                       Instant weekStart,
+                                                                       String ctaUrl) {
+        Long[] userIds = recipients.stream().map(NotificationDigestEngine.Recipient::userId).toArray(Long[]::new);
+        Map<Long, NotificationDigestEngine.Digest> out = new HashMap<>();
+        for (var row : matchRepository.countNewMatchesForUsersSince(userIds, weekStart)) {
+            long matchCount = row.getCount();
+            if (matchCount <= 0) continue;
+            out.put(row.getUserId(), new NotificationDigestEngine.Digest(
+                    "New matches this week",
+                    "New matches",
+                    "You have new " + matchCount + " match(es) during this week.",
+                    ctaUrl,
+                    "{\"matchCount\":" + matchCount + "}"));
         }
-        updated.setLastWindowStart(lastWindowStart);
-        updated.setLastWindowEnd(lastWindowEnd);
-        updated.setMeta(meta);
-        digestStateRepository.save(updated);
+        return out;
     }
 
     private String buildUnreadMessage(long unreadCount, long senderCount, List<String> senderNames) {
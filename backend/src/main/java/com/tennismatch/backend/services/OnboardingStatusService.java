@@ -16,9 +16,9 @@ public interface OnboardingStatusService {
     void markPreferencesCompleted(UserProfile user);
     void markLocationCompleted(UserProfile user);
 
-    OnboardingStatusResponse getStatusForUser(String email);
+    OnboardingStatusResponse getStatusForUser(Long userId);
 
-    void resetForUser(String email);
+    void resetForUser(Long userId);
 
-    void markStepCompleted(String email, String step);
+    void markStepCompleted(Long userId, String step);
 }
@@ -8,19 +8,15 @@ import java.util.Optional;
 
 public interface PhotoService {
 
-    // ====================== USERNAME variants (auth.getName()) ======================
     @Transactional
-    PhotoDto uploadOrReplace(String username, MultipartFile file);
+    PhotoDto uploadOrReplace(Long userId, MultipartFile file);
 
     @Transactional
-    Optional<PhotoDto> getUserPhoto(String username);
+    Optional<PhotoDto> getUserPhoto(Long userId);
 
     @Transactional
-    void deleteUserPhoto(String username);
+    void deleteUserPhoto(Long userId);
 
     @Transactional
-    PhotoDto setUserPhotoUrl(String username, String url);
-
-    @Transactional
-    Optional<PhotoDto> getUserPhotoById(Long userId);
+    PhotoDto setUserPhotoUrl(Long userId, String url);
 }
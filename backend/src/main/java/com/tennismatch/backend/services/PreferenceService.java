@@ -5,11 +5,11 @@ import jakarta.transaction.Transactional;
 
 public interface PreferenceService {
     @Transactional
-    PreferenceDto getForUser(String username);
+    PreferenceDto getForUser(Long userId);
 
     @Transactional
-    PreferenceDto upsertPatch(String username, PreferenceDto patch);
+    PreferenceDto upsertPatch(Long userId, PreferenceDto patch);
 
     @Transactional
-    void deleteForUser(String username);
+    void deleteForUser(Long userId);
 }
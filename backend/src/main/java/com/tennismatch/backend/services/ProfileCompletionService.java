@@ -6,8 +6,8 @@ import jakarta.transaction.Transactional;
 
 public interface ProfileCompletionService {
     @Transactional
-    ProfileResponse getProfile(String email);
+    ProfileResponse getProfile(Long userId);
 
     @Transactional
-    void patchProfile(String email, ProfilePatchRequest req);
+    void patchProfile(Long userId, ProfilePatchRequest req);
 }
@@ -4,6 +4,6 @@ package com.tennismatch.backend.services;
 import com.tennismatch.backend.domain.dto.responses.MeProfileResponse;
 
 public interface ProfileReadService {
-    MeProfileResponse readMe(String username);
-    void evictMe(String username);
+    MeProfileResponse readMe(Long userId);
+    void evictMe(Long userId);
 }
@@ -6,14 +6,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 
+/**
+ * Deletes expired refresh tokens and tokens revoked more than {@code retention-days} ago in id-ordered chunks,
+ * one short transaction per chunk, instead of one large delete that locks the table at 4am.
+ */
 @Component
 @RequiredArgsConstructor
 @ConditionalOnProperty(name = "app.refresh.cleanup.enabled", havingValue = "true", matchIfMissing = true)
@@ -22,19 +28,46 @@ public class RefreshTokenCleanupScheduler {
     private static final Logger log = LoggerFactory.getLogger(RefreshTokenCleanupScheduler.class);
 
     private final RefreshTokenRepository repository;
+    private final TransactionTemplate transactionTemplate;
     private final Clock clock;
 
     @Value("${app.refresh.cleanup.retention-days:30}")
     private long retentionDays;
 
+    @Value("${app.refresh.cleanup.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.refresh.cleanup.chunk-pause:PT0.05S}")
+    private Duration chunkPause;
+
     @Scheduled(cron = "${app.refresh.cleanup.cron:0 0 4 * * *}")
-    @Transactional
     public void cleanup() {
         Instant now = Instant.now(clock);
-        int expired = repository.deleteExpired(now);
         Instant cutoff = now.minus(Duration.ofDays(retentionDays));
-        int revoked = repository.deleteRevokedBefore(cutoff);
-        log.info("Refresh token cleanup: expiredDeleted={}, revokedDeleted={}, retentionDays={}",
-                expired, revoked, retentionDays);
+        long afterId = 0;
+        int deleted = 0, chunks = 0;
+        while (true) {
+            long from = afterId;
+            List<Long> ids = repository.findDeletableIdsAfter(from, now, cutoff, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) break;
+            Integer n = transactionTemplate.execute(s -> repository.deleteByIds(ids));
+            deleted += n != null ? n : 0;
+            chunks++;
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < chunkSize) break;
+            if (!pause()) break;
+        }
+        log.info("Refresh token cleanup: deleted={}, chunks={}, retentionDays={}", deleted, chunks, retentionDays);
+    }
+
+    private boolean pause() {
+        if (chunkPause.isZero() || chunkPause.isNegative()) return true;
+        try {
+            Thread.sleep(chunkPause.toMillis());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
     }
 }
@@ -1,22 +1,182 @@
 package com.tennismatch.backend.services;
 
-import com.tennismatch.backend.repositories.UserProfileRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Last-active tracking off the request path.
+ * <p>
+ * {@link #recordActivity(long)} only touches in-memory maps; at most one activity per user and
+ * {@code app.activity.min-interval} is queued. {@link #flush()} writes queued activity to
+ * {@code user_profile.last_active_at} in one JDBC batch and, with {@code app.activity.redis.enabled}, mirrors it
+ * into the sorted set {@code activity:last-active} (member = user id, score = epoch ms) shared by all nodes.
+ */
 @Service
-@RequiredArgsConstructor
 public class UserActivityService {
-    private final UserProfileRepository userProfileRepository;
 
-    @Transactional
-    public void touchLastActive(Long userId, Duration minInterval) {
-        Instant now = Instant.now();
-        Instant threshold = now.minus(minInterval);
-        userProfileRepository.touchLastActive(userId, now, threshold);
+    private static final Logger log = LoggerFactory.getLogger(UserActivityService.class);
+
+    static final String ZSET_KEY = "activity:last-active";
+    // Epoch ms from which the sorted set is complete; it is only trusted for windows starting after this.
+    static final String ZSET_SINCE_KEY = "activity:last-active:since";
+
+    // Same semantics as the old per-request UPDATE: only move forward, and only when the stored value is stale.
+    private static final String TOUCH_SQL = """
+            update user_profile
+               set last_active_at = ?
+             where id = ?
+               and (last_active_at is null or last_active_at < ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<StringRedisTemplate> redisProvider;
+    private final Clock clock;
+    private final Counter flushed;
+
+    // userId -> latest activity (epoch ms) not yet written
+    private final ConcurrentHashMap<Long, Long> pending = new ConcurrentHashMap<>();
+    // userId -> last activity queued by this node; throttles recordActivity to one write per min-interval
+    private final ConcurrentHashMap<Long, Long> lastQueued = new ConcurrentHashMap<>();
+
+    @Value("${app.activity.min-interval:PT15M}")
+    private Duration minInterval;
+
+    @Value("${app.activity.redis.enabled:false}")
+    private boolean redisEnabled;
+
+    @Value("${app.activity.redis.retention:P30D}")
+    private Duration redisRetention;
+
+    public UserActivityService(JdbcTemplate jdbcTemplate,
+                               ObjectProvider<StringRedisTemplate> redisProvider,
+                               Clock clock,
+                               MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.redisProvider = redisProvider;
+        this.clock = clock;
+        this.flushed = meterRegistry.counter("activity.flushed");
+        meterRegistry.gaugeMapSize("activity.pending", List.of(), pending);
+    }
+
+    /** Hot path (every authenticated request): no I/O, no locks beyond the map's bin lock. */
+    public void recordActivity(long userId) {
+        long now = clock.millis();
+        Long prev = lastQueued.get(userId);
+        if (prev != null && now - prev < minInterval.toMillis()) return;
+        lastQueued.put(userId, now);
+        pending.merge(userId, now, Math::max);
+    }
+
+    @Scheduled(fixedDelayString = "${app.activity.flush-interval:PT10S}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            pruneLastQueued();
+            return;
+        }
+        Map<Long, Long> batch = new HashMap<>();
+        for (Long userId : List.copyOf(pending.keySet())) {
+            Long at = pending.remove(userId);
+            if (at != null) batch.put(userId, at);
+        }
+        if (batch.isEmpty()) return;
+
+        long staleMs = minInterval.toMillis();
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        batch.forEach((userId, at) -> rows.add(new Object[]{
+                utc(at), userId, utc(at - staleMs)}));
+        try {
+            jdbcTemplate.batchUpdate(TOUCH_SQL, rows);
+            flushed.increment(batch.size());
+        } catch (RuntimeException ex) {
+            // Put the batch back; a newer activity recorded meanwhile wins.
+            batch.forEach((userId, at) -> pending.merge(userId, at, Math::max));
+            log.warn("Last-active flush failed users={} message={}", batch.size(), ex.getMessage());
+        }
+        mirrorToRedis(batch);
+        pruneLastQueued();
+    }
+
+    /**
+     * Ids of users active since {@code cutoff}, ascending, from the Redis sorted set. Empty when the mirror is
+     * disabled, unavailable, or does not yet cover the whole window (callers then query the database).
+     */
+    public Optional<List<Long>> activeUserIdsSince(Instant cutoff) {
+        if (!redisEnabled) return Optional.empty();
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis == null) return Optional.empty();
+        try {
+            String since = redis.opsForValue().get(ZSET_SINCE_KEY);
+            if (since == null || Long.parseLong(since) > cutoff.toEpochMilli()) return Optional.empty();
+            Set<String> members = redis.opsForZSet().rangeByScore(ZSET_KEY, cutoff.toEpochMilli(), Double.POSITIVE_INFINITY);
+            if (members == null) return Optional.empty();
+            return Optional.of(members.stream().map(Long::valueOf).sorted().toList());
+        } catch (RuntimeException ex) {
+            log.warn("Active users lookup in Redis failed, falling back to DB: {}", ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private void mirrorToRedis(Map<Long, Long> batch) {
+        if (!redisEnabled) return;
+        StringRedisTemplate redis = redisProvider.getIfAvailable();
+        if (redis == null) return;
+        long now = clock.millis();
+        try {
+            redis.opsForValue().setIfAbsent(ZSET_SINCE_KEY, Long.toString(now));
+            byte[] key = ZSET_KEY.getBytes(StandardCharsets.UTF_8);
+            redis.executePipelined((RedisCallback<Object>) connection -> {
+                batch.forEach((userId, at) -> connection.zSetCommands().zAdd(key, at,
+                        userId.toString().getBytes(StandardCharsets.UTF_8), RedisZSetCommands.ZAddArgs.empty().gt()));
+                connection.zSetCommands().zRemRangeByScore(key, Double.NEGATIVE_INFINITY, now - redisRetention.toMillis());
+                return null;
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Last-active Redis mirror failed users={} message={}", batch.size(), ex.getMessage());
+            // The set now has a gap: stop trusting it until it has covered a full window again.
+            try {
+                redis.delete(ZSET_SINCE_KEY);
+            } catch (RuntimeException ignored) {
+                // Redis is down too; nothing more to do here
+            }
+        }
+    }
+
+    private static OffsetDateTime utc(long epochMs) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMs), ZoneOffset.UTC);
+    }
+
+    private void pruneLastQueued() {
+        long cutoff = clock.millis() - minInterval.toMillis();
+        lastQueued.values().removeIf(at -> at < cutoff);
     }
 }
@@ -5,7 +5,7 @@ import com.tennismatch.backend.domain.dto.location.LocationDto;
 import com.tennismatch.backend.domain.dto.location.LocationPatchDto;
 
 public interface UserLocationService {
-    LocationDto getForUser(String username);              // null => no record
-    LocationDto upsertPatch(String username, LocationPatchDto patch);
-    void deleteForUser(String username);
+    LocationDto getForUser(Long userId);              // null => no record
+    LocationDto upsertPatch(Long userId, LocationPatchDto patch);
+    void deleteForUser(Long userId);
 }
@@ -37,6 +37,7 @@ public class AuthFlowServiceImpl implements AuthFlowService {
     @Value("${app.mail.from}") private String from;
     @Value("${app.mail.projectName}") private String projectName;
     @Value("${localhost.boolean:false}") private boolean localhostIsActive;
+    @Value("${app.auth.flow.max-attempts:5}") private int maxAttempts;
 //    @Value("${resend.api-key}") private String resendApiKey;
 
     private final ObjectMapper mapper = new ObjectMapper();
@@ -86,13 +87,24 @@ public class AuthFlowServiceImpl implements AuthFlowService {
             throw new ResponseStatusException(HttpStatus.GONE, "Flow expired");
         }
 
+        if (flow.getAttempts() >= maxAttempts) {
+            store.delete(flowId);
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many attempts");
+        }
+
         if (!flow.getCode().equals(code)) {
-            flow.setAttempts(flow.getAttempts() + 1);
-            // keep same ttl “approximately”; simplest is to just save again with remaining ttl
-            long remainingSec = flow.getExpiresAtEpochSec() - Instant.now().getEpochSecond();
-            if (remainingSec <= 0) remainingSec = 1;
-            store.save(flowId, flow, Duration.ofSeconds(remainingSec));
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid code");
+            // counted atomically by the store: parallel guesses cannot all pass the limit check above
+            int attempts = store.recordFailedAttempt(flowId, code);
+            if (attempts == FlowStore.NOT_FOUND) {
+                throw new ResponseStatusException(HttpStatus.GONE, "Flow not found or expired");
+            }
+            if (attempts != FlowStore.CODE_MATCHES) {
+                if (attempts >= maxAttempts) {
+                    store.delete(flowId);
+                    throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many attempts");
+                }
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid code");
+            }
         }
 
         store.delete(flowId);
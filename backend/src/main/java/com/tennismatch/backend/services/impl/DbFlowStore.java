@@ -5,9 +5,17 @@ import com.tennismatch.backend.domain.entries.AuthFlowEntity;
 import com.tennismatch.backend.repositories.AuthFlowRepository;
 import com.tennismatch.backend.services.FlowStore;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
@@ -17,7 +25,14 @@ import java.util.Optional;
 @ConditionalOnProperty(name = "auth.flow.store", havingValue = "db", matchIfMissing = true)
 public class DbFlowStore implements FlowStore {
 
+    private static final Logger log = LoggerFactory.getLogger(DbFlowStore.class);
+
     private final AuthFlowRepository repo;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    @Value("${app.auth.flow.sweep.chunk-size:1000}")
+    private int sweepChunkSize;
 
     @Override
     public void save(String flowId, AuthFlowDto flow, Duration ttl) {
@@ -49,4 +64,30 @@ public class DbFlowStore implements FlowStore {
     public void delete(String flowId) {
         repo.deleteById(flowId);
     }
+
+    // Own transaction: the caller throws 400/429 right after, which would roll back an increment made in
+    // /auth/verify's transaction and leave the attempt limit unreachable.
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int recordFailedAttempt(String flowId, String code) {
+        // single-column update; the row lock serializes concurrent guesses
+        int updated = repo.incrementAttemptsUnlessCode(flowId, code);
+        return repo.findById(flowId)
+                .map(e -> updated == 1 ? e.getAttempts() : CODE_MATCHES)
+                .orElse(NOT_FOUND);
+    }
+
+    /** Deletes expired flows in chunks (abandoned sign-ups are never verified or resent, so nothing else removes them). */
+    @Scheduled(fixedDelayString = "${app.auth.flow.sweep.interval:PT5M}", initialDelayString = "PT1M")
+    public void sweepExpired() {
+        Instant now = Instant.now(clock);
+        int total = 0;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(s -> repo.deleteExpiredChunk(now, sweepChunkSize));
+            int n = deleted != null ? deleted : 0;
+            total += n;
+            if (n < sweepChunkSize) break;
+        }
+        if (total > 0) log.info("Auth flow sweep deleted={}", total);
+    }
 }
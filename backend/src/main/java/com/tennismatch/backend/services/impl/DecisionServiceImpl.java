@@ -5,10 +5,13 @@ import com.tennismatch.backend.cache.CacheVersionService;
 import com.tennismatch.backend.chat.services.ChatService;
 import com.tennismatch.backend.domain.entries.Match;
 import com.tennismatch.backend.domain.entries.UserAction;
+import com.tennismatch.backend.observability.ProfilingEvents;
 import com.tennismatch.backend.repositories.MatchRepository;
 import com.tennismatch.backend.repositories.UserActionRepository;
 import com.tennismatch.backend.services.DecisionOutcome;
 import com.tennismatch.backend.services.DecisionService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -24,12 +27,26 @@ public class DecisionServiceImpl implements DecisionService {
     private final MatchRepository matchRepo;
     private final ChatService chatService;
     private final CacheVersionService cacheVersionService;
+    private final MeterRegistry meterRegistry;
 
     @Override
     @Transactional
+    @Timed(value = "decision.apply", description = "Swipe decisions, match and conversation creation included")
     public DecisionOutcome applyDecision(Long actorId, Long targetUserId, String decisionStr,
                                          Instant at, String idempotencyKey, Integer position) {
+        ProfilingEvents.DecisionApplied event = new ProfilingEvents.DecisionApplied();
+        event.begin();
+        DecisionOutcome outcome = apply(actorId, targetUserId, decisionStr, at, idempotencyKey, position, event);
+        event.actorId = actorId;
+        event.targetId = targetUserId;
+        event.decision = decisionStr;
+        event.matched = outcome.matched();
+        event.commit();
+        return outcome;
+    }
 
+    private DecisionOutcome apply(Long actorId, Long targetUserId, String decisionStr, Instant at,
+                                  String idempotencyKey, Integer position, ProfilingEvents.DecisionApplied event) {
         UserAction.Decision decision = UserAction.Decision.valueOf(decisionStr);
 
         if (idempotencyKey != null && !idempotencyKey.isBlank()) {
@@ -48,6 +65,8 @@ public class DecisionServiceImpl implements DecisionService {
                 .build();
         actionRepo.save(ua);
         cacheVersionService.bumpDeckVersion(actorId);
+        meterRegistry.counter("swipes", "decision", decision.name()).increment();
+        event.recorded = true;
 
         if (decision == UserAction.Decision.YES) {
             boolean mutualYes = actionRepo.existsByActorIdAndTargetIdAndDecision(
@@ -60,11 +79,13 @@ public class DecisionServiceImpl implements DecisionService {
                 Match match = matchRepo.findByUser1IdAndUser2Id(u1, u2)
                         .orElseGet(() -> {
                             try {
-                                return matchRepo.save(Match.builder()
+                                Match created = matchRepo.save(Match.builder()
                                         .user1Id(u1)
                                         .user2Id(u2)
                                         .createdAt(Instant.now())
                                         .build());
+                                meterRegistry.counter("matches.created").increment();
+                                return created;
                             } catch (DataIntegrityViolationException e) {
                                 return matchRepo.findByUser1IdAndUser2Id(u1, u2)
                                         .orElseThrow(() -> e);
@@ -6,6 +6,7 @@ import com.tennismatch.backend.domain.dto.DeckCandidateDto;
 import com.tennismatch.backend.repositories.DeckRepository;
 import com.tennismatch.backend.repositories.utils.CandidateRow;
 import com.tennismatch.backend.services.DeckService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.Cacheable;
@@ -23,6 +24,7 @@ public class DeckServiceImpl implements DeckService {
 
     @Override
     @Transactional
+    @Timed(value = "deck.generate", description = "Deck requests, cache hits included")
     @Cacheable(cacheNames = CacheConfig.DECK_CACHE,
             key = "#actorId + ':' + #size + ':' + @cacheVersionService.getDeckVersion(#actorId)")
     public List<DeckCandidateDto> getDeck(Long actorId, int size) {
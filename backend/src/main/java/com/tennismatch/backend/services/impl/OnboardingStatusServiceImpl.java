@@ -13,12 +13,15 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.Locale;
+
 @Service
 @RequiredArgsConstructor
 public class OnboardingStatusServiceImpl implements OnboardingStatusService {
     private final OnboardingStatusRepository statusRepo;
     private final UserProfileRepository userRepo;
 
+    /** {@code user} may be an uninitialized reference; only its id is read. Repeated calls in one transaction hit the persistence context. */
     @Transactional
     @Override
     public OnboardingStatus getOrCreate(UserProfile user) {
@@ -87,10 +90,8 @@ public class OnboardingStatusServiceImpl implements OnboardingStatusService {
 
     @Transactional
     @Override
-    public OnboardingStatusResponse getStatusForUser(String email) {
-        UserProfile user = userRepo.findByEmail(email)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-        OnboardingStatus status = getOrCreate(user);
+    public OnboardingStatusResponse getStatusForUser(Long userId) {
+        OnboardingStatus status = getOrCreate(userRepo.getReferenceById(userId));
 
         OnboardingStepsResponse steps = new OnboardingStepsResponse(
                 truthy(status.getNameCompleted()),
@@ -108,10 +109,8 @@ public class OnboardingStatusServiceImpl implements OnboardingStatusService {
 
     @Transactional
     @Override
-    public void resetForUser(String email) {
-        UserProfile user = userRepo.findByEmail(email)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-        OnboardingStatus status = getOrCreate(user);
+    public void resetForUser(Long userId) {
+        OnboardingStatus status = getOrCreate(userRepo.getReferenceById(userId));
         status.setNameCompleted(false);
         status.setAboutCompleted(false);
         status.setAgeCompleted(false);
@@ -124,11 +123,9 @@ public class OnboardingStatusServiceImpl implements OnboardingStatusService {
 
     @Transactional
     @Override
-    public void markStepCompleted(String email, String step) {
-        UserProfile user = userRepo.findByEmail(email)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-        OnboardingStatus status = getOrCreate(user);
-        String key = step == null ? "" : step.trim().toLowerCase();
+    public void markStepCompleted(Long userId, String step) {
+        OnboardingStatus status = getOrCreate(userRepo.getReferenceById(userId));
+        String key = step == null ? "" : step.trim().toLowerCase(Locale.ROOT);
         switch (key) {
             case "name":
                 status.setNameCompleted(true);
@@ -0,0 +1,106 @@
+package com.tennismatch.backend.services.impl;
+
+import com.tennismatch.backend.domain.entries.EmailOutbox;
+import com.tennismatch.backend.domain.enums.EmailOutboxStatus;
+import com.tennismatch.backend.repositories.EmailOutboxRepository;
+import com.tennismatch.backend.services.EmailSender;
+import com.tennismatch.backend.services.EmailTemplates;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxEmailSender implements EmailSender {
+
+    // Verification codes are waited on by a user in the sign-up form; digests are not.
+    static final int PRIORITY_VERIFICATION = 1;
+    static final int PRIORITY_NOTIFICATION = 5;
+
+    private static final String INSERT_SQL = """
+            insert into email_outbox (kind, priority, to_email, subject, html, status, attempts, next_attempt_at, created_at)
+            values ('NOTIFICATION', ?, ?, ?, ?, 'PENDING', 0, ?, ?)
+            """;
+
+    private final EmailOutboxRepository outboxRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+
+    @Value("${app.mail.projectName}")
+    private String projectName;
+
+    // A code is only useful while its auth flow lives (AuthFlowServiceImpl.FLOW_TTL).
+    @Value("${app.mail.outbox.verification-ttl:PT10M}")
+    private Duration verificationTtl;
+
+    @Override
+    public void sendVerificationCodeHtml(String toEmail, String code) {
+        enqueue("VERIFICATION_CODE", PRIORITY_VERIFICATION, toEmail,
+                "[TennisMatch] Verification code",
+                EmailTemplates.verificationCodeHtml(projectName, code), verificationTtl);
+    }
+
+    @Override
+    public void sendNotificationEmail(String toEmail,
+                                      String subject,
+                                      String heading,
+                                      String message,
+                                      String ctaUrl) {
+        enqueue("NOTIFICATION", PRIORITY_NOTIFICATION, toEmail,
+                "[TennisMatch] " + subject,
+                EmailTemplates.notificationHtml(projectName, heading, message, ctaUrl, "Continue"));
+    }
+
+    // IDENTITY ids keep Hibernate from batching inserts, so digest chunks go through one JDBC batch instead.
+    @Override
+    @Transactional
+    public void sendNotificationEmails(List<Notification> notifications) {
+        if (notifications.isEmpty()) return;
+        OffsetDateTime now = OffsetDateTime.ofInstant(Instant.now(clock), ZoneOffset.UTC);
+        List<Object[]> rows = new ArrayList<>(notifications.size());
+        for (Notification n : notifications) {
+            rows.add(new Object[]{
+                    PRIORITY_NOTIFICATION,
+                    n.toEmail(),
+                    "[TennisMatch] " + n.subject(),
+                    EmailTemplates.notificationHtml(projectName, n.heading(), n.message(), n.ctaUrl(), "Continue"),
+                    now,
+                    now
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    @Override
+    public long enqueue(String kind, int priority, String toEmail, String subject, String html) {
+        return enqueue(kind, priority, toEmail, subject, html, null);
+    }
+
+    @Override
+    public long enqueue(String kind, int priority, String toEmail, String subject, String html, Duration ttl) {
+        Instant now = Instant.now(clock);
+        EmailOutbox row = outboxRepository.save(EmailOutbox.builder()
+                .kind(kind)
+                .priority((short) priority)
+                .toEmail(toEmail)
+                .subject(subject)
+                .html(html)
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .expiresAt(ttl == null ? null : now.plus(ttl))
+                .build());
+        return row.getId();
+    }
+}
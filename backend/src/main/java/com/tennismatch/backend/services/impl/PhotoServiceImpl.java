@@ -7,6 +7,7 @@ import com.tennismatch.backend.configs.CacheConfig;
 import com.tennismatch.backend.domain.dto.PhotoDto;
 import com.tennismatch.backend.domain.entries.Photo;
 import com.tennismatch.backend.domain.entries.UserProfile;
+import com.tennismatch.backend.observability.RequestTimings;
 import com.tennismatch.backend.repositories.PhotoRepository;
 import com.tennismatch.backend.repositories.UserProfileRepository;
 import com.tennismatch.backend.services.OnboardingStatusService;
@@ -20,7 +21,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.Map;
-import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -50,14 +50,15 @@ public class PhotoServiceImpl implements PhotoService {
 
     @Transactional
     @Override
-    @CacheEvict(cacheNames = CacheConfig.PROFILE_ME_CACHE, key = "#username")
-    public PhotoDto setUserPhotoUrl(String username, String url) {
+    @CacheEvict(cacheNames = CacheConfig.PROFILE_ME_CACHE, key = "#userId")
+    public PhotoDto setUserPhotoUrl(Long userId, String url) {
         if (url == null || url.isBlank()) {
             throw new IllegalArgumentException("Photo URL is required");
         }
-        UserProfile user = resolveUser(username);
-        String oldPublicId = photoRepo.findByUser(user).map(Photo::getPublicId).orElse(null);
-        Photo photo = photoRepo.findByUser(user)
+        UserProfile user = userRepo.getReferenceById(userId);
+        Optional<Photo> existing = photoRepo.findByUser(user);
+        String oldPublicId = existing.map(Photo::getPublicId).orElse(null);
+        Photo photo = existing
                 .map(p -> { p.setUrl(url); p.setPublicId(null); return p; })
                 .orElseGet(() -> Photo.builder()
                         .user(user)
@@ -70,36 +71,12 @@ public class PhotoServiceImpl implements PhotoService {
         return toDto(saved);
     }
 
-    // ====================== USERNAME variants (auth.getName()) ======================
-    @Transactional
-    @Override
-    @CacheEvict(cacheNames = CacheConfig.PROFILE_ME_CACHE, key = "#username")
-    public PhotoDto uploadOrReplace(String username, MultipartFile file) {
-        UserProfile user = resolveUser(username);
-        return uploadOrReplace(user.getId(), file); // reuse id-based logic below
-    }
-
-    @Transactional
-    @Override
-    public Optional<PhotoDto> getUserPhoto(String username) {
-        UserProfile user = resolveUser(username);
-        return getUserPhotoById(user.getId());
-    }
-
-    @Transactional
-    @Override
-    @CacheEvict(cacheNames = CacheConfig.PROFILE_ME_CACHE, key = "#username")
-    public void deleteUserPhoto(String username) {
-        UserProfile user = resolveUser(username);
-        deleteUserPhoto(user.getId());
-    }
-
-    // ====================== MAIN ID-BASED METHODS (interface compatibility) ======================
-
     /**
      * Uploads photo to Cloudinary and either creates a Photo record or updates the existing one (one photo per user).
      */
     @Transactional
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.PROFILE_ME_CACHE, key = "#userId")
     public PhotoDto uploadOrReplace(Long userId, MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("Файл не передан или пустой");
@@ -108,10 +85,10 @@ public class PhotoServiceImpl implements PhotoService {
             throw new IllegalArgumentException("Недопустимый тип файла: " + file.getContentType());
         }
 
-        UserProfile user = userRepo.findById(userId)
-                .orElseThrow(() -> new NoSuchElementException("Пользователь не найден: id=" + userId));
+        UserProfile user = userRepo.getReferenceById(userId);
 
-        String oldPublicId = photoRepo.findByUser(user).map(Photo::getPublicId).orElse(null);
+        Optional<Photo> existing = photoRepo.findByUser(user);
+        String oldPublicId = existing.map(Photo::getPublicId).orElse(null);
 
         // 1) upload original
         Map<String, Object> options = ObjectUtils.asMap(
@@ -121,10 +98,13 @@ public class PhotoServiceImpl implements PhotoService {
         );
 
         Map<?, ?> uploadResult;
+        RequestTimings.Span span = RequestTimings.start(RequestTimings.Category.EXTERNAL);
         try {
             uploadResult = cloudinary.uploader().upload(file.getBytes(), options);
         } catch (Exception e) {
             throw new RuntimeException("Ошибка загрузки в Cloudinary", e);
+        } finally {
+            if (span != null) span.close();
         }
 
         // 2) build optimized delivery URL from public_id
@@ -148,7 +128,7 @@ public class PhotoServiceImpl implements PhotoService {
                 .generate(publicId);
 
         // 3) save/update record
-        Photo photo = photoRepo.findByUser(user)
+        Photo photo = existing
                 .map(p -> { p.setUrl(deliveryUrl); p.setPublicId(publicId); return p; })
                 .orElseGet(() -> Photo.builder()
                         .user(user)
@@ -168,16 +148,15 @@ public class PhotoServiceImpl implements PhotoService {
 
     @Transactional
     @Override
-    public Optional<PhotoDto> getUserPhotoById(Long userId) {
-        UserProfile user = userRepo.findById(userId)
-                .orElseThrow(() -> new NoSuchElementException("Пользователь не найден: id=" + userId));
-        return photoRepo.findByUser(user).map(this::toDto);
+    public Optional<PhotoDto> getUserPhoto(Long userId) {
+        return photoRepo.findByUser(userRepo.getReferenceById(userId)).map(this::toDto);
     }
 
     @Transactional
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.PROFILE_ME_CACHE, key = "#userId")
     public void deleteUserPhoto(Long userId) {
-        UserProfile user = userRepo.findById(userId)
-                .orElseThrow(() -> new NoSuchElementException("DYD_D??OD?D_D?D??,D?D??O D?D? D?D?D1D'D?D?: id=" + userId));
+        UserProfile user = userRepo.getReferenceById(userId);
         photoRepo.findByUser(user).map(Photo::getPublicId).ifPresent(this::destroyIfDeletable);
         photoRepo.deleteByUser(user);
     }
@@ -187,19 +166,16 @@ public class PhotoServiceImpl implements PhotoService {
     private void destroyIfDeletable(String publicId) {
         if (publicId == null || publicId.isBlank()) return;
         if (publicId.startsWith(CONSTANT_PHOTOS_PREFIX)) return;
+        RequestTimings.Span span = RequestTimings.start(RequestTimings.Category.EXTERNAL);
         try {
             cloudinary.uploader().destroy(publicId, ObjectUtils.asMap("resource_type", "image"));
         } catch (Exception ignored) {
             // Best-effort deletion; no user-facing impact.
+        } finally {
+            if (span != null) span.close();
         }
     }
 
-    /** Find user by username (email). Replace with findByUsername if you use a different login. */
-    private UserProfile resolveUser(String username) {
-        return userRepo.findByEmail(username)
-                .orElseThrow(() -> new NoSuchElementException("Пользователь не найден: " + username));
-    }
-
     private PhotoDto toDto(Photo p) {
         return PhotoDto.builder()
                 .id(p.getId())
@@ -12,8 +12,6 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.NoSuchElementException;
-
 @Service
 @RequiredArgsConstructor
 public class PreferenceServiceImpl implements PreferenceService {
@@ -23,19 +21,18 @@ public class PreferenceServiceImpl implements PreferenceService {
     private final OnboardingStatusService onboardingStatusService;
     private final CacheVersionService cacheVersionService;
 
-    // ====================== by username (auth.getName()) ======================
+    // ====================== by user id ======================
 
     @Transactional
     @Override
-    public PreferenceDto getForUser(String username) {
-        UserProfile user = resolveUser(username);
-        return prefRepo.findByUser(user).map(this::toDto).orElse(null);
+    public PreferenceDto getForUser(Long userId) {
+        return prefRepo.findByUser(userRepo.getReferenceById(userId)).map(this::toDto).orElse(null);
     }
 
     @Transactional
     @Override
-    public PreferenceDto upsertPatch(String username, PreferenceDto patch) {
-        UserProfile user = resolveUser(username);
+    public PreferenceDto upsertPatch(Long userId, PreferenceDto patch) {
+        UserProfile user = userRepo.getReferenceById(userId);
         Preference pref = prefRepo.findByUser(user).orElseGet(() ->
                 Preference.builder()
                         .user(user)
@@ -48,25 +45,20 @@ public class PreferenceServiceImpl implements PreferenceService {
         applyPatch(pref, patch);
         Preference saved = prefRepo.save(pref);
         onboardingStatusService.markPreferencesCompleted(user);
-        cacheVersionService.bumpDeckVersion(user.getId());
+        cacheVersionService.bumpDeckVersion(userId);
         return toDto(saved);
     }
 
     @Transactional
     @Override
-    public void deleteForUser(String username) {
-        UserProfile user = resolveUser(username);
+    public void deleteForUser(Long userId) {
+        UserProfile user = userRepo.getReferenceById(userId);
         prefRepo.deleteByUser(user);
-        cacheVersionService.bumpDeckVersion(user.getId());
+        cacheVersionService.bumpDeckVersion(userId);
     }
 
     // ====================== helpers ======================
 
-    private UserProfile resolveUser(String username) {
-        return userRepo.findByEmail(username)
-                .orElseThrow(() -> new NoSuchElementException("Пользователь не найден: " + username));
-    }
-
     private PreferenceDto toDto(Preference p) {
         PreferenceDto dto = new PreferenceDto();
         dto.setGame(p.getGame().name());
@@ -25,8 +25,8 @@ public class ProfileCompletionServiceImpl implements ProfileCompletionService {
 
     @Transactional
     @Override
-    public ProfileResponse getProfile(String email) {
-        var u = userRepo.findByEmail(email).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    public ProfileResponse getProfile(Long userId) {
+        var u = userRepo.findById(userId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
         return ProfileResponse.builder()
                 .email(u.getEmail())
                 .name(u.getName())
@@ -40,9 +40,10 @@ public class ProfileCompletionServiceImpl implements ProfileCompletionService {
 
     @Transactional
     @Override
-    @CacheEvict(cacheNames = CacheConfig.PROFILE_ME_CACHE, key = "#username")
-    public void patchProfile(String username, ProfilePatchRequest req) {
-        var u = userRepo.findByEmail(username).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    @CacheEvict(cacheNames = CacheConfig.PROFILE_ME_CACHE, key = "#userId")
+    public void patchProfile(Long userId, ProfilePatchRequest req) {
+        // Loaded once; nested services resolve the same user by id from the persistence context.
+        var u = userRepo.findById(userId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
         boolean deckParamsChanged = false;
 
         if (req.getName() != null) {
@@ -68,8 +69,7 @@ public class ProfileCompletionServiceImpl implements ProfileCompletionService {
             onboardingStatusService.markAboutCompleted(u);
         }
         if (req.getPhotoUrl() != null) {
-            photoService.setUserPhotoUrl(username, req.getPhotoUrl());
-            onboardingStatusService.markProfilePhotoCompleted(u);
+            photoService.setUserPhotoUrl(userId, req.getPhotoUrl()); // also marks the photo step
         }
         if (req.getVisible() != null) {
             u.setVisible(req.getVisible());
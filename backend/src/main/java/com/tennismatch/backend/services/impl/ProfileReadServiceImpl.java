@@ -23,12 +23,12 @@ public class ProfileReadServiceImpl implements ProfileReadService {
     private final PhotoService photoService;
 
     @Override
-    @Cacheable(cacheNames = CacheConfig.PROFILE_ME_CACHE, key = "#username", unless = "#result == null")
+    @Cacheable(cacheNames = CacheConfig.PROFILE_ME_CACHE, key = "#userId", unless = "#result == null")
     @Transactional(readOnly = true)
-    public MeProfileResponse readMe(String username) {
-        UserProfile p = repo.findByEmail(username).orElse(null); // adjust for your identifier
+    public MeProfileResponse readMe(Long userId) {
+        UserProfile p = repo.findById(userId).orElse(null);
 
-        String photoUrl = photoService.getUserPhoto(username)
+        String photoUrl = photoService.getUserPhoto(userId)
                 .map(PhotoDto::getUrl)
                 .filter(u -> u != null && !u.isBlank())
                 .orElse(null);
@@ -56,8 +56,8 @@ public class ProfileReadServiceImpl implements ProfileReadService {
     }
 
     @Override
-    @CacheEvict(cacheNames = CacheConfig.PROFILE_ME_CACHE, key = "#username")
-    public void evictMe(String username) {
+    @CacheEvict(cacheNames = CacheConfig.PROFILE_ME_CACHE, key = "#userId")
+    public void evictMe(Long userId) {
         // call after profile/photo changes
     }
 
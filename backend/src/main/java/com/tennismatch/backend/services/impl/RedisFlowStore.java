@@ -6,9 +6,12 @@ import com.tennismatch.backend.services.FlowStore;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -18,6 +21,17 @@ public class RedisFlowStore implements FlowStore {
 
     private static final String KEY_PREFIX = "authflow:";
 
+    // Check-and-increment in one step on the stored JSON; KEEPTTL (Redis 6.0+) leaves the flow's expiry alone.
+    private static final RedisScript<Long> FAILED_ATTEMPT = new DefaultRedisScript<>("""
+            local v = redis.call('GET', KEYS[1])
+            if not v then return -1 end
+            local f = cjson.decode(v)
+            if f.code == ARGV[1] then return -2 end
+            f.attempts = (tonumber(f.attempts) or 0) + 1
+            redis.call('SET', KEYS[1], cjson.encode(f), 'KEEPTTL')
+            return f.attempts
+            """, Long.class);
+
     private final StringRedisTemplate redis;
     private final ObjectMapper mapper;
 
@@ -50,4 +64,10 @@ public class RedisFlowStore implements FlowStore {
     public void delete(String flowId) {
         redis.delete(key(flowId));
     }
+
+    @Override
+    public int recordFailedAttempt(String flowId, String code) {
+        Long result = redis.execute(FAILED_ATTEMPT, List.of(key(flowId)), code);
+        return result == null ? NOT_FOUND : result.intValue();
+    }
 }
@@ -2,9 +2,10 @@ package com.tennismatch.backend.services.impl;
 
 import com.tennismatch.backend.domain.entries.RefreshToken;
 import com.tennismatch.backend.repositories.RefreshTokenRepository;
+import com.tennismatch.backend.services.AccessTokenService;
 import com.tennismatch.backend.services.RefreshTokenService;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
-import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -23,9 +24,21 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.Base64;
 import java.util.HexFormat;
-
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rotating refresh tokens grouped into families (one per login).
+ * <p>
+ * Rotation is optimistic: the token row is read without a lock and consumed with a conditional update, so of
+ * several concurrent refreshes with the same cookie (tabs waking up together) exactly one wins. Losers, and replays
+ * within {@code app.refresh.reuse-grace} of the rotation, get a plain 401 and pick up the winner's cookie; a token
+ * replayed after the grace period is treated as stolen and its whole family is revoked. Recently rotated hashes are
+ * kept in a small in-memory LRU so storms are rejected without touching the database.
+ */
 @Service
-@RequiredArgsConstructor
 public class RefreshTokenServiceImpl implements RefreshTokenService {
 
     private static final Logger log = LoggerFactory.getLogger(RefreshTokenServiceImpl.class);
@@ -33,7 +46,12 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
     private static final String DEV_PEPPER = "dev-refresh-pepper";
 
     private final RefreshTokenRepository repository;
+    private final AccessTokenService accessTokenService;
     private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    // first 64 bits of the token hash -> revocation time (epoch ms)
+    private final Map<Long, Long> recentlyRevoked;
+    private final ReentrantLock recentlyRevokedLock = new ReentrantLock();
 
     @Value("${app.refresh.days:7}")
     private long refreshDays;
@@ -41,11 +59,31 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
     @Value("${app.refresh.pepper:}")
     private String pepper;
 
+    @Value("${app.refresh.reuse-grace:PT30S}")
+    private Duration reuseGrace;
+
     @Value("${localhost.boolean:false}")
     private boolean localhostIsActive;
 
     private final SecureRandom random = new SecureRandom();
 
+    public RefreshTokenServiceImpl(RefreshTokenRepository repository,
+                                   AccessTokenService accessTokenService,
+                                   Clock clock,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.refresh.revoked-cache.size:10000}") int revokedCacheSize) {
+        this.repository = repository;
+        this.accessTokenService = accessTokenService;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.recentlyRevoked = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > revokedCacheSize;
+            }
+        };
+    }
+
     @PostConstruct
     void validatePepper() {
         if (StringUtils.hasText(pepper)) {
@@ -61,68 +99,103 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
 
     @Override
     public String issueToken(Long userId) {
-        String tokenPlaintext = generateToken();
-        Instant now = Instant.now(clock);
-
-        RefreshToken token = RefreshToken.builder()
-                .userId(userId)
-                .tokenHash(hashToken(tokenPlaintext))
-                .createdAt(now)
-                .expiresAt(now.plus(Duration.ofDays(refreshDays)))
-                .build();
-
-        repository.save(token);
-        return tokenPlaintext;
+        return issue(userId, UUID.randomUUID(), Instant.now(clock)).plaintext();
     }
 
     @Override
-    @Transactional
+    @Transactional(noRollbackFor = ResponseStatusException.class) // a family revocation must commit with the 401
     public RefreshRotation rotate(String tokenPlaintext) {
         String tokenHash = hashToken(tokenPlaintext);
-        RefreshToken existing = repository.findByTokenHashForUpdate(tokenHash)
-                .orElseThrow(() -> unauthorized("Refresh token invalid"));
-
         Instant now = Instant.now(clock);
+
+        if (isRecentlyRevoked(tokenHash, now)) {
+            throw rejected("superseded", "Refresh token already rotated");
+        }
+        RefreshTokenRepository.RotationView existing = repository.findRotationView(tokenHash)
+                .orElseThrow(() -> rejected("invalid", "Refresh token invalid"));
+
         if (existing.getRevokedAt() != null) {
-            log.info("Refresh token rejected: revoked userId={}", existing.getUserId());
-            throw unauthorized("Refresh token invalid");
+            if (existing.getRevokedAt().plus(reuseGrace).isAfter(now)) {
+                remember(tokenHash, existing.getRevokedAt());
+                throw rejected("superseded", "Refresh token already rotated");
+            }
+            int revoked = repository.revokeFamily(existing.getFamilyId(), now);
+            accessTokenService.revokeAllForUser(existing.getUserId());
+            log.warn("Refresh token reuse detected: family revoked userId={} familyId={} liveTokensRevoked={}",
+                    existing.getUserId(), existing.getFamilyId(), revoked);
+            throw rejected("reuse", "Refresh token invalid");
         }
         if (!existing.getExpiresAt().isAfter(now)) {
             log.info("Refresh token rejected: expired userId={}", existing.getUserId());
-            throw unauthorized("Refresh token expired");
+            throw rejected("expired", "Refresh token expired");
+        }
+        if (repository.consume(existing.getId(), now) == 0) {
+            // lost the race against a concurrent refresh with the same token
+            remember(tokenHash, now);
+            throw rejected("superseded", "Refresh token already rotated");
         }
 
-        existing.setLastUsedAt(now);
-        existing.setRevokedAt(now);
+        Issued replacement = issue(existing.getUserId(), existing.getFamilyId(), now);
+        repository.setReplacedBy(existing.getId(), replacement.id());
+        remember(tokenHash, now);
+
+        meterRegistry.counter("auth.refresh", "outcome", "rotated").increment();
+        log.debug("Refresh token rotated userId={}", existing.getUserId());
+        return new RefreshRotation(existing.getUserId(), replacement.plaintext());
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String tokenPlaintext) {
+        if (!StringUtils.hasText(tokenPlaintext)) return;
+
+        String tokenHash = hashToken(tokenPlaintext);
+        Instant now = Instant.now(clock);
+        // logout ends the whole login, including rotations issued to other tabs
+        repository.findRotationView(tokenHash).ifPresent(token -> {
+            int revoked = repository.revokeFamily(token.getFamilyId(), now);
+            if (revoked > 0) log.info("Refresh token family revoked userId={} tokens={}", token.getUserId(), revoked);
+        });
+        remember(tokenHash, now);
+    }
+
+    private record Issued(Long id, String plaintext) {}
 
-        String replacementPlaintext = generateToken();
-        RefreshToken replacement = RefreshToken.builder()
-                .userId(existing.getUserId())
-                .tokenHash(hashToken(replacementPlaintext))
+    private Issued issue(Long userId, UUID familyId, Instant now) {
+        String tokenPlaintext = generateToken();
+        RefreshToken token = RefreshToken.builder()
+                .userId(userId)
+                .familyId(familyId)
+                .tokenHash(hashToken(tokenPlaintext))
                 .createdAt(now)
                 .expiresAt(now.plus(Duration.ofDays(refreshDays)))
                 .build();
 
-        repository.save(replacement);
-        existing.setReplacedById(replacement.getId());
+        return new Issued(repository.save(token).getId(), tokenPlaintext);
+    }
 
-        log.info("Refresh token rotated userId={}", existing.getUserId());
-        return new RefreshRotation(existing.getUserId(), replacementPlaintext);
+    private boolean isRecentlyRevoked(String tokenHash, Instant now) {
+        Long at;
+        recentlyRevokedLock.lock();
+        try {
+            at = recentlyRevoked.get(cacheKey(tokenHash));
+        } finally {
+            recentlyRevokedLock.unlock();
+        }
+        return at != null && at + reuseGrace.toMillis() > now.toEpochMilli();
     }
 
-    @Override
-    @Transactional
-    public void revoke(String tokenPlaintext) {
-        if (!StringUtils.hasText(tokenPlaintext)) return;
+    private void remember(String tokenHash, Instant revokedAt) {
+        recentlyRevokedLock.lock();
+        try {
+            recentlyRevoked.put(cacheKey(tokenHash), revokedAt.toEpochMilli());
+        } finally {
+            recentlyRevokedLock.unlock();
+        }
+    }
 
-        repository.findByTokenHashForUpdate(hashToken(tokenPlaintext))
-                .ifPresent(token -> {
-                    if (token.getRevokedAt() == null) {
-                        token.setRevokedAt(Instant.now(clock));
-                        token.setLastUsedAt(Instant.now(clock));
-                        log.info("Refresh token revoked userId={}", token.getUserId());
-                    }
-                });
+    private static long cacheKey(String tokenHash) {
+        return Long.parseUnsignedLong(tokenHash.substring(0, 16), 16);
     }
 
     private String generateToken() {
@@ -142,7 +215,8 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
         }
     }
 
-    private ResponseStatusException unauthorized(String message) {
+    private ResponseStatusException rejected(String outcome, String message) {
+        meterRegistry.counter("auth.refresh", "outcome", outcome).increment();
         return new ResponseStatusException(HttpStatus.UNAUTHORIZED, message);
     }
 }
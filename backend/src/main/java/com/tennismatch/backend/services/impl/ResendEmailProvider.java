@@ -0,0 +1,42 @@
+package com.tennismatch.backend.services.impl;
+
+import com.resend.Resend;
+import com.resend.core.exception.ResendException;
+import com.resend.services.emails.model.CreateEmailOptions;
+import com.tennismatch.backend.services.EmailProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+@Service
+@ConditionalOnProperty(name = "app.mail.provider", havingValue = "resend", matchIfMissing = true)
+public class ResendEmailProvider implements EmailProvider {
+
+    private final Resend resend;
+    private final String from;
+
+    public ResendEmailProvider(@Value("${resend.api-key}") String apiKey,
+                               @Value("${app.mail.from}") String from) {
+        this.resend = new Resend(apiKey);
+        this.from = from;
+    }
+
+    @Override
+    public String name() {
+        return "resend";
+    }
+
+    @Override
+    public void send(String toEmail, String subject, String html) {
+        try {
+            resend.emails().send(CreateEmailOptions.builder()
+                    .from(from)
+                    .to(toEmail)
+                    .subject(subject)
+                    .html(html)
+                    .build());
+        } catch (ResendException e) {
+            throw new IllegalStateException("Resend delivery failed: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.tennismatch.backend.services.impl;
+
+import com.tennismatch.backend.services.EmailProvider;
+import jakarta.mail.MessagingException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Service;
+
+@Service
+@ConditionalOnProperty(name = "app.mail.provider", havingValue = "smtp")
+public class SmtpEmailProvider implements EmailProvider {
+
+    private final JavaMailSender mailSender;
+    private final String from;
+
+    public SmtpEmailProvider(JavaMailSender mailSender, @Value("${app.mail.from}") String from) {
+        this.mailSender = mailSender;
+        this.from = from;
+    }
+
+    @Override
+    public String name() {
+        return "smtp";
+    }
+
+    @Override
+    public void send(String toEmail, String subject, String html) {
+        var mime = mailSender.createMimeMessage();
+        try {
+            var helper = new MimeMessageHelper(mime, "UTF-8");
+            helper.setFrom(from);
+            helper.setTo(toEmail);
+            helper.setSubject(subject);
+            helper.setText(html, true);
+        } catch (MessagingException e) {
+            throw new IllegalArgumentException("Invalid email: " + e.getMessage(), e);
+        }
+        mailSender.send(mime);
+    }
+}
@@ -0,0 +1,141 @@
+package com.tennismatch.backend.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tennismatch.backend.domain.dto.auth.AuthFlowDto;
+import com.tennismatch.backend.services.FlowStore;
+import com.tennismatch.backend.services.flow.RedisFlowStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@code auth.flow.store=tiered}: a bounded, TTL-evicting local map in front of {@link RedisFlowStore}.
+ * <p>
+ * Writes go to Redis first, then to the local map; reads are served locally while the copy is younger than
+ * {@code app.auth.flow.local.ttl}. Redis stays the source of truth for anything that must be exact across nodes:
+ * attempts are counted by its Lua script, and a code that does not match a local copy is re-checked there (another
+ * node may have resent a new code) before it counts as a failure.
+ */
+@Service
+@ConditionalOnProperty(name = "auth.flow.store", havingValue = "tiered")
+public class TieredFlowStore implements FlowStore {
+
+    private record Local(AuthFlowDto flow, long expiresAtMs) {}
+
+    private final RedisFlowStore redis;
+    private final Clock clock;
+    private final long localTtlMs;
+    private final Map<String, Local> local;
+    private final ReentrantLock localLock = new ReentrantLock();
+    private final Counter hits;
+    private final Counter misses;
+
+    public TieredFlowStore(StringRedisTemplate redisTemplate,
+                           ObjectMapper mapper,
+                           Clock clock,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.auth.flow.local.max-entries:10000}") int maxEntries,
+                           @Value("${app.auth.flow.local.ttl:PT1M}") Duration localTtl) {
+        this.redis = new RedisFlowStore(redisTemplate, mapper);
+        this.clock = clock;
+        this.localTtlMs = localTtl.toMillis();
+        this.local = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Local> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = meterRegistry.counter("auth.flow.local", "result", "hit");
+        this.misses = meterRegistry.counter("auth.flow.local", "result", "miss");
+        meterRegistry.gauge("auth.flow.local.size", local, m -> {
+            localLock.lock();
+            try {
+                return m.size();
+            } finally {
+                localLock.unlock();
+            }
+        });
+    }
+
+    @Override
+    public void save(String flowId, AuthFlowDto flow, Duration ttl) {
+        redis.save(flowId, flow, ttl);
+        cache(flowId, flow, Math.min(ttl.toMillis(), localTtlMs));
+    }
+
+    @Override
+    public Optional<AuthFlowDto> find(String flowId) {
+        long now = clock.millis();
+        localLock.lock();
+        try {
+            Local l = local.get(flowId);
+            if (l != null && l.expiresAtMs() > now) {
+                hits.increment();
+                return Optional.of(copy(l.flow()));
+            }
+            if (l != null) local.remove(flowId);
+        } finally {
+            localLock.unlock();
+        }
+        misses.increment();
+        Optional<AuthFlowDto> found = redis.find(flowId);
+        found.ifPresent(f -> cache(flowId, f, Math.min(localTtlMs, f.getExpiresAtEpochSec() * 1000 - now)));
+        return found;
+    }
+
+    @Override
+    public void delete(String flowId) {
+        localLock.lock();
+        try {
+            local.remove(flowId);
+        } finally {
+            localLock.unlock();
+        }
+        redis.delete(flowId);
+    }
+
+    @Override
+    public int recordFailedAttempt(String flowId, String code) {
+        int result = redis.recordFailedAttempt(flowId, code);
+        localLock.lock();
+        try {
+            Local l = local.get(flowId);
+            if (l == null) return result;
+            if (result >= 0) {
+                l.flow().setAttempts(result);
+            } else {
+                // gone, or the local copy holds an outdated code
+                local.remove(flowId);
+            }
+        } finally {
+            localLock.unlock();
+        }
+        return result;
+    }
+
+    private void cache(String flowId, AuthFlowDto flow, long ttlMs) {
+        if (ttlMs <= 0) return;
+        localLock.lock();
+        try {
+            local.put(flowId, new Local(copy(flow), clock.millis() + ttlMs));
+        } finally {
+            localLock.unlock();
+        }
+    }
+
+    // callers mutate the DTO they get (attempts, code); never hand out the cached instance
+    private static AuthFlowDto copy(AuthFlowDto f) {
+        return new AuthFlowDto(f.getEmail(), f.getCode(), f.getAttempts(), f.getExpiresAtEpochSec(),
+                f.getResendCount(), f.getResendCooldownUntilEpochSec());
+    }
+}
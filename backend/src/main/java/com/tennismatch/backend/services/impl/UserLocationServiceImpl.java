@@ -6,20 +6,24 @@ import com.tennismatch.backend.domain.entries.UserLocation;
 import com.tennismatch.backend.domain.entries.UserProfile;
 import com.tennismatch.backend.cache.CacheVersionService;
 import com.tennismatch.backend.repositories.UserLocationRepository;
+import com.tennismatch.backend.configs.RateLimitConfig;
+import com.tennismatch.backend.geo.ReverseGeocoder;
+import com.tennismatch.backend.ratelimit.RateLimiterEngine;
 import com.tennismatch.backend.repositories.UserProfileRepository;
+import com.tennismatch.backend.services.LocationTouchBuffer;
 import com.tennismatch.backend.services.LocationUpdateLimitExceededException;
-import com.tennismatch.backend.services.LocationUpdateRateLimiter;
 import com.tennismatch.backend.services.OnboardingStatusService;
 import com.tennismatch.backend.services.UserLocationService;
 import com.tennismatch.backend.utils.GeoFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.locationtech.jts.geom.Point;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
-import java.util.NoSuchElementException;
 
 @Service
 @RequiredArgsConstructor
@@ -30,21 +34,31 @@ public class UserLocationServiceImpl implements UserLocationService {
     private final GeoFactory geoFactory;
     private final OnboardingStatusService onboardingStatusService;
     private final CacheVersionService cacheVersionService;
-    private final LocationUpdateRateLimiter locationUpdateRateLimiter;
+    private final RateLimiterEngine rateLimiter;
+    private final ReverseGeocoder reverseGeocoder;
+    private final LocationTouchBuffer touchBuffer;
+    private final MeterRegistry meterRegistry;
 
-    // ====================== by username (auth.getName()) ======================
+    // Moves shorter than this are treated as GPS noise.
+    @Value("${app.location.jitter-threshold-m:50}")
+    private double jitterThresholdM;
+
+    // Cell size of the distance bands; the deck is invalidated only when the user changes cell.
+    @Value("${app.location.deck-band-m:1000}")
+    private double deckBandM;
+
+    // ====================== by user id ======================
 
 
     @Transactional
     @Override
-    public LocationDto getForUser(String username) {
-        UserProfile user = resolveUser(username);
-        return locRepo.findByUser(user).map(this::toDto).orElse(null);
+    public LocationDto getForUser(Long userId) {
+        return locRepo.findById(userId).map(l -> toDto(l, touchBuffer.pending(userId))).orElse(null);
     }
 
     @Transactional
     @Override
-    public LocationDto upsertPatch(String username, LocationPatchDto patch) {
+    public LocationDto upsertPatch(Long userId, LocationPatchDto patch) {
         if (patch == null) throw new IllegalArgumentException("Empty patch");
 
         // field validation
@@ -63,17 +77,29 @@ public class UserLocationServiceImpl implements UserLocationService {
             throw new IllegalArgumentException("accuracy_m must be >= 0");
         }
 
-        UserProfile user = resolveUser(username);
-        UserLocation loc = locRepo.findByUser(user).orElseGet(() ->
+        // user_location is keyed by user_id; the profile itself is only needed as a reference
+        UserProfile user = userRepo.getReferenceById(userId);
+        UserLocation loc = locRepo.findById(userId).orElseGet(() ->
                 UserLocation.builder()
                         .user(user)
                         .updatedAt(OffsetDateTime.now(ZoneOffset.UTC))
                         .build()
         );
+        Point before = loc.getLocation();
+        boolean isNew = before == null;
 
         boolean hasLatLon = patch.getLatitude() != null && patch.getLongitude() != null;
-        if (hasLatLon && loc.getLocation() != null) {
-            if (!locationUpdateRateLimiter.allow(username)) {
+        if (hasLatLon && !isNew && patch.getPlaceName() == null) {
+            double movedM = GeoFactory.haversineMeters(before.getY(), before.getX(), patch.getLatitude(), patch.getLongitude());
+            if (movedM < jitterThresholdM) {
+                // GPS jitter / same place on app open: refresh freshness only, write-behind, no deck invalidation
+                touchBuffer.touch(userId, OffsetDateTime.now(ZoneOffset.UTC), patch.getAccuracy_m());
+                countUpdate("jitter", false);
+                return toDto(loc, touchBuffer.pending(userId));
+            }
+        }
+        if (hasLatLon && !isNew) {
+            if (!rateLimiter.check(RateLimitConfig.LOCATION_UPDATE, String.valueOf(userId)).allowed()) {
                 throw new LocationUpdateLimitExceededException(
                         "Limits are exceeded for today, try tomorrow."
                 );
@@ -84,33 +110,48 @@ public class UserLocationServiceImpl implements UserLocationService {
         loc.setUpdatedAt(OffsetDateTime.now(ZoneOffset.UTC));
 
         UserLocation saved = locRepo.save(loc);
-        onboardingStatusService.markLocationCompleted(user);
-        cacheVersionService.bumpDeckVersion(user.getId());
+        touchBuffer.discard(userId);
+        if (isNew) {
+            onboardingStatusService.markLocationCompleted(user);
+        }
+        // Deck candidates depend on the point only through distance; small moves inside a band keep the cached deck.
+        boolean bandChanged = isNew || bandOf(before) != bandOf(saved.getLocation());
+        if (bandChanged) {
+            cacheVersionService.bumpDeckVersion(userId);
+        }
+        countUpdate(isNew ? "created" : hasLatLon ? "moved" : "details", bandChanged);
         return toDto(saved);
     }
 
     @Transactional
     @Override
-    public void deleteForUser(String username) {
-        UserProfile user = resolveUser(username);
-        locRepo.deleteByUser(user);
-        cacheVersionService.bumpDeckVersion(user.getId());
+    public void deleteForUser(Long userId) {
+        locRepo.deleteByUser(userRepo.getReferenceById(userId));
+        cacheVersionService.bumpDeckVersion(userId);
     }
 
     // ====================== helpers ======================
 
-    private UserProfile resolveUser(String username) {
-        return userRepo.findByEmail(username)
-                .orElseThrow(() -> new NoSuchElementException("Пользователь не найден: " + username));
+    private long bandOf(Point p) {
+        return GeoFactory.cellId(p.getY(), p.getX(), deckBandM);
+    }
+
+    private void countUpdate(String kind, boolean deckBumped) {
+        meterRegistry.counter("location.updates", "kind", kind, "deck", deckBumped ? "bumped" : "kept").increment();
     }
 
     private LocationDto toDto(UserLocation ul) {
+        return toDto(ul, null);
+    }
+
+    /** {@code touch}: a not yet flushed jitter update, overlaid on the stored row. */
+    private LocationDto toDto(UserLocation ul, LocationTouchBuffer.Touch touch) {
         LocationDto dto = new LocationDto();
         Point p = ul.getLocation();
         dto.setLatitude(p.getY());
         dto.setLongitude(p.getX());
-        dto.setAccuracy_m(ul.getAccuracyM());
-        dto.setUpdated_at(ul.getUpdatedAt().toString());
+        dto.setAccuracy_m(touch != null && touch.accuracyM() != null ? touch.accuracyM() : ul.getAccuracyM());
+        dto.setUpdated_at((touch != null ? touch.updatedAt() : ul.getUpdatedAt()).toString());
         dto.setPlaceName(ul.getPlaceName());
         return dto;
     }
@@ -135,6 +176,10 @@ public class UserLocationServiceImpl implements UserLocationService {
         if (patch.getPlaceName() != null) {
             String name = patch.getPlaceName().trim();
             ul.setPlaceName(name.isEmpty() ? null : name);
+        } else if (patch.getLatitude() != null && patch.getLongitude() != null) {
+            // new coordinates without a client-provided name: resolve offline from the gazetteer,
+            // keep the previous name when the point is outside its coverage
+            reverseGeocoder.placeName(patch.getLatitude(), patch.getLongitude()).ifPresent(ul::setPlaceName);
         }
     }
 }
@@ -0,0 +1,54 @@
+package com.tennismatch.backend.utils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/** Access token transport for {@code app.auth.mode=token}: an HttpOnly cookie, or {@code Authorization: Bearer}. */
+@Component
+public class AccessCookieService {
+
+    private static final String BEARER = "Bearer ";
+
+    @Value("${app.auth.token.cookie-name:TM_ACCESS}")
+    private String cookieName;
+
+    @Value("${app.cookies.secure:false}")
+    private boolean cookieSecure;
+
+    public String readToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            return header.substring(BEARER.length()).trim();
+        }
+        var cookies = request.getCookies();
+        if (cookies == null) return null;
+        for (var cookie : cookies) {
+            if (cookieName.equals(cookie.getName())) return cookie.getValue();
+        }
+        return null;
+    }
+
+    public void setAccessCookie(HttpServletResponse response, String token, Duration ttl) {
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie(token, ttl).toString());
+    }
+
+    public void clearAccessCookie(HttpServletResponse response) {
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie("", Duration.ZERO).toString());
+    }
+
+    private ResponseCookie cookie(String value, Duration maxAge) {
+        return ResponseCookie.from(cookieName, value)
+                .httpOnly(true)
+                .secure(cookieSecure)
+                .sameSite(cookieSecure ? "None" : "Lax")
+                .path("/")
+                .maxAge(maxAge)
+                .build();
+    }
+}
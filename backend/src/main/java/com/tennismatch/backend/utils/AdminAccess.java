@@ -0,0 +1,49 @@
+package com.tennismatch.backend.utils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.function.Supplier;
+
+/**
+ * Guard for operator endpoints under {@code /admin/**}, enforced in the security chain ({@code SecurityConfig}):
+ * callers send {@code X-Admin-Token} matching {@code app.admin.token}. With no token configured the endpoints
+ * are closed.
+ */
+@Component
+public class AdminAccess implements AuthorizationManager<RequestAuthorizationContext> {
+
+    public static final String HEADER = "X-Admin-Token";
+
+    private final byte[] token;
+
+    public AdminAccess(@Value("${app.admin.token:}") String token) {
+        this.token = token == null || token.isBlank() ? null : token.trim().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return new AuthorizationDecision(matches(context.getRequest()));
+    }
+
+    /** Superseded by {@link #authorize}, which is what the security chain calls. */
+    @Deprecated
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return new AuthorizationDecision(matches(context.getRequest()));
+    }
+
+    private boolean matches(HttpServletRequest request) {
+        if (token == null) return false;
+        String presented = request.getHeader(HEADER);
+        return presented != null && MessageDigest.isEqual(token, presented.trim().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -15,4 +15,10 @@ public final class ApiErrors {
     public static ResponseStatusException gone(String msg) {
         return new ResponseStatusException(HttpStatus.GONE, msg);
     }
+    public static ResponseStatusException notFound(String msg) {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, msg);
+    }
+    public static ResponseStatusException conflict(String msg) {
+        return new ResponseStatusException(HttpStatus.CONFLICT, msg);
+    }
 }
\ No newline at end of file
@@ -1,18 +1,49 @@
 package com.tennismatch.backend.utils;
 
 import com.tennismatch.backend.repositories.UserProfileRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
-// AuthUserIdResolver.java
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Maps the current authentication to a user id. Order: {@link AuthenticatedUser} details from the session
+ * (no I/O), a numeric principal, then a bounded email-to-id LRU in front of the {@code lower(email)} lookup.
+ */
 @Component
-@RequiredArgsConstructor
 public class AuthUserIdResolver {
     private final UserProfileRepository userRepo;
+    private final Clock clock;
+    private final long ttlMs;
+    private final Map<String, CachedId> byEmail;
+    private final ReentrantLock byEmailLock = new ReentrantLock();
+
+    public AuthUserIdResolver(UserProfileRepository userRepo,
+                              Clock clock,
+                              @Value("${app.auth.user-id-cache.size:10000}") int maxEntries,
+                              @Value("${app.auth.user-id-cache.ttl:PT10M}") Duration ttl) {
+        this.userRepo = userRepo;
+        this.clock = clock;
+        this.ttlMs = ttl.toMillis();
+        this.byEmail = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedId> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
 
     public Long resolveUserId(Authentication auth) {
         if (auth == null) throw new IllegalStateException("Unauthorized");
+        Long fromDetails = AuthenticatedUser.userIdOf(auth);
+        if (fromDetails != null) return fromDetails;
+
         String principal = auth.getName();
         if (principal == null || principal.isBlank()) {
             throw new IllegalStateException("Empty principal");
@@ -22,7 +53,25 @@ public class AuthUserIdResolver {
         catch (NumberFormatException ignore) { /* fall through */ }
 
         // Otherwise treat principal as email (adjust if you use a different field)
-        return userRepo.findIdByEmail(principal)
+        String key = principal.toLowerCase(Locale.ROOT);
+        long now = clock.millis();
+        byEmailLock.lock();
+        try {
+            CachedId cached = byEmail.get(key);
+            if (cached != null && cached.expiresAtMs > now) return cached.userId;
+        } finally {
+            byEmailLock.unlock();
+        }
+        Long id = userRepo.findIdByEmail(principal)
                 .orElseThrow(() -> new IllegalStateException("User not found by principal: " + principal));
+        byEmailLock.lock();
+        try {
+            byEmail.put(key, new CachedId(id, now + ttlMs));
+        } finally {
+            byEmailLock.unlock();
+        }
+        return id;
     }
+
+    private record CachedId(long userId, long expiresAtMs) {}
 }
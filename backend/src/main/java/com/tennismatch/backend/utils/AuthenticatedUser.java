@@ -0,0 +1,17 @@
+package com.tennismatch.backend.utils;
+
+import org.springframework.security.core.Authentication;
+
+import java.io.Serializable;
+
+/**
+ * Authentication details attached at login/refresh and stored with the security context in the session, so
+ * request handling knows the user id without looking it up by the email principal.
+ */
+public record AuthenticatedUser(long userId) implements Serializable {
+
+    /** Id carried by the authentication, or null for contexts created before details were attached. */
+    public static Long userIdOf(Authentication auth) {
+        return auth != null && auth.getDetails() instanceof AuthenticatedUser u ? u.userId() : null;
+    }
+}
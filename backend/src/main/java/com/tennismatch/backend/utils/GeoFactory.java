@@ -12,4 +12,29 @@ public class GeoFactory {
         p.setSRID(4326);
         return p;
     }
+
+    private static final double EARTH_RADIUS_M = 6_371_008.8;
+    private static final double METERS_PER_DEGREE_LAT = 111_320.0;
+
+    /** Great-circle distance in meters. */
+    public static double haversineMeters(double lat1, double lon1, double lat2, double lon2) {
+        double phi1 = Math.toRadians(lat1), phi2 = Math.toRadians(lat2);
+        double dPhi = phi2 - phi1, dLambda = Math.toRadians(lon2 - lon1);
+        double h = Math.sin(dPhi / 2) * Math.sin(dPhi / 2)
+                + Math.cos(phi1) * Math.cos(phi2) * Math.sin(dLambda / 2) * Math.sin(dLambda / 2);
+        return 2 * EARTH_RADIUS_M * Math.asin(Math.min(1.0, Math.sqrt(h)));
+    }
+
+    /**
+     * Id of the roughly {@code cellMeters}-wide grid cell containing the point: rows of equal latitude height,
+     * each row split into columns whose width is corrected for the row's latitude.
+     */
+    public static long cellId(double lat, double lon, double cellMeters) {
+        double dLat = cellMeters / METERS_PER_DEGREE_LAT;
+        long row = (long) Math.floor((lat + 90) / dLat);
+        double rowLat = Math.min(89.9, Math.abs(-90 + (row + 0.5) * dLat));
+        double dLon = dLat / Math.cos(Math.toRadians(rowLat));
+        long col = (long) Math.floor((lon + 180) / dLon);
+        return (row << 32) | col;
+    }
 }
@@ -0,0 +1,192 @@
+package com.tennismatch.backend.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hierarchical timing wheel (Varghese &amp; Lauck): level {@code L} has {@code wheelSize} slots of
+ * {@code tickMs * wheelSize^L}. An entry sits in the lowest level whose span covers its delay and cascades down
+ * when the higher-level slot comes due, so schedule/reschedule/cancel are O(1) and {@link #advance} costs
+ * O(levels) per tick plus the entries it moves.
+ * <p>
+ * One entry per key: scheduling an existing key moves it. Thread-safe (single lock, no monitors).
+ */
+public final class HierarchicalTimingWheel<K> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long[] levelTicks;
+    private final List<List<Set<Entry<K>>>> slots;
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long currentTick;
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, int levels, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("tickMs > 0, wheelSize >= 2 and levels >= 1 required");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.levelTicks = new long[levels];
+        this.slots = new ArrayList<>(levels);
+        long span = 1;
+        for (int level = 0; level < levels; level++) {
+            levelTicks[level] = span;
+            List<Set<Entry<K>>> wheel = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                wheel.add(new HashSet<>());
+            }
+            slots.add(wheel);
+            span = Math.multiplyExact(span, wheelSize);
+        }
+        this.currentTick = startMs / tickMs;
+    }
+
+    /** Schedules (or moves) {@code key} to fire at the first tick at or after {@code deadlineMs}. */
+    public void schedule(K key, long deadlineMs) {
+        lock.lock();
+        try {
+            Entry<K> old = entries.remove(key);
+            if (old != null) unlink(old);
+            Entry<K> entry = new Entry<>(key, deadlineMs, Math.floorDiv(deadlineMs + tickMs - 1, tickMs));
+            entries.put(key, entry);
+            if (entry.deadlineTick <= currentTick) {
+                // Already due: fire on the next tick.
+                link(entry, 0, (int) ((currentTick + 1) % wheelSize));
+            } else {
+                place(entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean cancel(K key) {
+        lock.lock();
+        try {
+            Entry<K> entry = entries.remove(key);
+            if (entry == null) return false;
+            unlink(entry);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Scheduled deadline for {@code key}, or null. */
+    public Long deadlineOf(K key) {
+        lock.lock();
+        try {
+            Entry<K> entry = entries.get(key);
+            return entry != null ? entry.deadlineMs : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Moves time forward to {@code nowMs} and removes and returns every key that came due. */
+    public List<K> advance(long nowMs) {
+        long targetTick = nowMs / tickMs;
+        List<K> due = new ArrayList<>();
+        lock.lock();
+        try {
+            while (currentTick < targetTick) {
+                currentTick++;
+                // Cascade from the top so entries can fall through several levels in one tick.
+                for (int level = levelTicks.length - 1; level >= 1; level--) {
+                    if (currentTick % levelTicks[level] == 0) {
+                        int idx = (int) ((currentTick / levelTicks[level]) % wheelSize);
+                        for (Entry<K> entry : drain(level, idx)) {
+                            if (entry.deadlineTick <= currentTick) {
+                                fire(entry, due);
+                            } else {
+                                place(entry);
+                            }
+                        }
+                    }
+                }
+                for (Entry<K> entry : drain(0, (int) (currentTick % wheelSize))) {
+                    if (entry.deadlineTick <= currentTick) {
+                        fire(entry, due);
+                    } else {
+                        place(entry);
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return due;
+    }
+
+    private void place(Entry<K> entry) {
+        long delta = entry.deadlineTick - currentTick;
+        int top = levelTicks.length - 1;
+        for (int level = 0; level <= top; level++) {
+            long span = levelTicks[level] * wheelSize;
+            if (delta < span || level == top) {
+                // Beyond the top span the entry is re-placed each time its top-level slot comes round.
+                link(entry, level, (int) ((entry.deadlineTick / levelTicks[level]) % wheelSize));
+                return;
+            }
+        }
+    }
+
+    private void fire(Entry<K> entry, List<K> due) {
+        entries.remove(entry.key);
+        due.add(entry.key);
+    }
+
+    private List<Entry<K>> drain(int level, int idx) {
+        Set<Entry<K>> bucket = slots.get(level).get(idx);
+        if (bucket.isEmpty()) return List.of();
+        List<Entry<K>> drained = new ArrayList<>(bucket);
+        bucket.clear();
+        for (Entry<K> entry : drained) {
+            entry.level = -1;
+        }
+        return drained;
+    }
+
+    private void link(Entry<K> entry, int level, int idx) {
+        entry.level = level;
+        entry.slot = idx;
+        slots.get(level).get(idx).add(entry);
+    }
+
+    private void unlink(Entry<K> entry) {
+        if (entry.level >= 0) {
+            slots.get(entry.level).get(entry.slot).remove(entry);
+            entry.level = -1;
+        }
+    }
+
+    private static final class Entry<K> {
+        private final K key;
+        private final long deadlineMs;
+        private final long deadlineTick;
+        private int level = -1;
+        private int slot;
+
+        private Entry(K key, long deadlineMs, long deadlineTick) {
+            this.key = key;
+            this.deadlineMs = deadlineMs;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
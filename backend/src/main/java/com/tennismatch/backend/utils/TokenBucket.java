@@ -0,0 +1,46 @@
+package com.tennismatch.backend.utils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket for pacing calls to an external provider within one JVM.
+ * Implemented as a virtual schedule: each permit reserves the next slot ({@code 1/rate} apart); the schedule may
+ * lag behind "now" by at most {@code burst} slots, which is the bucket capacity.
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong nextSlot = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucket(int permitsPerSecond, int burst) {
+        this.intervalNanos = 1_000_000_000L / Math.max(1, permitsPerSecond);
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+    }
+
+    /** Takes a permit, sleeping until one is available. */
+    public void acquire() {
+        long now = System.nanoTime();
+        long prev = nextSlot.getAndUpdate(p -> Math.max(p, now - burstNanos) + intervalNanos);
+        long waitNanos = Math.max(prev, now - burstNanos) - now;
+        if (waitNanos <= 0) return;
+        try {
+            Thread.sleep(Duration.ofNanos(waitNanos));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a permit", ex);
+        }
+    }
+
+    /** Takes a permit only if one is available right now. */
+    public boolean tryAcquire() {
+        long now = System.nanoTime();
+        while (true) {
+            long prev = nextSlot.get();
+            long start = Math.max(prev, now - burstNanos);
+            if (start > now) return false;
+            if (nextSlot.compareAndSet(prev, start + intervalNanos)) return true;
+        }
+    }
+}
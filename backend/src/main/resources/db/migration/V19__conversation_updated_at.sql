@@ -0,0 +1,9 @@
+-- Change marker for delta sync: bumped on status transitions (expire/archive) and new messages.
+ALTER TABLE conversation
+    ADD COLUMN updated_at TIMESTAMPTZ NOT NULL DEFAULT now();
+
+UPDATE conversation
+   SET updated_at = coalesce(archived_at, last_message_at, created_at);
+
+CREATE INDEX idx_conversation_updated_at
+    ON conversation (updated_at);
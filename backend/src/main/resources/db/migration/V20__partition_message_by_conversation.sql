@@ -0,0 +1,49 @@
+-- Hash-partition message by conversation_id (8 partitions).
+-- Conversation-hash (not time-range) partitioning keeps the (conversation_id, client_id) idempotency
+-- index unique (a unique index must contain the partition key) and lets every history/keyset query
+-- prune to a single partition. Purge works per conversation, so it deletes in batches (ChatArchivePurger)
+-- instead of dropping partitions.
+
+CREATE TABLE message_partitioned (
+    id               BIGINT       NOT NULL DEFAULT nextval('message_id_seq'),
+    conversation_id  BIGINT       NOT NULL REFERENCES conversation(id) ON DELETE CASCADE,
+    sender_id        BIGINT       NOT NULL,
+    body             TEXT         NOT NULL,
+    created_at       TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    status           VARCHAR(16)  NOT NULL DEFAULT 'DELIVERED',
+    client_id        VARCHAR(64),
+    -- (conversation_id, id) also serves the id-DESC history scans (former ix_message_conv_id)
+    PRIMARY KEY (conversation_id, id),
+    CONSTRAINT chk_message_status CHECK (status IN ('DELIVERED','READ'))
+) PARTITION BY HASH (conversation_id);
+
+CREATE TABLE message_p0 PARTITION OF message_partitioned FOR VALUES WITH (MODULUS 8, REMAINDER 0);
+CREATE TABLE message_p1 PARTITION OF message_partitioned FOR VALUES WITH (MODULUS 8, REMAINDER 1);
+CREATE TABLE message_p2 PARTITION OF message_partitioned FOR VALUES WITH (MODULUS 8, REMAINDER 2);
+CREATE TABLE message_p3 PARTITION OF message_partitioned FOR VALUES WITH (MODULUS 8, REMAINDER 3);
+CREATE TABLE message_p4 PARTITION OF message_partitioned FOR VALUES WITH (MODULUS 8, REMAINDER 4);
+CREATE TABLE message_p5 PARTITION OF message_partitioned FOR VALUES WITH (MODULUS 8, REMAINDER 5);
+CREATE TABLE message_p6 PARTITION OF message_partitioned FOR VALUES WITH (MODULUS 8, REMAINDER 6);
+CREATE TABLE message_p7 PARTITION OF message_partitioned FOR VALUES WITH (MODULUS 8, REMAINDER 7);
+
+INSERT INTO message_partitioned (id, conversation_id, sender_id, body, created_at, status, client_id)
+SELECT id, conversation_id, sender_id, body, created_at, status, client_id
+  FROM message;
+
+-- Keep the sequence when the old table (its owner) is dropped.
+ALTER SEQUENCE message_id_seq OWNED BY message_partitioned.id;
+
+DROP TABLE message;
+ALTER TABLE message_partitioned RENAME TO message;
+
+ALTER TABLE message
+    ADD CONSTRAINT fk_message_sender
+        FOREIGN KEY (sender_id) REFERENCES user_profile(id) ON DELETE CASCADE;
+
+CREATE UNIQUE INDEX ux_message_conv_client
+    ON message (conversation_id, client_id)
+    WHERE client_id IS NOT NULL;
+
+-- Single created_at index (V4 ix_message_conv_created and V15 idx_message_conversation_created_at were duplicates).
+CREATE INDEX ix_message_conv_created
+    ON message (conversation_id, created_at DESC);
@@ -0,0 +1,29 @@
+-- Durable outbound email queue. Producers insert rows (EmailSender), EmailOutboxDispatcher claims due rows
+-- with FOR UPDATE SKIP LOCKED, sends them through the configured provider and marks SENT, retries with
+-- backoff (next_attempt_at) or moves them to DEAD after max attempts.
+
+CREATE TABLE email_outbox (
+    id               BIGSERIAL    PRIMARY KEY,
+    kind             VARCHAR(32)  NOT NULL,
+    priority         SMALLINT     NOT NULL DEFAULT 5,
+    to_email         VARCHAR(320) NOT NULL,
+    subject          VARCHAR(255) NOT NULL,
+    html             TEXT         NOT NULL,
+    status           VARCHAR(16)  NOT NULL DEFAULT 'PENDING',
+    attempts         INT          NOT NULL DEFAULT 0,
+    next_attempt_at  TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    last_error       TEXT,
+    created_at       TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    sent_at          TIMESTAMPTZ,
+    CONSTRAINT chk_email_outbox_status CHECK (status IN ('PENDING','SENDING','SENT','DEAD'))
+);
+
+-- Dispatcher claim: due PENDING rows plus SENDING rows whose claim lease ran out (node died mid-send).
+CREATE INDEX ix_email_outbox_due
+    ON email_outbox (priority, next_attempt_at)
+    WHERE status IN ('PENDING','SENDING');
+
+-- Retention cleanup of SENT rows.
+CREATE INDEX ix_email_outbox_sent_at
+    ON email_outbox (sent_at)
+    WHERE status = 'SENT';
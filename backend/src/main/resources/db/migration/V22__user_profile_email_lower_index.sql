@@ -0,0 +1,3 @@
+-- AuthUserIdResolver looks users up by lower(email) = lower(:email) (cold path, on a cache miss);
+-- uk_user_profile_email is on the raw column and cannot serve that predicate.
+CREATE INDEX IF NOT EXISTS idx_user_profile_email_lower ON user_profile (lower(email));
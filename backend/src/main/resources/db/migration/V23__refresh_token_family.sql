@@ -0,0 +1,11 @@
+-- Token families: a login's refresh token and all of its rotations share family_id (reuse detection).
+ALTER TABLE refresh_token ADD COLUMN IF NOT EXISTS family_id UUID;
+
+-- Existing chains predate families; each row becomes its own family.
+UPDATE refresh_token SET family_id = gen_random_uuid() WHERE family_id IS NULL;
+
+ALTER TABLE refresh_token ALTER COLUMN family_id SET NOT NULL;
+
+-- Family revocation only touches live rows.
+CREATE INDEX IF NOT EXISTS idx_refresh_token_family_live
+    ON refresh_token (family_id) WHERE revoked_at IS NULL;
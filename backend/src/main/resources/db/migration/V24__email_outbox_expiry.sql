@@ -0,0 +1,4 @@
+-- Rows that carry a short-lived secret (verification codes) get an expiry: the dispatcher moves them to DEAD
+-- instead of sending them once it has passed, and drops their body after SENT or DEAD.
+
+ALTER TABLE email_outbox ADD COLUMN expires_at TIMESTAMPTZ;
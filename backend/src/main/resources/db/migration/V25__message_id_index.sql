@@ -0,0 +1,5 @@
+-- Delta sync (MessageRepository.findForUserAfterId) pages on id across all of a user's conversations. The
+-- (conversation_id, id) PK cannot serve "id > :afterId order by id", so users with many conversations got a
+-- sequential scan of every partition. A per-partition id index lets the planner merge-append in id order and stop
+-- at the page size. (CONCURRENTLY is not supported on a partitioned parent.)
+CREATE INDEX IF NOT EXISTS ix_message_id ON message (id);
@@ -0,0 +1,140 @@
+package com.tennismatch.backend.chat.services;
+
+import com.tennismatch.backend.chat.domain.dto.ConversationStateDto;
+import com.tennismatch.backend.chat.domain.dto.ReadReceiptDto;
+import com.tennismatch.backend.chat.domain.dto.responses.SyncResponse;
+import com.tennismatch.backend.chat.domain.entries.Conversation;
+import com.tennismatch.backend.chat.domain.entries.ConversationParticipant;
+import com.tennismatch.backend.chat.domain.enums.ConversationStatus;
+import com.tennismatch.backend.chat.repositories.ConversationParticipantRepository;
+import com.tennismatch.backend.chat.repositories.ConversationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Paging of read markers and conversation states when many rows share one timestamp: with a state limit of 3 every
+ * page below is made of ties, so a timestamp-only cursor would return the same page forever.
+ */
+@SpringBootTest(properties = {"app.mail.outbox.enabled=false", "app.chat.sync.state-limit=" + ChatSyncServiceTest.LIMIT})
+class ChatSyncServiceTest {
+
+    static final int LIMIT = 3;
+    private static final int MAX_CALLS = 20;
+    private static final AtomicLong IDS = new AtomicLong(9_000_000);
+    private static final Instant T = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Autowired ChatSyncService syncService;
+    @Autowired ConversationRepository conversationRepo;
+    @Autowired ConversationParticipantRepository participantRepo;
+
+    private long me;
+    private long partner;
+
+    @BeforeEach
+    void users() {
+        me = IDS.incrementAndGet();
+        partner = IDS.incrementAndGet();
+    }
+
+    @Test
+    void conversationsSharingOneUpdatedAtArePagedThrough() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            ids.add(conversation(T, null));
+        }
+
+        List<Long> seen = syncAll().conversations.stream().map(ConversationStateDto::getConversationId).toList();
+
+        assertEquals(ids, seen, "every conversation exactly once, in (updatedAt, id) order");
+    }
+
+    @Test
+    void readsSharingOneLastReadAtArePagedThrough() {
+        conversation(T.minus(Duration.ofDays(1)), T); // both participants read at T: 4 tied reads
+        conversation(T.minus(Duration.ofDays(1)), T);
+
+        List<String> seen = syncAll().reads.stream().map(r -> r.getConversationId() + ":" + r.getUserId()).toList();
+
+        assertEquals(4, seen.size(), "no read repeated: " + seen);
+        assertEquals(4, seen.stream().distinct().count());
+    }
+
+    @Test
+    void uncappedListIsReReadFromTheOtherListsResumePoint() {
+        // 4 conversations at T (capped, resumes mid-T) and 2 reads at T and T+1s (not capped)
+        for (int i = 0; i < 4; i++) {
+            conversation(T, null);
+        }
+        long c = conversation(T, null);
+        participantRepo.save(participant(c, me, T.plusSeconds(1)));
+
+        Synced all = syncAll();
+
+        assertEquals(5, all.conversations.stream().map(ConversationStateDto::getConversationId).distinct().count());
+        assertEquals(5, all.conversations.size(), "conversations are not repeated");
+        assertTrue(all.reads.stream().anyMatch(r -> r.getConversationId() == c && r.getUserId() == me));
+    }
+
+    @Test
+    void uncappedSyncHasNoKeys() {
+        conversation(T, null);
+
+        SyncResponse res = syncService.sync(me, 0, ChatSyncService.StateCursor.after(Instant.EPOCH), null);
+
+        assertFalse(res.isHasMore());
+        assertEquals(1, res.getConversations().size());
+        assertNull(res.getNextSinceConversationId());
+        assertNull(res.getNextSinceReadConversationId());
+        assertNull(res.getNextSinceReadUserId());
+    }
+
+    /** Follows the returned cursor until {@code hasMore} is false, like a client would. */
+    private Synced syncAll() {
+        Synced all = new Synced();
+        ChatSyncService.StateCursor cursor = ChatSyncService.StateCursor.after(Instant.EPOCH);
+        for (int call = 0; call < MAX_CALLS; call++) {
+            SyncResponse res = syncService.sync(me, 0, cursor, null);
+            all.conversations.addAll(res.getConversations());
+            all.reads.addAll(res.getReads());
+            if (!res.isHasMore()) return all;
+            cursor = new ChatSyncService.StateCursor(res.getNextSince(), res.getNextSinceConversationId(),
+                    res.getNextSinceReadConversationId(), res.getNextSinceReadUserId());
+        }
+        throw new AssertionError("sync did not finish within " + MAX_CALLS + " calls");
+    }
+
+    private long conversation(Instant updatedAt, Instant readAt) {
+        Conversation c = conversationRepo.save(Conversation.builder()
+                .matchId(IDS.incrementAndGet())
+                .status(ConversationStatus.ACTIVE)
+                .createdAt(updatedAt)
+                .expiresAt(updatedAt.plus(Duration.ofDays(7)))
+                .updatedAt(updatedAt)
+                .build());
+        participantRepo.save(participant(c.getId(), me, readAt));
+        participantRepo.save(participant(c.getId(), partner, readAt));
+        return c.getId();
+    }
+
+    private static ConversationParticipant participant(long conversationId, long userId, Instant lastReadAt) {
+        return ConversationParticipant.builder().conversationId(conversationId).userId(userId).lastReadAt(lastReadAt).build();
+    }
+
+    private static final class Synced {
+        final List<ConversationStateDto> conversations = new ArrayList<>();
+        final List<ReadReceiptDto> reads = new ArrayList<>();
+    }
+}
@@ -0,0 +1,29 @@
+package com.tennismatch.backend.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** {@code /admin/**} is refused by the security chain unless {@code X-Admin-Token} matches. */
+@SpringBootTest(properties = {"app.mail.outbox.enabled=false", "app.admin.token=test-admin-token"})
+@AutoConfigureMockMvc
+class AdminAccessTest {
+
+    @Autowired MockMvc mvc;
+
+    @Test
+    void adminEndpointsRequireTheToken() throws Exception {
+        mvc.perform(get("/admin/gazetteer")).andExpect(status().isUnauthorized());
+        mvc.perform(get("/admin/gazetteer").header("X-Admin-Token", "wrong")).andExpect(status().isUnauthorized());
+        mvc.perform(get("/admin/jfr/files")).andExpect(status().isUnauthorized());
+        mvc.perform(post("/admin/jfr/start")).andExpect(status().isUnauthorized());
+
+        mvc.perform(get("/admin/gazetteer").header("X-Admin-Token", "test-admin-token")).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,51 @@
+package com.tennismatch.backend.controllers;
+
+import com.tennismatch.backend.domain.dto.auth.AuthFlowDto;
+import com.tennismatch.backend.repositories.AuthFlowRepository;
+import com.tennismatch.backend.services.FlowStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** Wrong codes are counted through {@code POST /auth/verify}, even though each one fails the request's transaction. */
+@SpringBootTest(properties = {"app.mail.outbox.enabled=false", "auth.flow.store=db", "app.auth.flow.max-attempts=5"})
+@AutoConfigureMockMvc
+class AuthVerifyAttemptsTest {
+
+    @Autowired MockMvc mvc;
+    @Autowired FlowStore flowStore;
+    @Autowired AuthFlowRepository flowRepo;
+
+    @Test
+    void wrongCodesAreCountedUntilTheFlowLocks() throws Exception {
+        String flowId = UUID.randomUUID().toString();
+        long expires = Instant.now().plus(Duration.ofMinutes(10)).getEpochSecond();
+        flowStore.save(flowId, new AuthFlowDto("attempts@example.com", "123456", 0, expires, 0, 0), Duration.ofMinutes(10));
+
+        for (int i = 1; i < 5; i++) {
+            verify(flowId, "000000").andExpect(status().isBadRequest());
+            assertEquals(i, flowRepo.findById(flowId).orElseThrow().getAttempts());
+        }
+        verify(flowId, "000000").andExpect(status().isTooManyRequests());
+        // the right code no longer helps
+        verify(flowId, "123456").andExpect(status().is4xxClientError());
+        verify(flowId, "123456").andExpect(status().is4xxClientError());
+    }
+
+    private org.springframework.test.web.servlet.ResultActions verify(String flowId, String code) throws Exception {
+        return mvc.perform(post("/auth/verify")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"flowId\":\"" + flowId + "\",\"code\":\"" + code + "\"}"));
+    }
+}
@@ -0,0 +1,135 @@
+package com.tennismatch.backend.controllers;
+
+import com.tennismatch.backend.chat.services.ConversationQueryService;
+import com.tennismatch.backend.domain.dto.DeckCandidateDto;
+import com.tennismatch.backend.domain.dto.requests.PostDecisionRequest;
+import com.tennismatch.backend.domain.dto.responses.GetDeckResponse;
+import com.tennismatch.backend.domain.dto.responses.PostDecisionResponse;
+import com.tennismatch.backend.domain.entries.Photo;
+import com.tennismatch.backend.domain.entries.UserAction;
+import com.tennismatch.backend.domain.entries.UserProfile;
+import com.tennismatch.backend.domain.enums.SkillLevel;
+import com.tennismatch.backend.repositories.PhotoRepository;
+import com.tennismatch.backend.repositories.UserActionRepository;
+import com.tennismatch.backend.repositories.UserProfileRepository;
+import com.tennismatch.backend.services.DeckService;
+import com.tennismatch.backend.services.DeckSessionService;
+import com.tennismatch.backend.support.QueryCounter;
+import com.tennismatch.backend.utils.AuthenticatedUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Query budgets for the swipe and inbox hot paths. Budgets are fixed, independent of deck and inbox size, so a
+ * per-card or per-conversation lookup fails them. The PostGIS candidate query and the Redis deck session are
+ * stubbed; everything else runs against the database.
+ */
+@SpringBootTest(properties = "app.mail.outbox.enabled=false")
+class HotPathQueryBudgetTest {
+
+    private static final int CARDS = 6;
+
+    // swiped filter, profiles, photos
+    private static final int GET_DECK_BUDGET = 3;
+    // idempotency key, already swiped, insert action, reverse YES, match lookup + insert, conversation lookup + insert,
+    // two participants (assigned composite ids: save() merges, select + insert each), then the card (profile, photo)
+    private static final int POST_MATCHING_DECISION_BUDGET = 14;
+    private static final int CONVERSATIONS_BUDGET = 1;
+    private static final int REPEAT_LIMIT = 3;
+
+    @Autowired DeckController deckController;
+    @Autowired ConversationQueryService conversationQueryService;
+    @Autowired UserProfileRepository userRepo;
+    @Autowired PhotoRepository photoRepo;
+    @Autowired UserActionRepository actionRepo;
+
+    @MockitoBean DeckService deckService;
+    @MockitoBean DeckSessionService deckSessionService;
+
+    private long actorId;
+    private Authentication auth;
+    private final List<Long> candidateIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        actorId = newUser("actor");
+        auth = new UsernamePasswordAuthenticationToken("actor", null, List.of());
+        ((UsernamePasswordAuthenticationToken) auth).setDetails(new AuthenticatedUser(actorId));
+
+        List<DeckCandidateDto> candidates = new ArrayList<>();
+        for (int i = 0; i < CARDS; i++) {
+            long id = newUser("candidate" + i);
+            candidateIds.add(id);
+            photoRepo.save(Photo.builder().url("https://example.com/" + id + ".jpg").user(userRepo.getReferenceById(id)).build());
+            candidates.add(DeckCandidateDto.builder().userId(id).distanceMeters(1000.0 * i).build());
+        }
+        when(deckService.getDeck(eq(actorId), anyInt())).thenReturn(candidates);
+        when(deckSessionService.create(anyLong(), any(), any())).thenReturn("deck-token");
+    }
+
+    @Test
+    void getDeckIsConstantInDeckSize() {
+        GetDeckResponse deck = QueryCounter.withinBudget("GET /me/deck", GET_DECK_BUDGET, REPEAT_LIMIT,
+                () -> deckController.getDeck(auth).getBody());
+
+        assertEquals(CARDS, deck.getCards().size());
+    }
+
+    @Test
+    void postDecisionThatMatches() {
+        long target = candidateIds.get(0);
+        actionRepo.save(UserAction.builder().actorId(target).targetId(actorId)
+                .decision(UserAction.Decision.YES).atUtc(Instant.now()).build());
+        when(deckSessionService.get("deck-token")).thenReturn(Optional.of(new DeckSessionService.DeckSession(
+                "deck-token", actorId, Map.of("card-0", target), Instant.now().plusSeconds(60))));
+
+        PostDecisionRequest req = PostDecisionRequest.builder()
+                .deckToken("deck-token")
+                .item(PostDecisionRequest.Item.builder().candidateId("card-0")
+                        .decision(PostDecisionRequest.Decision.YES).idempotencyKey(UUID.randomUUID().toString()).build())
+                .build();
+
+        PostDecisionResponse res = QueryCounter.withinBudget("POST /me/decision", POST_MATCHING_DECISION_BUDGET, REPEAT_LIMIT,
+                () -> deckController.postDecision(auth, null, req).getBody());
+
+        assertTrue(res.getResults().get(0).isMatched());
+    }
+
+    @Test
+    @Disabled("The inbox query uses LATERAL, which H2 rejects; runs only against Postgres")
+    void conversationListIsOneQuery() {
+        QueryCounter.withinBudget("GET /me/conversations", CONVERSATIONS_BUDGET, REPEAT_LIMIT,
+                () -> conversationQueryService.getConversations(actorId));
+    }
+
+    private long newUser(String name) {
+        UserProfile u = new UserProfile();
+        u.setEmail(name + "-" + UUID.randomUUID() + "@example.com");
+        u.setName(name);
+        u.setAge(30);
+        u.setSkillLevel(SkillLevel.INTERMEDIATE);
+        u.setVisible(true);
+        return userRepo.save(u).getId();
+    }
+}
@@ -0,0 +1,162 @@
+package com.tennismatch.backend.geo;
+
+import com.tennismatch.backend.geo.GazetteerIndex.Place;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/** Nearest-place lookups checked against a brute-force haversine scan, plus GeoNames line parsing. */
+class GazetteerIndexTest {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    // the index stores float unit vectors (~1 m at Earth scale); near-ties may resolve to either place
+    private static final double TOLERANCE_KM = 0.01;
+
+    @Test
+    void matchesBruteForceOnRandomPlacesAndQueries() {
+        Random random = new Random(11);
+        Place[] places = new Place[5_000];
+        for (int i = 0; i < places.length; i++) {
+            places[i] = place("p" + i, randomLat(random), randomLon(random));
+        }
+        GazetteerIndex index = GazetteerIndex.build(places);
+
+        for (int i = 0; i < 2_000; i++) {
+            assertNearest(index, places, randomLat(random), randomLon(random));
+        }
+    }
+
+    @Test
+    void nearestAcrossTheAntimeridian() {
+        Place[] places = {
+                place("Suva", -18.14, 178.44),
+                place("Apia", -13.83, -171.76),
+                place("East", 0.0, 179.9),
+                place("West", 0.0, -179.9),
+                place("Far", 0.0, 170.0),
+        };
+        GazetteerIndex index = GazetteerIndex.build(places);
+
+        assertEquals("West", index.nearest(0.0, -179.99).place().name());
+        assertEquals("East", index.nearest(0.0, 179.99).place().name());
+        assertEquals("Suva", index.nearest(-17.0, -179.5).place().name());
+        for (double lon = 175; lon <= 185; lon += 0.25) {
+            assertNearest(index, places, -15.0, lon > 180 ? lon - 360 : lon);
+        }
+    }
+
+    @Test
+    void nearestAroundThePoles() {
+        Random random = new Random(3);
+        Place[] places = new Place[400];
+        for (int i = 0; i < places.length; i++) {
+            double lat = (random.nextBoolean() ? 1 : -1) * (80 + random.nextDouble() * 10);
+            places[i] = place("p" + i, lat, randomLon(random));
+        }
+        GazetteerIndex index = GazetteerIndex.build(places);
+
+        for (double lon = -180; lon <= 180; lon += 7.5) {
+            assertNearest(index, places, 90.0, lon);
+            assertNearest(index, places, -90.0, lon);
+            assertNearest(index, places, 89.9, lon);
+            assertNearest(index, places, -89.5, lon);
+        }
+        // At the pole every longitude is the same point.
+        assertEquals(index.nearest(90.0, 0.0).place(), index.nearest(90.0, 123.0).place());
+    }
+
+    @Test
+    void distanceIsGreatCircleKm() {
+        GazetteerIndex index = GazetteerIndex.build(new Place[]{place("Origin", 0.0, 0.0)});
+
+        assertEquals(111.195, index.nearest(1.0, 0.0).distanceKm(), 0.01);
+        assertEquals(Math.PI * EARTH_RADIUS_KM, index.nearest(0.0, 180.0).distanceKm(), 1.0);
+    }
+
+    @Test
+    void smallAndEmptyIndexes() {
+        assertNull(GazetteerIndex.build(new Place[0]).nearest(10, 10));
+
+        GazetteerIndex one = GazetteerIndex.build(new Place[]{place("Only", 48.85, 2.35)});
+        assertEquals("Only", one.nearest(-48.85, -177.65).place().name());
+
+        Place[] duplicates = {place("A", 10, 10), place("B", 10, 10), place("C", 10, 10)};
+        assertNotNull(GazetteerIndex.build(duplicates).nearest(10, 10));
+    }
+
+    @Test
+    void parsesGeoNamesLines() {
+        Place p = GazetteerIndex.parseGeoNamesLine(line("San Diego", "32.71571", "-117.16472", "US", "1394928"), 1000);
+        assertEquals(new Place("San Diego", "US", 32.71571, -117.16472, 1394928), p);
+        assertEquals("San Diego, US", p.label());
+
+        Place noCountry = GazetteerIndex.parseGeoNamesLine(line(" Somewhere ", "1", "2", "", "5000"), 0);
+        assertEquals("Somewhere", noCountry.name());
+        assertEquals("Somewhere", noCountry.label());
+
+        assertEquals(0, GazetteerIndex.parseGeoNamesLine(line("Hamlet", "1", "2", "XX", ""), 0).population());
+    }
+
+    @Test
+    void skipsMalformedAndSmallPlaces() {
+        assertNull(GazetteerIndex.parseGeoNamesLine("", 0));
+        assertNull(GazetteerIndex.parseGeoNamesLine("# comment", 0));
+        assertNull(GazetteerIndex.parseGeoNamesLine("1\tToo\tfew\tfields", 0));
+        assertNull(GazetteerIndex.parseGeoNamesLine(line("Town", "1", "2", "XX", "999"), 1000), "below min population");
+        assertNull(GazetteerIndex.parseGeoNamesLine(line("", "1", "2", "XX", "5000"), 0), "no name");
+        assertNull(GazetteerIndex.parseGeoNamesLine(line("Town", "abc", "2", "XX", "5000"), 0));
+        assertNull(GazetteerIndex.parseGeoNamesLine(line("Town", "1", "2", "XX", "many"), 0));
+        assertNull(GazetteerIndex.parseGeoNamesLine(line("Town", "91", "2", "XX", "5000"), 0));
+        assertNull(GazetteerIndex.parseGeoNamesLine(line("Town", "1", "-180.5", "XX", "5000"), 0));
+    }
+
+    private static void assertNearest(GazetteerIndex index, Place[] places, double lat, double lon) {
+        double best = Double.POSITIVE_INFINITY;
+        for (Place p : places) {
+            best = Math.min(best, haversineKm(lat, lon, p.latitude(), p.longitude()));
+        }
+        GazetteerIndex.Match match = index.nearest(lat, lon);
+        double matched = haversineKm(lat, lon, match.place().latitude(), match.place().longitude());
+        assertEquals(best, matched, TOLERANCE_KM, "nearest to " + lat + "," + lon);
+        assertEquals(best, match.distanceKm(), TOLERANCE_KM, "distance to " + lat + "," + lon);
+    }
+
+    private static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dPhi = Math.toRadians(lat2 - lat1), dLambda = Math.toRadians(lon2 - lon1);
+        double a = Math.pow(Math.sin(dPhi / 2), 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.pow(Math.sin(dLambda / 2), 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /** GeoNames cities*.txt row: 19 tab-separated columns, the ones the parser reads filled in. */
+    private static String line(String name, String lat, String lon, String country, String population) {
+        String[] f = new String[19];
+        Arrays.fill(f, "");
+        f[0] = "1";
+        f[1] = name;
+        f[2] = name;
+        f[4] = lat;
+        f[5] = lon;
+        f[8] = country;
+        f[14] = population;
+        return String.join("\t", f);
+    }
+
+    private static Place place(String name, double lat, double lon) {
+        return new Place(name, "XX", lat, lon, 1);
+    }
+
+    // uniform on the sphere, so the poles are not over-sampled
+    private static double randomLat(Random random) {
+        return Math.toDegrees(Math.asin(2 * random.nextDouble() - 1));
+    }
+
+    private static double randomLon(Random random) {
+        return random.nextDouble() * 360 - 180;
+    }
+}
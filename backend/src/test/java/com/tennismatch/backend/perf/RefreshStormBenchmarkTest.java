@@ -0,0 +1,86 @@
+package com.tennismatch.backend.perf;
+
+import com.tennismatch.backend.services.RefreshTokenService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Refresh storm: every user has several tabs that wake up together and call {@code /auth/refresh} with the same
+ * cookie. Per wave exactly one rotation per user may win; the other tabs must be rejected without revoking the
+ * family, and the winner's token feeds the next wave.
+ * <p>
+ * Run with {@code ./mvnw test -Dperf=true -Dtest=RefreshStormBenchmarkTest [-Dperf.users=200 -Dperf.tabs=6]}.
+ * Numbers come from the in-memory test database, so compare runs with each other, not with production.
+ */
+@EnabledIfSystemProperty(named = "perf", matches = "true")
+@SpringBootTest(properties = "app.mail.outbox.enabled=false")
+class RefreshStormBenchmarkTest {
+
+    @Autowired RefreshTokenService refreshTokenService;
+
+    @Test
+    void concurrentTabsRotateOncePerUser() throws Exception {
+        int users = Integer.getInteger("perf.users", 200);
+        int tabs = Integer.getInteger("perf.tabs", 6);
+        int waves = Integer.getInteger("perf.waves", 5);
+
+        String[] tokens = new String[users];
+        for (int u = 0; u < users; u++) tokens[u] = refreshTokenService.issueToken(10_000_000L + u);
+
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int wave = 0; wave < waves; wave++) {
+                AtomicInteger rejected = new AtomicInteger();
+                CountDownLatch start = new CountDownLatch(1);
+                List<List<Future<String>>> perUser = new ArrayList<>(users);
+                for (int u = 0; u < users; u++) {
+                    String token = tokens[u];
+                    List<Future<String>> calls = new ArrayList<>(tabs);
+                    for (int t = 0; t < tabs; t++) {
+                        calls.add(pool.submit(() -> {
+                            start.await();
+                            try {
+                                return refreshTokenService.rotate(token).newToken();
+                            } catch (ResponseStatusException ex) {
+                                rejected.incrementAndGet();
+                                return null;
+                            }
+                        }));
+                    }
+                    perUser.add(calls);
+                }
+
+                long t0 = System.nanoTime();
+                start.countDown();
+                for (int u = 0; u < users; u++) {
+                    String winner = null;
+                    int wins = 0;
+                    for (Future<String> f : perUser.get(u)) {
+                        String next = f.get();
+                        if (next != null) {
+                            winner = next;
+                            wins++;
+                        }
+                    }
+                    assertEquals(1, wins, "user " + u + " wave " + wave);
+                    tokens[u] = winner;
+                }
+                double ms = (System.nanoTime() - t0) / 1e6;
+                System.out.printf("[perf] wave=%d users=%d tabs=%d requests=%d rejected=%d time=%.1fms throughput=%.0f req/s%n",
+                        wave, users, tabs, users * tabs, rejected.get(), ms, users * tabs * 1000 / ms);
+            }
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.tennismatch.backend.perf;
+
+import com.tennismatch.backend.BackendApplication;
+import com.tennismatch.backend.chat.services.ChatService;
+import com.tennismatch.backend.domain.entries.Match;
+import com.tennismatch.backend.domain.entries.UserProfile;
+import com.tennismatch.backend.domain.enums.SkillLevel;
+import com.tennismatch.backend.repositories.MatchRepository;
+import com.tennismatch.backend.repositories.UserProfileRepository;
+import com.tennismatch.backend.services.AccessTokenService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Platform request threads ({@code server.tomcat.threads.max}, 50 in production) against
+ * {@code spring.threads.virtual.enabled=true}, for each DB pool size, over real HTTP against the real controllers:
+ * {@code GET /profile/me}, chat history, sending a message and {@code GET /api/sync}. Each configuration starts the
+ * whole application, seeds users and conversations, warms up and then lets {@code perf.clients} concurrent clients
+ * issue {@code perf.requests} requests each.
+ * <p>
+ * Run with {@code ./mvnw test -Dperf=true -Dtest=VirtualThreadLoadComparisonTest [-Dperf.clients=200
+ * -Dperf.requests=40 -Dperf.db-pools=5,10,20 -Dperf.redis-pools=0,16 -Dperf.rounds=1]}; a Redis pool size of 0
+ * means the shared native Lettuce connection. Without further flags it uses the in-memory test
+ * database and no Redis; point it at real ones with the usual Spring properties, e.g. {@code
+ * -Dspring.datasource.url=jdbc:postgresql://... -Dspring.jpa.hibernate.ddl-auto=none -Dspring.data.redis.port=6379}.
+ * {@code dbWaitMax} is the most request threads seen waiting for a pooled connection at once. Failed requests are
+ * reported per endpoint rather than asserted: an undersized pool timing out is one of the outcomes being compared.
+ */
+@EnabledIfSystemProperty(named = "perf", matches = "true")
+class VirtualThreadLoadComparisonTest {
+
+    private static final int TOMCAT_THREADS = 50;
+    private static final int USERS = 200;
+    private static final String[] KINDS = {"profile", "history", "send", "sync"};
+
+    @Test
+    void compareThreadModels() throws Exception {
+        int clients = Integer.getInteger("perf.clients", 200);
+        int requests = Integer.getInteger("perf.requests", 40);
+        int warmup = Integer.getInteger("perf.warmup", 1);
+        int rounds = Integer.getInteger("perf.rounds", 1);
+        int[] dbPools = ints(System.getProperty("perf.db-pools", "5,10,20"));
+        int[] redisPools = ints(System.getProperty("perf.redis-pools", "0"));
+
+        for (int dbPool : dbPools) {
+            for (int redisPool : redisPools) {
+                for (boolean virtual : new boolean[]{false, true}) {
+                    try (ConfigurableApplicationContext ctx = start(virtual, dbPool, redisPool)) {
+                        Target target = seed(ctx);
+                        for (int i = 0; i < warmup; i++) {
+                            load(ctx, target, clients, requests);
+                        }
+                        for (int i = 0; i < rounds; i++) {
+                            Result r = load(ctx, target, clients, requests);
+                            System.out.printf("[perf] threads=%s dbPool=%d redis=%s clients=%d round=%d %s%n",
+                                    virtual ? "virtual" : "platform(" + TOMCAT_THREADS + ")", dbPool,
+                                    redisPool == 0 ? "shared" : "pool(" + redisPool + ")", clients, i, r);
+                            assertEquals(clients * requests, r.latenciesNs.length);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /** {@code redisPool} 0 keeps the shared native Lettuce connection; otherwise every command borrows from a pool. */
+    private static ConfigurableApplicationContext start(boolean virtual, int dbPool, int redisPool) {
+        // Command-line arguments outrank -D system properties, which in turn can point the run at Postgres/Redis.
+        ConfigurableApplicationContext ctx = new SpringApplicationBuilder(BackendApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                "--spring.datasource.hikari.maximum-pool-size=" + dbPool,
+                "--spring.datasource.hikari.minimum-idle=" + dbPool,
+                "--spring.datasource.hikari.connection-timeout=5000",
+                "--spring.data.redis.lettuce.pool.max-active=" + Math.max(redisPool, 8),
+                "--spring.data.redis.lettuce.pool.max-wait=5s",
+                "--app.auth.mode=token",
+                "--app.auth.token.keys=perf:" + Base64.getEncoder().encodeToString(new byte[32]),
+                "--app.mail.outbox.enabled=false");
+        if (redisPool > 0) {
+            ctx.getBean(LettuceConnectionFactory.class).setShareNativeConnection(false);
+        }
+        return ctx;
+    }
+
+    private static int[] ints(String csv) {
+        return Arrays.stream(csv.split(",")).mapToInt(s -> Integer.parseInt(s.trim())).toArray();
+    }
+
+    /** Users paired into conversations with some history, plus an access token per user. */
+    private static Target seed(ConfigurableApplicationContext ctx) {
+        UserProfileRepository userRepo = ctx.getBean(UserProfileRepository.class);
+        MatchRepository matchRepo = ctx.getBean(MatchRepository.class);
+        ChatService chatService = ctx.getBean(ChatService.class);
+        AccessTokenService tokens = ctx.getBean(AccessTokenService.class);
+
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        long[] userIds = new long[USERS];
+        String[] bearer = new String[USERS];
+        long[] conversationIds = new long[USERS];
+        for (int u = 0; u < USERS; u++) {
+            UserProfile p = new UserProfile();
+            p.setEmail("perf-" + run + "-" + u + "@example.com");
+            p.setName("perf" + u);
+            p.setAge(30);
+            p.setSkillLevel(SkillLevel.INTERMEDIATE);
+            p.setVisible(true);
+            userIds[u] = userRepo.save(p).getId();
+            bearer[u] = "Bearer " + tokens.issue(userIds[u], p.getEmail());
+        }
+        for (int u = 0; u < USERS; u += 2) {
+            long matchId = matchRepo.save(Match.builder()
+                    .user1Id(userIds[u]).user2Id(userIds[u + 1]).createdAt(Instant.now()).build()).getId();
+            long cid = chatService.createForMatch(matchId, userIds[u], userIds[u + 1]).getId();
+            conversationIds[u] = cid;
+            conversationIds[u + 1] = cid;
+            for (int m = 0; m < 20; m++) {
+                chatService.sendMessage(userIds[u + (m % 2)], cid, "seed " + m, null);
+            }
+        }
+        int port = ((WebServerApplicationContext) ctx).getWebServer().getPort();
+        return new Target("http://localhost:" + port, bearer, conversationIds);
+    }
+
+    private static Result load(ConfigurableApplicationContext ctx, Target target, int clients, int requests)
+            throws Exception {
+        Gauge dbPending = ctx.getBean(MeterRegistry.class).get("hikaricp.connections.pending").gauge();
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long[] latenciesNs = new long[clients * requests];
+        AtomicIntegerArray errors = new AtomicIntegerArray(KINDS.length);
+        AtomicInteger lastErrorStatus = new AtomicInteger();
+        AtomicInteger dbWaitMax = new AtomicInteger();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch go = new CountDownLatch(1);
+
+        Thread sampler = Thread.ofVirtual().start(() -> {
+            while (running.get()) {
+                dbWaitMax.accumulateAndGet((int) dbPending.value(), Math::max);
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        long start;
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(clients);
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                futures.add(pool.submit(() -> {
+                    go.await();
+                    int u = client % USERS;
+                    for (int i = 0; i < requests; i++) {
+                        long t0 = System.nanoTime();
+                        try {
+                            int status = http.send(request(target, u, i), HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status >= 400) {
+                                errors.incrementAndGet(i % KINDS.length);
+                                lastErrorStatus.set(status);
+                            }
+                        } catch (Exception ex) {
+                            errors.incrementAndGet(i % KINDS.length);
+                        }
+                        latenciesNs[client * requests + i] = System.nanoTime() - t0;
+                    }
+                    return null;
+                }));
+            }
+            start = System.nanoTime();
+            go.countDown();
+            for (Future<?> f : futures) {
+                f.get(5, TimeUnit.MINUTES);
+            }
+        }
+        long elapsedNs = System.nanoTime() - start;
+        running.set(false);
+        sampler.join();
+        http.close();
+        StringBuilder failed = new StringBuilder();
+        int errorCount = 0;
+        for (int k = 0; k < KINDS.length; k++) {
+            errorCount += errors.get(k);
+            if (errors.get(k) > 0) failed.append(' ').append(KINDS[k]).append('=').append(errors.get(k));
+        }
+        if (errorCount > 0) failed.append(" lastStatus=").append(lastErrorStatus.get());
+        return new Result(latenciesNs, elapsedNs, errorCount, failed.toString(), dbWaitMax.get());
+    }
+
+    // Mix per client, in KINDS order: profile, history (marks read), send, sync.
+    private static HttpRequest request(Target target, int u, int i) {
+        long cid = target.conversationIds[u];
+        HttpRequest.Builder b = switch (i % 4) {
+            case 0 -> HttpRequest.newBuilder(URI.create(target.baseUrl + "/profile/me"));
+            case 1 -> HttpRequest.newBuilder(URI.create(target.baseUrl + "/api/conversations/" + cid + "/messages?limit=50"));
+            case 2 -> HttpRequest.newBuilder(URI.create(target.baseUrl + "/api/conversations/" + cid + "/messages"))
+                    .header("Content-Type", "application/json")
+                    // double-submit CSRF: any value, as long as cookie and header match
+                    .header("Cookie", "XSRF-TOKEN=perf")
+                    .header("X-XSRF-TOKEN", "perf")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"body\":\"hi " + i + "\",\"clientId\":\"" + UUID.randomUUID() + "\"}"));
+            default -> HttpRequest.newBuilder(URI.create(target.baseUrl + "/api/sync?limit=50"));
+        };
+        return b.header("Authorization", target.bearer[u]).timeout(Duration.ofSeconds(30)).build();
+    }
+
+    private record Target(String baseUrl, String[] bearer, long[] conversationIds) {}
+
+    private record Result(long[] latenciesNs, long elapsedNs, int errors, String failed, int dbWaitMax) {
+        @Override
+        public String toString() {
+            long[] sorted = latenciesNs.clone();
+            Arrays.sort(sorted);
+            return String.format("requests=%d errors=%d%s rps=%.0f p50=%dms p99=%dms max=%dms dbWaitMax=%d",
+                    sorted.length, errors, failed, sorted.length / (elapsedNs / 1e9),
+                    TimeUnit.NANOSECONDS.toMillis(sorted[sorted.length / 2]),
+                    TimeUnit.NANOSECONDS.toMillis(sorted[(int) (sorted.length * 0.99)]),
+                    TimeUnit.NANOSECONDS.toMillis(sorted[sorted.length - 1]),
+                    dbWaitMax);
+        }
+    }
+}
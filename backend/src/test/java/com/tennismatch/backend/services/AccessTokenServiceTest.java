@@ -0,0 +1,234 @@
+package com.tennismatch.backend.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Signing, verification, rotation and revocation of access tokens (no Redis: local revocation lists only). */
+class AccessTokenServiceTest {
+
+    private static final String KEY_A = "a:" + key('a');
+    private static final String KEY_B = "b:" + key('b');
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private SimpleMeterRegistry meterRegistry;
+    private AccessTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = service(KEY_A);
+    }
+
+    @Test
+    void issuedTokenVerifies() {
+        String token = service.issue(42, "p@test.com");
+
+        var claims = service.verify(token).orElseThrow();
+        assertEquals(42, claims.userId());
+        assertEquals("p@test.com", claims.email());
+        assertEquals(clock.instant().plus(Duration.ofMinutes(10)).getEpochSecond(), claims.expiresAtEpochSec());
+        assertEquals(0, rejected());
+    }
+
+    @Test
+    void tamperedSignatureIsRejected() {
+        String token = service.issue(42, "p@test.com");
+        String[] parts = token.split("\\.");
+        byte[] sig = Base64.getUrlDecoder().decode(parts[2]);
+        sig[0] ^= 1;
+
+        assertTrue(service.verify(parts[0] + "." + parts[1] + "." + b64(sig)).isEmpty());
+        assertEquals(1, rejected());
+    }
+
+    @Test
+    void tamperedPayloadIsRejected() {
+        String token = service.issue(42, "p@test.com");
+        String[] parts = token.split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+                .replace("\"sub\":\"42\"", "\"sub\":\"43\"");
+
+        assertTrue(service.verify(parts[0] + "." + b64(payload) + "." + parts[2]).isEmpty());
+        assertEquals(1, rejected());
+    }
+
+    @Test
+    void unknownKidIsRejected() {
+        String token = service(KEY_B).issue(42, "p@test.com");
+
+        assertTrue(service.verify(token).isEmpty());
+        assertEquals(1, rejected());
+    }
+
+    @Test
+    void algorithmOtherThanHs256IsRejected() {
+        String token = service.issue(42, "p@test.com");
+        String[] parts = token.split("\\.");
+        String none = b64("{\"alg\":\"none\",\"typ\":\"JWT\",\"kid\":\"a\"}");
+        String hs512 = b64("{\"alg\":\"HS512\",\"typ\":\"JWT\",\"kid\":\"a\"}");
+
+        assertTrue(service.verify(none + "." + parts[1] + "." + parts[2]).isEmpty());
+        assertTrue(service.verify(none + "." + parts[1] + ".").isEmpty());
+        assertTrue(service.verify(hs512 + "." + parts[1] + "." + parts[2]).isEmpty());
+        assertEquals(3, rejected());
+    }
+
+    @Test
+    void malformedTokenIsRejected() {
+        assertTrue(service.verify("not-a-token").isEmpty());
+        assertTrue(service.verify("a.b.c").isEmpty());
+        assertEquals(2, rejected());
+    }
+
+    @Test
+    void expiredTokenIsNotAccepted() {
+        String token = service.issue(42, "p@test.com");
+
+        clock.advance(Duration.ofMinutes(10).minusSeconds(1));
+        assertTrue(service.verify(token).isPresent());
+
+        clock.advance(Duration.ofSeconds(1));
+        assertTrue(service.verify(token).isEmpty());
+        assertEquals(0, rejected(), "expiry is routine, not counted as a rejection");
+    }
+
+    @Test
+    void revokedJtiIsRejectedOthersStillVerify() {
+        String revoked = service.issue(42, "p@test.com");
+        String other = service.issue(42, "p@test.com");
+
+        service.revoke(service.verify(revoked).orElseThrow());
+
+        assertTrue(service.verify(revoked).isEmpty());
+        assertTrue(service.verify(other).isPresent());
+    }
+
+    @Test
+    void userNotBeforeRevokesOlderTokensOnly() {
+        String older = service.issue(42, "p@test.com");
+        String otherUser = service.issue(7, "o@test.com");
+
+        clock.advance(Duration.ofSeconds(1));
+        service.revokeAllForUser(42);
+        assertTrue(service.verify(older).isEmpty());
+        assertTrue(service.verify(otherUser).isPresent());
+
+        clock.advance(Duration.ofSeconds(1));
+        assertTrue(service.verify(service.issue(42, "p@test.com")).isPresent(), "tokens issued after the cut are valid");
+    }
+
+    @Test
+    void revocationsArePrunedOnceNoLiveTokenCanMatch() {
+        String token = service.issue(42, "p@test.com");
+        service.revoke(service.verify(token).orElseThrow());
+        service.revokeAllForUser(42);
+
+        clock.advance(Duration.ofMinutes(11));
+        service.syncRevocations();
+
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(service, "revokedJti")).isEmpty());
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(service, "userNotBefore")).isEmpty());
+    }
+
+    @Test
+    void rotationKeepsOldKidVerifyingAndSignsWithTheFirstKey() {
+        String oldToken = service.issue(42, "p@test.com");
+
+        AccessTokenService rotated = service(KEY_B + "," + KEY_A);
+        String newToken = rotated.issue(42, "p@test.com");
+
+        assertTrue(rotated.verify(oldToken).isPresent(), "tokens signed with the old key stay valid");
+        assertTrue(rotated.verify(newToken).isPresent());
+        assertTrue(header(newToken).contains("\"kid\":\"b\""), "new tokens are signed with the first key");
+        assertTrue(service.verify(newToken).isEmpty(), "a node without the new key rejects it");
+
+        AccessTokenService retired = service(KEY_B);
+        assertTrue(retired.verify(oldToken).isEmpty(), "dropping the old key retires its tokens");
+        assertTrue(retired.verify(newToken).isPresent());
+    }
+
+    @Test
+    void disabledOutsideTokenMode() {
+        String token = service.issue(42, "p@test.com");
+        ReflectionTestUtils.setField(service, "authMode", "session");
+
+        assertTrue(service.verify(token).isEmpty());
+        assertEquals(0, rejected());
+    }
+
+    private AccessTokenService service(String keys) {
+        var noRedis = new StaticListableBeanFactory().getBeanProvider(StringRedisTemplate.class);
+        AccessTokenService s = new AccessTokenService(noRedis, clock, meterRegistry);
+        ReflectionTestUtils.setField(s, "authMode", "token");
+        ReflectionTestUtils.setField(s, "keys", keys);
+        ReflectionTestUtils.setField(s, "ttl", Duration.ofMinutes(10));
+        s.loadKeys();
+        return s;
+    }
+
+    private double rejected() {
+        return meterRegistry.counter("auth.access-token.rejected").count();
+    }
+
+    private static String header(String token) {
+        return new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))), StandardCharsets.UTF_8);
+    }
+
+    private static String key(char fill) {
+        byte[] secret = new byte[32];
+        Arrays.fill(secret, (byte) fill);
+        return Base64.getEncoder().encodeToString(secret);
+    }
+
+    private static String b64(String s) {
+        return b64(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String b64(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
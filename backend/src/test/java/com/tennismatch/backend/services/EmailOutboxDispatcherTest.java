@@ -0,0 +1,177 @@
+package com.tennismatch.backend.services;
+
+import com.tennismatch.backend.domain.enums.EmailOutboxStatus;
+import com.tennismatch.backend.repositories.EmailOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "app.mail.provider=fake",
+        "app.mail.outbox.enabled=false",
+        "app.mail.outbox.max-attempts=2",
+        "app.mail.outbox.rate-per-second=1000"
+})
+class EmailOutboxDispatcherTest {
+
+    @TestConfiguration
+    static class FakeProviderConfig {
+        @Bean
+        FakeEmailProvider fakeEmailProvider() {
+            return new FakeEmailProvider();
+        }
+    }
+
+    static class FakeEmailProvider implements EmailProvider {
+        final List<String> delivered = new CopyOnWriteArrayList<>();
+        volatile boolean failing;
+
+        @Override
+        public String name() {
+            return "fake";
+        }
+
+        @Override
+        public void send(String toEmail, String subject, String html) {
+            if (failing) throw new IllegalStateException("provider down");
+            delivered.add(toEmail + "|" + subject);
+        }
+    }
+
+    @Autowired EmailSender emailSender;
+    @Autowired EmailOutboxDispatcher dispatcher;
+    @Autowired EmailOutboxRepository outboxRepository;
+    @Autowired FakeEmailProvider provider;
+
+    @BeforeEach
+    void reset() {
+        outboxRepository.deleteAll();
+        provider.delivered.clear();
+        provider.failing = false;
+    }
+
+    @Test
+    void deliversQueuedEmailAndMarksItSent() {
+        emailSender.sendVerificationCodeHtml("a@test.com", "123456");
+
+        assertEquals(1, dispatcher.dispatchOnce());
+
+        assertEquals(List.of("a@test.com|[TennisMatch] Verification code"), provider.delivered);
+        var row = outboxRepository.findAll().get(0);
+        assertEquals(EmailOutboxStatus.SENT, row.getStatus());
+        assertEquals(1, row.getAttempts());
+        assertEquals("", row.getHtml(), "code must not stay in the outbox after delivery");
+        assertEquals(0, dispatcher.dispatchOnce());
+    }
+
+    @Test
+    void keepsBodyOfNonExpiringMail() {
+        long id = emailSender.enqueue("TEST", 5, "n@test.com", "subject", "<p>x</p>");
+
+        dispatcher.dispatchOnce();
+
+        assertEquals("<p>x</p>", outboxRepository.findById(id).orElseThrow().getHtml());
+    }
+
+    @Test
+    void expiredCodeIsDeadLetteredUnsent() {
+        emailSender.sendVerificationCodeHtml("late@test.com", "123456");
+        var row = outboxRepository.findAll().get(0);
+        assertTrue(row.getExpiresAt().isAfter(Instant.now()));
+        row.setExpiresAt(Instant.now().minusSeconds(1));
+        outboxRepository.save(row);
+
+        assertEquals(0, dispatcher.dispatchOnce());
+
+        row = outboxRepository.findById(row.getId()).orElseThrow();
+        assertEquals(EmailOutboxStatus.DEAD, row.getStatus());
+        assertEquals("expired", row.getLastError());
+        assertEquals("", row.getHtml());
+        assertTrue(provider.delivered.isEmpty());
+    }
+
+    @Test
+    void failedCodeIsNotRetriedPastItsExpiry() {
+        provider.failing = true;
+        long id = emailSender.enqueue("VERIFICATION_CODE", 1, "c@test.com", "subject", "<p>123456</p>",
+                Duration.ofSeconds(5));
+
+        dispatcher.dispatchOnce();
+
+        var row = outboxRepository.findById(id).orElseThrow();
+        assertEquals(EmailOutboxStatus.DEAD, row.getStatus(), "first backoff (30s) is past the 5s expiry");
+        assertEquals(1, row.getAttempts());
+        assertEquals("", row.getHtml());
+    }
+
+    @Test
+    void retriesWithBackoffThenDeadLetters() {
+        provider.failing = true;
+        long id = emailSender.enqueue("TEST", 5, "b@test.com", "subject", "<p>x</p>");
+
+        dispatcher.dispatchOnce();
+        var row = outboxRepository.findById(id).orElseThrow();
+        assertEquals(EmailOutboxStatus.PENDING, row.getStatus());
+        assertEquals(1, row.getAttempts());
+        assertTrue(row.getNextAttemptAt().isAfter(Instant.now()), "retry must be scheduled in the future");
+        assertEquals(0, dispatcher.dispatchOnce(), "not due yet");
+
+        row.setNextAttemptAt(Instant.now().minusSeconds(1));
+        outboxRepository.save(row);
+        dispatcher.dispatchOnce();
+
+        row = outboxRepository.findById(id).orElseThrow();
+        assertEquals(EmailOutboxStatus.DEAD, row.getStatus());
+        assertEquals(2, row.getAttempts());
+        assertTrue(row.getLastError().contains("provider down"));
+        assertTrue(provider.delivered.isEmpty());
+    }
+
+    @Test
+    void verificationCodesGoFirst() {
+        emailSender.sendNotificationEmail("digest@test.com", "Digest", "Heading", "Body", "http://x");
+        emailSender.sendVerificationCodeHtml("code@test.com", "000111");
+
+        var batch = outboxRepository.lockDueBatch(Instant.now().plusSeconds(1), 1);
+
+        assertEquals(1, batch.size());
+        assertEquals("code@test.com", outboxRepository.findById(batch.get(0)).orElseThrow().getToEmail());
+    }
+
+    @Test
+    void batchedNotificationsAreQueuedAndDelivered() {
+        emailSender.sendNotificationEmails(List.of(
+                new EmailSender.Notification("d1@test.com", "Digest", "Heading", "Body", "http://x"),
+                new EmailSender.Notification("d2@test.com", "Digest", "Heading", "Body", "http://x")));
+
+        assertEquals(2, outboxRepository.count());
+        assertEquals(2, dispatcher.dispatchOnce());
+
+        assertEquals(List.of("d1@test.com|[TennisMatch] Digest", "d2@test.com|[TennisMatch] Digest"),
+                provider.delivered.stream().sorted().toList());
+        outboxRepository.findAll().forEach(row -> {
+            assertEquals(EmailOutboxStatus.SENT, row.getStatus());
+            assertEquals("NOTIFICATION", row.getKind());
+            assertTrue(row.getHtml().contains("Heading"), "non-expiring body is kept");
+        });
+    }
+
+    @Test
+    void templatesEscapeValues() {
+        String html = EmailTemplates.notificationHtml("TM", "Hi <b>", "Tom & \"Jerry\"", "http://x/?a=1&b=2", "Go");
+        assertTrue(html.contains("Hi &lt;b&gt;"));
+        assertTrue(html.contains("Tom &amp; &quot;Jerry&quot;"));
+        assertTrue(html.contains("href=\"http://x/?a=1&amp;b=2\""));
+    }
+}
@@ -0,0 +1,124 @@
+package com.tennismatch.backend.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Runs the service against a local stub of the Mapbox geocoding endpoint (no Redis: local cache only). */
+class MapboxGeocodingServiceTest {
+
+    private static final String SAN_DIEGO = """
+            {"features":[{"center":[-117.16,32.71],"place_name":"San Diego, California, United States"}]}
+            """;
+
+    private HttpServer server;
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final List<String> paths = new ArrayList<>();
+    private volatile long delayMs;
+    private MapboxGeocodingService service;
+
+    @BeforeEach
+    void start() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/geocoding/v5/mapbox.places/", exchange -> {
+            upstreamCalls.incrementAndGet();
+            synchronized (paths) {
+                paths.add(exchange.getRequestURI().getRawPath());
+            }
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String body = exchange.getRequestURI().getRawPath().contains("nowhere") ? "{\"features\":[]}" : SAN_DIEGO;
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.start();
+
+        var noRedis = new StaticListableBeanFactory().getBeanProvider(StringRedisTemplate.class);
+        GeocodeCache cache = new GeocodeCache(noRedis, new ObjectMapper(), Clock.systemUTC(),
+                100, Duration.ofDays(30), Duration.ofMinutes(10), Duration.ofHours(1));
+        service = new MapboxGeocodingService(new RestTemplateBuilder(), cache, new SimpleMeterRegistry(),
+                "test-token", "http://127.0.0.1:" + server.getAddress().getPort(),
+                4, Duration.ofSeconds(2), Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void stop() throws Exception {
+        service.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    void normalizedQueriesShareOneCacheEntry() {
+        var first = service.geocode("  San   Diego, ");
+        var second = service.geocode("san diego");
+
+        assertTrue(first.isPresent());
+        assertEquals(first, second);
+        assertEquals(32.71, first.get().latitude(), 1e-9);
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("/geocoding/v5/mapbox.places/san%20diego.json", paths.get(0));
+        assertTrue(service.cached("SAN DIEGO").isPresent());
+    }
+
+    @Test
+    void concurrentLookupsAreCoalesced() throws Exception {
+        delayMs = 300;
+        int callers = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<Optional<MapboxGeocodingService.GeoResult>>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(pool.submit(() -> {
+                go.await();
+                return service.geocode("San Diego");
+            }));
+        }
+        go.countDown();
+        for (var f : results) {
+            assertTrue(f.get().isPresent());
+        }
+        pool.shutdown();
+
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void noResultIsCachedAsNegative() {
+        assertTrue(service.geocode("nowhere land").isEmpty());
+        assertTrue(service.geocode("Nowhere Land").isEmpty());
+
+        assertEquals(1, upstreamCalls.get());
+        var hit = service.cached("nowhere land");
+        assertTrue(hit.isPresent());
+        assertTrue(hit.get().result() == null);
+    }
+}
@@ -0,0 +1,75 @@
+package com.tennismatch.backend.services;
+
+import com.tennismatch.backend.domain.dto.PreferenceDto;
+import com.tennismatch.backend.domain.dto.requests.ProfilePatchRequest;
+import com.tennismatch.backend.domain.dto.responses.MeProfileResponse;
+import com.tennismatch.backend.domain.entries.UserProfile;
+import com.tennismatch.backend.domain.enums.SkillLevel;
+import com.tennismatch.backend.repositories.UserProfileRepository;
+import com.tennismatch.backend.support.QueryCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Query budgets for the id-based profile services: one request loads the user at most once. */
+@SpringBootTest(properties = "app.mail.outbox.enabled=false")
+class ProfileQueryBudgetTest {
+
+    @Autowired UserProfileRepository userRepo;
+    @Autowired ProfileCompletionService profileService;
+    @Autowired ProfileReadService readService;
+    @Autowired PreferenceService preferenceService;
+
+    private Long userId;
+
+    @BeforeEach
+    void createUser() {
+        UserProfile u = new UserProfile();
+        u.setEmail("budget-" + UUID.randomUUID() + "@example.com");
+        u.setVisible(true);
+        userId = userRepo.save(u).getId();
+    }
+
+    @Test
+    void patchProfileLoadsUserOnce() {
+        ProfilePatchRequest req = new ProfilePatchRequest();
+        req.setName("Budget");
+        req.setAge(30);
+        req.setSkillLevel(SkillLevel.INTERMEDIATE);
+        req.setDescription("Plays on weekends");
+        req.setPhotoUrl("https://example.com/p.jpg");
+
+        List<String> sql = QueryCounter.statements(() -> profileService.patchProfile(userId, req));
+
+        assertEquals(1, QueryCounter.selectsFrom("user_profile", sql), String.join("\n", sql));
+        assertEquals(1, QueryCounter.selectsFrom("onboarding_status", sql), String.join("\n", sql));
+        QueryCounter.assertAtMost(PATCH_PROFILE_BUDGET, sql);
+    }
+
+    @Test
+    void readMeIsUserPlusPhoto() {
+        QueryCounter.Recorded<MeProfileResponse> me = QueryCounter.record(() -> readService.readMe(userId));
+
+        assertEquals(String.valueOf(userId), me.result().getId());
+        QueryCounter.assertAtMost(2, me.statements());
+    }
+
+    @Test
+    void preferencesNeverLoadTheUser() {
+        PreferenceDto patch = new PreferenceDto();
+        patch.setMaxDistanceKm(15);
+
+        List<String> sql = QueryCounter.statements(() -> preferenceService.upsertPatch(userId, patch));
+
+        assertEquals(0, QueryCounter.selectsFrom("user_profile", sql), String.join("\n", sql));
+    }
+
+    // select user, onboarding status and photo; insert status and photo; update user (and status)
+    private static final int PATCH_PROFILE_BUDGET = 7;
+}
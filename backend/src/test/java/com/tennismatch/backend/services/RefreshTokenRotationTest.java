@@ -0,0 +1,44 @@
+package com.tennismatch.backend.services;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** Rotation, the concurrent-tab grace period, and family revocation on reuse. */
+@SpringBootTest(properties = {"app.mail.outbox.enabled=false", "app.refresh.reuse-grace=PT0.3S"})
+class RefreshTokenRotationTest {
+
+    @Autowired RefreshTokenService refreshTokenService;
+
+    private final long userId = ThreadLocalRandom.current().nextLong(1_000_000, Long.MAX_VALUE);
+
+    @Test
+    void replayWithinGraceIsRejectedButKeepsTheFamily() {
+        String first = refreshTokenService.issueToken(userId);
+        var rotation = refreshTokenService.rotate(first);
+        assertEquals(userId, rotation.userId());
+        assertNotEquals(first, rotation.newToken());
+
+        // a second tab refreshing with the old cookie right after the first one
+        assertThrows(ResponseStatusException.class, () -> refreshTokenService.rotate(first));
+        assertEquals(userId, refreshTokenService.rotate(rotation.newToken()).userId());
+    }
+
+    @Test
+    void replayAfterGraceRevokesTheFamily() throws InterruptedException {
+        String first = refreshTokenService.issueToken(userId);
+        String second = refreshTokenService.rotate(first).newToken();
+
+        Thread.sleep(400);
+        assertThrows(ResponseStatusException.class, () -> refreshTokenService.rotate(first));
+        // the legitimate holder's current token died with the family
+        assertThrows(ResponseStatusException.class, () -> refreshTokenService.rotate(second));
+    }
+}
@@ -0,0 +1,82 @@
+package com.tennismatch.backend.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Records the SQL Hibernate prepares on the current thread (registered in test properties as
+ * {@code hibernate.session_factory.statement_inspector}). Per-thread, so scheduled jobs running in the
+ * same context do not skew the counts.
+ */
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> recorded = RECORDED.get();
+        if (recorded != null) recorded.add(sql);
+        return sql;
+    }
+
+    /** Runs the action and returns every statement it prepared on this thread. */
+    public static List<String> statements(Runnable action) {
+        return record(() -> {
+            action.run();
+            return null;
+        }).statements();
+    }
+
+    public static <T> Recorded<T> record(Supplier<T> action) {
+        List<String> recorded = new ArrayList<>();
+        RECORDED.set(recorded);
+        try {
+            T result = action.get();
+            return new Recorded<>(result, List.copyOf(recorded));
+        } finally {
+            RECORDED.remove();
+        }
+    }
+
+    public record Recorded<T>(T result, List<String> statements) {}
+
+    public static void assertAtMost(int max, List<String> statements) {
+        assertTrue(statements.size() <= max,
+                "expected at most " + max + " statements but got " + statements.size() + ":\n" + String.join("\n", statements));
+    }
+
+    /**
+     * Query budget: runs the action, fails if it prepared more than {@code max} statements or issued the same select
+     * {@code repeatLimit} times or more (one query per row of an earlier result), and returns its result.
+     */
+    public static <T> T withinBudget(String name, int max, int repeatLimit, Supplier<T> action) {
+        Recorded<T> recorded = record(action);
+        List<String> sql = recorded.statements();
+        assertTrue(sql.size() <= max,
+                name + ": budget " + max + " statements, got " + sql.size() + ":\n" + String.join("\n", sql));
+        Map<String, Long> repeated = sql.stream()
+                .filter(s -> s.toLowerCase(Locale.ROOT).startsWith("select"))
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        repeated.values().removeIf(n -> n < repeatLimit);
+        assertTrue(repeated.isEmpty(), name + ": repeated selects (N+1) " + repeated);
+        return recorded.result();
+    }
+
+    /** Statements reading from the table ({@code select ... from <table>}). */
+    public static long selectsFrom(String table, List<String> statements) {
+        String needle = "from " + table.toLowerCase(Locale.ROOT) + " ";
+        return statements.stream()
+                .map(s -> s.toLowerCase(Locale.ROOT) + " ")
+                .filter(s -> s.startsWith("select") && s.contains(needle))
+                .count();
+    }
+}
@@ -0,0 +1,183 @@
+package com.tennismatch.backend.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A small wheel (10 ms ticks, 4 slots, 3 levels: spans of 40 ms, 160 ms and 640 ms) so that short runs cross every
+ * level boundary.
+ */
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 10;
+
+    private final HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 4, 3, 0);
+
+    @Test
+    void firesAtTheFirstTickAtOrAfterTheDeadline() {
+        wheel.schedule("a", 25);
+
+        assertTrue(wheel.advance(20).isEmpty());
+        assertEquals(List.of("a"), wheel.advance(30));
+        assertEquals(0, wheel.size());
+        assertNull(wheel.deadlineOf("a"));
+    }
+
+    @Test
+    void cascadesDownThroughEveryLevel() {
+        // 5 ticks -> level 1, 17 ticks -> level 2, 63 ticks -> level 2 then 1 then 0
+        wheel.schedule("l1", 50);
+        wheel.schedule("l2", 170);
+        wheel.schedule("l2-edge", 630);
+
+        assertEquals(Map.of("l1", 50L, "l2", 170L, "l2-edge", 630L), fireTimes(640));
+    }
+
+    @Test
+    void entriesFallThroughSeveralLevelsInOneTick() {
+        // Due exactly on a level-2 boundary: cascades from level 2 straight to firing on that tick.
+        wheel.schedule("boundary", 160);
+        wheel.schedule("after", 170);
+
+        assertEquals(Map.of("boundary", 160L, "after", 170L), fireTimes(200));
+    }
+
+    @Test
+    void deadlineBeyondTheTopLevelIsReplacedUntilDue() {
+        wheel.schedule("far", 5_000);
+        wheel.schedule("farther", 12_345);
+
+        assertEquals(Map.of("far", 5_000L, "farther", 12_350L), fireTimes(13_000));
+    }
+
+    @Test
+    void cancelRemovesFromAnyLevel() {
+        wheel.schedule("l0", 20);
+        wheel.schedule("l1", 100);
+        wheel.schedule("top", 5_000);
+
+        assertTrue(wheel.cancel("l1"));
+        assertTrue(wheel.cancel("top"));
+        assertFalse(wheel.cancel("top"));
+        assertFalse(wheel.cancel("unknown"));
+
+        assertEquals(Map.of("l0", 20L), fireTimes(6_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void rescheduleMovesTheEntry() {
+        wheel.schedule("k", 500);
+        wheel.schedule("k", 30);
+        assertEquals(1, wheel.size());
+        assertEquals(30L, wheel.deadlineOf("k"));
+        assertEquals(List.of("k"), wheel.advance(30));
+
+        wheel.schedule("k", 40);
+        wheel.schedule("k", 900);
+        assertTrue(wheel.advance(800).isEmpty(), "moved out, must not fire at the old deadline");
+        assertEquals(List.of("k"), wheel.advance(900));
+    }
+
+    @Test
+    void pastDeadlineFiresOnTheNextTick() {
+        wheel.advance(100);
+        wheel.schedule("late", 50);
+        wheel.schedule("now", 100);
+
+        assertTrue(wheel.advance(100).isEmpty());
+        assertEquals(List.of("late", "now"), sorted(wheel.advance(110)));
+    }
+
+    @Test
+    void fallingBehindFiresEverythingDueInOneAdvance() {
+        wheel.schedule("a", 10);
+        wheel.schedule("b", 155);
+        wheel.schedule("c", 2_000);
+        wheel.schedule("d", 9_000);
+
+        assertEquals(List.of("a", "b", "c"), sorted(wheel.advance(5_000)));
+        assertEquals(List.of("d"), wheel.advance(9_000));
+    }
+
+    @Test
+    void nonZeroStartOffsetsSlots() {
+        HierarchicalTimingWheel<String> started = new HierarchicalTimingWheel<>(TICK, 4, 3, 1_237);
+        started.schedule("a", 1_300);
+        started.schedule("b", 1_900);
+
+        assertTrue(started.advance(1_290).isEmpty());
+        assertEquals(List.of("a"), started.advance(1_300));
+        assertTrue(started.advance(1_890).isEmpty());
+        assertEquals(List.of("b"), started.advance(1_900));
+    }
+
+    /** Random schedules, reschedules and cancels against a plain map of the tick each key must fire on. */
+    @Test
+    void matchesBruteForceModel() {
+        Random random = new Random(7);
+        Map<String, Long> model = new HashMap<>(); // key -> firing tick
+        long now = 0;
+        for (int step = 0; step < 5_000; step++) {
+            int op = random.nextInt(10);
+            String key = "k" + random.nextInt(200);
+            if (op < 5) {
+                long deadline = now - 50 + random.nextInt(random.nextBoolean() ? 200 : 3_000);
+                wheel.schedule(key, deadline);
+                // a deadline that is already due fires on the next tick
+                model.put(key, Math.max(ceilTick(deadline), now / TICK + 1));
+            } else if (op < 6) {
+                assertEquals(model.remove(key) != null, wheel.cancel(key));
+            } else {
+                now += random.nextInt(random.nextInt(10) == 0 ? 1_000 : 30);
+                List<String> expected = new ArrayList<>();
+                for (var e : List.copyOf(model.entrySet())) {
+                    if (e.getValue() <= now / TICK) {
+                        expected.add(e.getKey());
+                        model.remove(e.getKey());
+                    }
+                }
+                assertEquals(sorted(expected), sorted(wheel.advance(now)), "at " + now);
+            }
+            assertEquals(model.size(), wheel.size());
+        }
+    }
+
+    @Test
+    void rejectsInvalidGeometry() {
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<>(0, 4, 3, 0));
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<>(10, 1, 3, 0));
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<>(10, 4, 0, 0));
+    }
+
+    /** Advances one tick at a time and records when each key fired. */
+    private Map<String, Long> fireTimes(long untilMs) {
+        Map<String, Long> fired = new HashMap<>();
+        LongStream.rangeClosed(1, untilMs / TICK).forEach(tick -> {
+            for (String key : wheel.advance(tick * TICK)) {
+                assertNull(fired.put(key, tick * TICK), key + " fired twice");
+            }
+        });
+        return fired;
+    }
+
+    private static long ceilTick(long deadlineMs) {
+        return Math.floorDiv(deadlineMs + TICK - 1, TICK);
+    }
+
+    private static List<String> sorted(List<String> keys) {
+        return keys.stream().sorted().toList();
+    }
+}